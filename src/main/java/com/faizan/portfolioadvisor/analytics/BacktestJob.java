@@ -0,0 +1,69 @@
+package com.faizan.portfolioadvisor.analytics;
+
+// src/main/java/com/faizan/portfolioadvisor/analytics/BacktestJob.java
+
+import com.faizan.portfolioadvisor.exception.InvalidInputException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One backtest run: a policy over a date range of the shared ReturnPanel.
+ */
+public final class BacktestJob {
+    private final BacktestPolicy policy;
+    private final int startDay;
+    private final int endDay;
+
+    /**
+     * @param policy The target weights to replay.
+     * @param startDay The first epoch day (inclusive); the money is invested at the close of the row before it.
+     * @param endDay The last epoch day (inclusive).
+     */
+    public BacktestJob(BacktestPolicy policy, int startDay, int endDay) {
+        this.policy = policy;
+        this.startDay = startDay;
+        this.endDay = endDay;
+    }
+
+    /**
+     * Jobs for every policy and every start date from the panel's first month on, stepping by stepMonths,
+     * each running for horizonYears (start dates whose horizon runs past the panel are left out).
+     * @throws InvalidInputException If horizonYears or stepMonths is not positive.
+     */
+    public static List<BacktestJob> rollingStarts(List<BacktestPolicy> policies, ReturnPanel panel, int horizonYears, int stepMonths) {
+        if (horizonYears < 1 || stepMonths < 1) {
+            throw new InvalidInputException("Backtest horizon (years) and step (months) must be positive: "
+                    + horizonYears + ", " + stepMonths + ".");
+        }
+        List<BacktestJob> jobs = new ArrayList<>();
+        if (panel.rowCount() == 0) {
+            return jobs;
+        }
+        LocalDate first = LocalDate.ofEpochDay(panel.day(0)).withDayOfMonth(1).plusMonths(1);
+        LocalDate last = LocalDate.ofEpochDay(panel.day(panel.rowCount() - 1));
+        for (LocalDate start = first; !start.plusYears(horizonYears).isAfter(last.plusDays(1)); start = start.plusMonths(stepMonths)) {
+            int startDay = (int) start.toEpochDay();
+            int endDay = (int) start.plusYears(horizonYears).minusDays(1).toEpochDay();
+            for (BacktestPolicy policy : policies) {
+                jobs.add(new BacktestJob(policy, startDay, endDay));
+            }
+        }
+        return jobs;
+    }
+
+    // --- Getters ---
+    public BacktestPolicy getPolicy() { return policy; }
+    public int getStartDay() { return startDay; }
+    public int getEndDay() { return endDay; }
+
+    @Override
+    public String toString() {
+        return "BacktestJob{" +
+                "policy=" + policy.getName() +
+                ", start=" + LocalDate.ofEpochDay(startDay) +
+                ", end=" + LocalDate.ofEpochDay(endDay) +
+                '}';
+    }
+}
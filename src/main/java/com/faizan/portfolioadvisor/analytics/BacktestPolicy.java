@@ -0,0 +1,88 @@
+package com.faizan.portfolioadvisor.analytics;
+
+// src/main/java/com/faizan/portfolioadvisor/analytics/BacktestPolicy.java
+
+import com.faizan.portfolioadvisor.exception.InvalidInputException;
+import com.faizan.portfolioadvisor.model.UserRiskProfile;
+import com.faizan.portfolioadvisor.service.AllocationPolicyEngine;
+import com.faizan.portfolioadvisor.service.AllocationTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A named set of target weights, one per ReturnPanel column, to replay in a backtest.
+ */
+public final class BacktestPolicy {
+    private final String name;
+    private final double[] targetWeights;
+
+    /**
+     * @param name A label for the results, e.g. "Moderate".
+     * @param targetWeights Non-negative weights per panel column; normalized to sum to 1.
+     */
+    public BacktestPolicy(String name, double... targetWeights) {
+        double sum = 0;
+        for (double w : targetWeights) {
+            if (w < 0 || Double.isNaN(w)) {
+                throw new InvalidInputException("Target weights must be non-negative: " + Arrays.toString(targetWeights));
+            }
+            sum += w;
+        }
+        if (sum <= 0) {
+            throw new InvalidInputException("At least one target weight must be positive.");
+        }
+        this.name = name;
+        this.targetWeights = new double[targetWeights.length];
+        for (int k = 0; k < targetWeights.length; k++) {
+            this.targetWeights[k] = targetWeights[k] / sum;
+        }
+    }
+
+    /**
+     * @return A policy with the template's split, for a panel whose columns are equity, debt and alternative.
+     */
+    public static BacktestPolicy fromTemplate(String name, AllocationTemplate template) {
+        return new BacktestPolicy(name, template.getEquityPct().doubleValue(), template.getDebtPct().doubleValue(),
+                template.getAlternativePct().doubleValue());
+    }
+
+    /**
+     * The base template of each risk category in the current allocation policy (refinement rules that need an
+     * age, confidence or goal do not apply), e.g. to compare "Conservative", "Moderate" and "Aggressive".
+     */
+    public static List<BacktestPolicy> fromCategories(AllocationPolicyEngine engine, String... categories) {
+        List<BacktestPolicy> policies = new ArrayList<>(categories.length);
+        for (String category : categories) {
+            UserRiskProfile profile = new UserRiskProfile();
+            profile.setPredictedRiskCategory(category);
+            policies.add(fromTemplate(category, engine.templateFor(profile)));
+        }
+        return policies;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int size() {
+        return targetWeights.length;
+    }
+
+    double weight(int k) {
+        return targetWeights[k];
+    }
+
+    public double[] getTargetWeights() {
+        return targetWeights.clone();
+    }
+
+    @Override
+    public String toString() {
+        return "BacktestPolicy{" +
+                "name='" + name + '\'' +
+                ", targetWeights=" + Arrays.toString(targetWeights) +
+                '}';
+    }
+}
@@ -0,0 +1,71 @@
+package com.faizan.portfolioadvisor.analytics;
+
+// src/main/java/com/faizan/portfolioadvisor/analytics/BacktestResult.java
+
+import java.time.LocalDate;
+
+/**
+ * Performance of one BacktestJob. Return-based figures (CAGR, volatility, drawdown, Sharpe) are time-weighted,
+ * so contributions do not distort them; finalValue and totalContributed show the money-weighted outcome.
+ */
+public class BacktestResult {
+    private final BacktestJob job;
+    private final int firstDay;
+    private final int lastDay;
+    private final int rows;
+    private final double cagr;
+    private final double volatility;
+    private final double maxDrawdown;
+    private final double sharpe;
+    private final double finalValue;
+    private final double totalContributed;
+    private final int rebalances;
+
+    public BacktestResult(BacktestJob job, int firstDay, int lastDay, int rows, double cagr, double volatility,
+                          double maxDrawdown, double sharpe, double finalValue, double totalContributed, int rebalances) {
+        this.job = job;
+        this.firstDay = firstDay;
+        this.lastDay = lastDay;
+        this.rows = rows;
+        this.cagr = cagr;
+        this.volatility = volatility;
+        this.maxDrawdown = maxDrawdown;
+        this.sharpe = sharpe;
+        this.finalValue = finalValue;
+        this.totalContributed = totalContributed;
+        this.rebalances = rebalances;
+    }
+
+    // --- Getters ---
+    public BacktestJob getJob() { return job; }
+    /** @return The first panel date actually simulated (the job start may fall on a non-trading day). */
+    public int getFirstDay() { return firstDay; }
+    public int getLastDay() { return lastDay; }
+    public int getRows() { return rows; }
+    /** @return Compound annual growth rate of the time-weighted return, e.g. 0.08 for 8% a year. */
+    public double getCagr() { return cagr; }
+    /** @return Annualized standard deviation of the periodic returns. */
+    public double getVolatility() { return volatility; }
+    /** @return The largest peak-to-trough fall, as a positive fraction (0.25 = -25%). */
+    public double getMaxDrawdown() { return maxDrawdown; }
+    public double getSharpe() { return sharpe; }
+    public double getFinalValue() { return finalValue; }
+    public double getTotalContributed() { return totalContributed; }
+    public int getRebalances() { return rebalances; }
+
+    @Override
+    public String toString() {
+        return "BacktestResult{" +
+                "policy=" + job.getPolicy().getName() +
+                ", from=" + LocalDate.ofEpochDay(firstDay) +
+                ", to=" + LocalDate.ofEpochDay(lastDay) +
+                ", cagr=" + String.format("%.4f", cagr) +
+                ", volatility=" + String.format("%.4f", volatility) +
+                ", maxDrawdown=" + String.format("%.4f", maxDrawdown) +
+                ", sharpe=" + String.format("%.2f", sharpe) +
+                ", finalValue=" + String.format("%.0f", finalValue) +
+                ", totalContributed=" + String.format("%.0f", totalContributed) +
+                ", rebalances=" + rebalances +
+                '}';
+    }
+}
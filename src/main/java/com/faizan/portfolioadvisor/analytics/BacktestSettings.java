@@ -0,0 +1,51 @@
+package com.faizan.portfolioadvisor.analytics;
+
+// src/main/java/com/faizan/portfolioadvisor/analytics/BacktestSettings.java
+
+/**
+ * How a backtest invests: starting amount, monthly contributions, rebalancing and the risk-free rate for Sharpe.
+ * With an initial amount of 0 the first monthly contribution is invested on the start date.
+ */
+public class BacktestSettings {
+    /** When holdings are traded back to the policy's target weights. */
+    public enum Rebalance { NEVER, MONTHLY, QUARTERLY, ANNUALLY }
+
+    private double initialAmount = 100_000;
+    private double monthlyContribution = 0;
+    private Rebalance rebalance = Rebalance.QUARTERLY;
+    private double riskFreeRate = 0.05; // Annual, as a fraction
+
+    // Default constructor
+    public BacktestSettings() {
+    }
+
+    public BacktestSettings(double initialAmount, double monthlyContribution, Rebalance rebalance, double riskFreeRate) {
+        this.initialAmount = initialAmount;
+        this.monthlyContribution = monthlyContribution;
+        this.rebalance = rebalance;
+        this.riskFreeRate = riskFreeRate;
+    }
+
+    // --- Getters ---
+    public double getInitialAmount() { return initialAmount; }
+    /** @return The amount added (at target weights) on the first trading day of each month after the start. */
+    public double getMonthlyContribution() { return monthlyContribution; }
+    public Rebalance getRebalance() { return rebalance; }
+    public double getRiskFreeRate() { return riskFreeRate; }
+
+    // --- Setters ---
+    public void setInitialAmount(double initialAmount) { this.initialAmount = initialAmount; }
+    public void setMonthlyContribution(double monthlyContribution) { this.monthlyContribution = monthlyContribution; }
+    public void setRebalance(Rebalance rebalance) { this.rebalance = rebalance; }
+    public void setRiskFreeRate(double riskFreeRate) { this.riskFreeRate = riskFreeRate; }
+
+    @Override
+    public String toString() {
+        return "BacktestSettings{" +
+                "initialAmount=" + initialAmount +
+                ", monthlyContribution=" + monthlyContribution +
+                ", rebalance=" + rebalance +
+                ", riskFreeRate=" + riskFreeRate +
+                '}';
+    }
+}
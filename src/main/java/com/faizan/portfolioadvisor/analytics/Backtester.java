@@ -0,0 +1,240 @@
+package com.faizan.portfolioadvisor.analytics;
+
+// src/main/java/com/faizan/portfolioadvisor/analytics/Backtester.java
+
+import com.faizan.portfolioadvisor.exception.InvalidInputException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+/**
+ * Replays allocation policies over the historical returns in a ReturnPanel, with calendar rebalancing and
+ * monthly contributions, and reports CAGR, volatility, max drawdown and Sharpe per run.
+ * <p>
+ * Each job walks the panel's rows once, keeping only its K holdings and a few running totals, so a run costs
+ * O(rows * K) time and O(K) memory. The panel is immutable and shared by all jobs; the jobs are split across
+ * a fork/join pool and each leaf hands its result to the caller's consumer as soon as it is done, so results
+ * arrive incrementally (in completion order, not job order) while the rest are still running.
+ */
+public class Backtester {
+    private final ForkJoinPool pool;
+
+    /**
+     * Uses the common fork/join pool.
+     */
+    public Backtester() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool The pool to run the jobs on, e.g. to keep long backtests off the common pool.
+     */
+    public Backtester(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Runs the jobs in parallel and passes each result to the consumer as soon as it is ready.
+     * @param panel The historical returns; each policy needs one weight per panel column.
+     * @param settings Amounts, rebalancing and risk-free rate, shared by all jobs.
+     * @param jobs The policies and date ranges to run.
+     * @param consumer Receives the results, possibly from several threads at once, so it must be thread-safe.
+     * @throws InvalidInputException If the settings or a job do not fit the panel (checked before any job runs).
+     */
+    public void run(ReturnPanel panel, BacktestSettings settings, List<BacktestJob> jobs, Consumer<BacktestResult> consumer) {
+        validate(panel, settings, jobs);
+        if (jobs.isEmpty()) {
+            return;
+        }
+        BacktestJob[] array = jobs.toArray(new BacktestJob[0]);
+        pool.invoke(new JobTask(panel, settings, array, 0, array.length, consumer));
+    }
+
+    /**
+     * Runs the jobs in parallel and returns all results, in job order.
+     * @throws InvalidInputException If the settings or a job do not fit the panel.
+     */
+    public List<BacktestResult> runAll(ReturnPanel panel, BacktestSettings settings, List<BacktestJob> jobs) {
+        validate(panel, settings, jobs);
+        BacktestResult[] results = new BacktestResult[jobs.size()];
+        BacktestJob[] array = jobs.toArray(new BacktestJob[0]);
+        if (array.length > 0) {
+            // Each leaf writes only its own slot, so no synchronization is needed.
+            pool.invoke(new JobTask(panel, settings, array, 0, array.length, null, results));
+        }
+        return new ArrayList<>(Arrays.asList(results));
+    }
+
+    /**
+     * Runs a single job on the calling thread.
+     * @throws InvalidInputException If the settings or the job do not fit the panel.
+     */
+    public BacktestResult run(ReturnPanel panel, BacktestSettings settings, BacktestJob job) {
+        validate(panel, settings, List.of(job));
+        return simulate(panel, settings, job);
+    }
+
+    private static void validate(ReturnPanel panel, BacktestSettings settings, List<BacktestJob> jobs) {
+        if (panel == null || settings == null || jobs == null) {
+            throw new InvalidInputException("A return panel, settings and jobs are required for a backtest.");
+        }
+        if (!(settings.getInitialAmount() >= 0) || !(settings.getMonthlyContribution() >= 0)
+                || settings.getInitialAmount() + settings.getMonthlyContribution() <= 0) {
+            throw new InvalidInputException("Initial amount and monthly contribution must be zero or positive, and not both zero.");
+        }
+        if (settings.getRebalance() == null || Double.isNaN(settings.getRiskFreeRate()) || settings.getRiskFreeRate() <= -1.0) {
+            throw new InvalidInputException("A rebalancing schedule and a risk-free rate above -100% are required.");
+        }
+        for (BacktestJob job : jobs) {
+            if (job == null || job.getPolicy() == null) {
+                throw new InvalidInputException("Every backtest job needs a policy.");
+            }
+            if (job.getPolicy().size() != panel.assetCount()) {
+                throw new InvalidInputException("Policy '" + job.getPolicy().getName() + "' has " + job.getPolicy().size()
+                        + " weights but the panel has " + panel.assetCount() + " assets.");
+            }
+            int first = panel.rowAtOrAfter(job.getStartDay());
+            if (first >= panel.rowCount() || panel.day(first) > job.getEndDay()) {
+                throw new InvalidInputException("No returns in the panel for " + job + ".");
+            }
+        }
+    }
+
+    static BacktestResult simulate(ReturnPanel panel, BacktestSettings settings, BacktestJob job) {
+        int k = panel.assetCount();
+        double[] returns = panel.rawReturns();
+        BacktestPolicy policy = job.getPolicy();
+        double contribution = settings.getMonthlyContribution();
+        // Without an initial amount the first month's contribution is the opening investment, so every month of
+        // the run is invested and contributes (validate() ensures one of the two is positive).
+        double opening = settings.getInitialAmount() > 0 ? settings.getInitialAmount() : contribution;
+        double[] weights = new double[k];
+        double[] holdings = new double[k];
+        for (int j = 0; j < k; j++) {
+            weights[j] = policy.weight(j);
+            holdings[j] = opening * weights[j];
+        }
+        BacktestSettings.Rebalance rebalance = settings.getRebalance();
+
+        int firstRow = panel.rowAtOrAfter(job.getStartDay());
+        int endRow = panel.rowAtOrAfter(job.getEndDay() + 1); // Exclusive.
+        double contributed = opening;
+        int rebalances = 0;
+        double index = 1.0; // Time-weighted growth of 1 unit.
+        double peak = 1.0;
+        double maxDrawdown = 0.0;
+        // Welford's running mean and variance of the periodic returns.
+        double mean = 0.0;
+        double m2 = 0.0;
+        int n = 0;
+
+        for (int t = firstRow; t < endRow; t++) {
+            if (t > firstRow && panel.monthKey(t) != panel.monthKey(t - 1)) {
+                // First row of a new month: contributions and rebalancing trade at the previous close.
+                int month = panel.monthKey(t) % 12;
+                boolean due = rebalance == BacktestSettings.Rebalance.MONTHLY
+                        || (rebalance == BacktestSettings.Rebalance.QUARTERLY && month % 3 == 0)
+                        || (rebalance == BacktestSettings.Rebalance.ANNUALLY && month == 0);
+                if (due) {
+                    double total = contribution;
+                    for (int j = 0; j < k; j++) {
+                        total += holdings[j];
+                    }
+                    for (int j = 0; j < k; j++) {
+                        holdings[j] = total * weights[j];
+                    }
+                    rebalances++;
+                } else if (contribution > 0) {
+                    for (int j = 0; j < k; j++) {
+                        holdings[j] += contribution * weights[j];
+                    }
+                }
+                contributed += contribution;
+            }
+
+            int base = t * k;
+            double before = 0.0;
+            double after = 0.0;
+            for (int j = 0; j < k; j++) {
+                before += holdings[j];
+                holdings[j] *= 1.0 + returns[base + j];
+                after += holdings[j];
+            }
+            double periodReturn = after / before - 1.0;
+
+            n++;
+            double delta = periodReturn - mean;
+            mean += delta / n;
+            m2 += delta * (periodReturn - mean);
+            index *= 1.0 + periodReturn;
+            if (index > peak) {
+                peak = index;
+            } else {
+                maxDrawdown = Math.max(maxDrawdown, 1.0 - index / peak);
+            }
+        }
+
+        double finalValue = 0.0;
+        for (int j = 0; j < k; j++) {
+            finalValue += holdings[j];
+        }
+        double rowsPerYear = panel.rowsPerYear();
+        double years = n / rowsPerYear;
+        double cagr = Math.pow(index, 1.0 / years) - 1.0;
+        double volatility = n > 1 ? Math.sqrt(m2 / (n - 1) * rowsPerYear) : 0.0;
+        double riskFreePerRow = Math.pow(1.0 + settings.getRiskFreeRate(), 1.0 / rowsPerYear) - 1.0;
+        double sharpe = volatility > 0 ? (mean - riskFreePerRow) * rowsPerYear / volatility : Double.NaN;
+        return new BacktestResult(job, panel.day(firstRow), panel.day(endRow - 1), n, cagr, volatility,
+                maxDrawdown, sharpe, finalValue, contributed, rebalances);
+    }
+
+    // Splits the job range in halves until a single job is left, which runs and publishes its result.
+    private static final class JobTask extends RecursiveAction {
+        private final ReturnPanel panel;
+        private final BacktestSettings settings;
+        private final BacktestJob[] jobs;
+        private final int from;
+        private final int to;
+        private final Consumer<BacktestResult> consumer;
+        private final BacktestResult[] results;
+
+        JobTask(ReturnPanel panel, BacktestSettings settings, BacktestJob[] jobs, int from, int to,
+                Consumer<BacktestResult> consumer) {
+            this(panel, settings, jobs, from, to, consumer, null);
+        }
+
+        JobTask(ReturnPanel panel, BacktestSettings settings, BacktestJob[] jobs, int from, int to,
+                Consumer<BacktestResult> consumer, BacktestResult[] results) {
+            this.panel = panel;
+            this.settings = settings;
+            this.jobs = jobs;
+            this.from = from;
+            this.to = to;
+            this.consumer = consumer;
+            this.results = results;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                if (to > from) {
+                    BacktestResult result = simulate(panel, settings, jobs[from]);
+                    if (results != null) {
+                        results[from] = result;
+                    }
+                    if (consumer != null) {
+                        consumer.accept(result);
+                    }
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new JobTask(panel, settings, jobs, from, mid, consumer, results),
+                    new JobTask(panel, settings, jobs, mid, to, consumer, results));
+        }
+    }
+}
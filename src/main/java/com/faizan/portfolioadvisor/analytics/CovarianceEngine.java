@@ -0,0 +1,201 @@
+package com.faizan.portfolioadvisor.analytics;
+
+// src/main/java/com/faizan/portfolioadvisor/analytics/CovarianceEngine.java
+
+import com.faizan.portfolioadvisor.exception.InvalidInputException;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Rolling covariance and correlation matrices of product returns, for one or more window lengths
+ * (e.g. 63, 252 and 756 trading days).
+ * <p>
+ * Returns are fed in one observation (one return per product) at a time as they arrive. Each window keeps
+ * running sums (see RollingWindow), so an observation costs O(n^2) per window and a matrix can be produced
+ * in O(n^2) without going back over the history. Matrices are cached per window and shrinkage method and
+ * reused until the next observation arrives, so recommendation requests read a ready matrix with a single
+ * volatile read; the first request after an update rebuilds it from the running sums.
+ * <p>
+ * Shrinkage pulls the sample covariance toward a scaled identity (the average variance on the diagonal),
+ * which keeps it well-conditioned when there are many products relative to observations: FIXED uses a set
+ * intensity, LEDOIT_WOLF estimates the optimal one from the data.
+ */
+public class CovarianceEngine {
+    private static final CovarianceMatrix.Shrinkage[] SHRINKAGES = CovarianceMatrix.Shrinkage.values();
+
+    private final int[] productIds;
+    private final int[] windowLengths;
+    private final RollingWindow[] windows;
+    private final ReentrantLock lock = new ReentrantLock();
+    // Cached matrix per (window, shrinkage) at index window * SHRINKAGES.length + shrinkage.ordinal().
+    private final AtomicReferenceArray<CovarianceMatrix> cache;
+    private volatile long observations;
+    private volatile double fixedIntensity = 0.1;
+
+    /**
+     * @param productIds The products, in the order their returns are passed to addReturns().
+     * @param windowLengths The window lengths (in observations) to maintain; each must be at least 2.
+     */
+    public CovarianceEngine(int[] productIds, int... windowLengths) {
+        if (productIds.length == 0 || windowLengths.length == 0) {
+            throw new IllegalArgumentException("At least one product and one window length are required.");
+        }
+        Set<Integer> seen = new HashSet<>();
+        for (int id : productIds) {
+            if (!seen.add(id)) {
+                throw new IllegalArgumentException("Duplicate product id: " + id);
+            }
+        }
+        this.productIds = productIds.clone();
+        this.windowLengths = windowLengths.clone();
+        this.windows = new RollingWindow[windowLengths.length];
+        for (int w = 0; w < windowLengths.length; w++) {
+            windows[w] = new RollingWindow(productIds.length, windowLengths[w]);
+        }
+        this.cache = new AtomicReferenceArray<>(windowLengths.length * SHRINKAGES.length);
+    }
+
+    /**
+     * Adds one observation.
+     * @param returns One return per product, in constructor order (e.g. 0.0012 for +0.12%). Missing values must be
+     *                filled by the caller (e.g. with 0) so every product stays aligned on the same dates.
+     * @throws InvalidInputException If the length is wrong or a value is NaN or infinite.
+     */
+    public void addReturns(double[] returns) {
+        addReturns(returns, 1);
+    }
+
+    /**
+     * Adds several observations at once, oldest first.
+     * @param rows {@code count} observations of one return per product, back to back.
+     * @param count The number of observations in {@code rows}.
+     * @throws InvalidInputException If the length is wrong or a value is NaN or infinite; nothing is added then.
+     */
+    public void addReturns(double[] rows, int count) {
+        int n = productIds.length;
+        if (count < 0 || rows.length < (long) count * n) {
+            throw new InvalidInputException("Expected " + count + " observations of " + n + " returns, got " + rows.length + " values.");
+        }
+        for (int k = 0; k < count * n; k++) {
+            if (Double.isNaN(rows[k]) || Double.isInfinite(rows[k])) {
+                throw new InvalidInputException("Return for product " + productIds[k % n] + " is not a finite number.");
+            }
+        }
+        lock.lock();
+        try {
+            for (int r = 0; r < count; r++) {
+                for (RollingWindow window : windows) {
+                    window.add(rows, r * n);
+                }
+            }
+            observations += count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param windowLength One of the window lengths given to the constructor.
+     * @param shrinkage How to regularize the sample covariance.
+     * @return The covariance matrix over the most recent observations (up to the window length). The instance is
+     *         shared, and reused until the next observation arrives.
+     * @throws InvalidInputException If fewer than 2 observations have been added.
+     * @throws IllegalArgumentException If the window length is not maintained by this engine.
+     */
+    public CovarianceMatrix getCovariance(int windowLength, CovarianceMatrix.Shrinkage shrinkage) {
+        int w = windowIndex(windowLength);
+        int slot = w * SHRINKAGES.length + shrinkage.ordinal();
+        CovarianceMatrix cached = cache.get(slot);
+        if (cached != null && cached.getVersion() == observations) {
+            return cached;
+        }
+        lock.lock();
+        try {
+            cached = cache.get(slot);
+            if (cached != null && cached.getVersion() == observations) {
+                return cached;
+            }
+            CovarianceMatrix computed = compute(w, shrinkage);
+            cache.set(slot, computed);
+            return computed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Called with the lock held.
+    private CovarianceMatrix compute(int w, CovarianceMatrix.Shrinkage shrinkage) {
+        RollingWindow window = windows[w];
+        if (window.size() < 2) {
+            throw new InvalidInputException("At least 2 return observations are needed for a covariance matrix.");
+        }
+        int n = productIds.length;
+        double[] values = new double[n * n];
+        window.covariance(values);
+        double intensity;
+        switch (shrinkage) {
+            case FIXED:
+                intensity = fixedIntensity;
+                break;
+            case LEDOIT_WOLF:
+                intensity = window.ledoitWolfIntensity(values);
+                break;
+            default:
+                intensity = 0.0;
+        }
+        if (intensity > 0) {
+            double trace = 0;
+            for (int i = 0; i < n; i++) {
+                trace += values[i * n + i];
+            }
+            double target = trace / n;
+            double keep = 1.0 - intensity;
+            for (int k = 0; k < values.length; k++) {
+                values[k] *= keep;
+            }
+            for (int i = 0; i < n; i++) {
+                values[i * n + i] += intensity * target;
+            }
+        }
+        return new CovarianceMatrix(productIds, windowLengths[w], window.size(), observations, shrinkage, intensity, values);
+    }
+
+    private int windowIndex(int windowLength) {
+        for (int w = 0; w < windowLengths.length; w++) {
+            if (windowLengths[w] == windowLength) {
+                return w;
+            }
+        }
+        throw new IllegalArgumentException("Window length " + windowLength + " is not maintained; available: "
+                + Arrays.toString(windowLengths));
+    }
+
+    /**
+     * @param intensity The weight of the identity target for Shrinkage.FIXED, in [0, 1].
+     */
+    public void setFixedShrinkageIntensity(double intensity) {
+        if (intensity < 0 || intensity > 1) {
+            throw new InvalidInputException("Shrinkage intensity must be between 0 and 1: " + intensity);
+        }
+        lock.lock();
+        try {
+            fixedIntensity = intensity;
+            for (int w = 0; w < windows.length; w++) {
+                cache.set(w * SHRINKAGES.length + CovarianceMatrix.Shrinkage.FIXED.ordinal(), null);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // --- Getters ---
+    public int[] getProductIds() { return productIds.clone(); }
+    public int[] getWindowLengths() { return windowLengths.clone(); }
+    /** @return The number of observations added so far. */
+    public long getObservationCount() { return observations; }
+    public double getFixedShrinkageIntensity() { return fixedIntensity; }
+}
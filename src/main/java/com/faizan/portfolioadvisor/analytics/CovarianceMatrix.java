@@ -0,0 +1,132 @@
+package com.faizan.portfolioadvisor.analytics;
+
+// src/main/java/com/faizan/portfolioadvisor/analytics/CovarianceMatrix.java
+
+import java.util.Arrays;
+
+/**
+ * An immutable covariance matrix of product returns over one window, as a flat row-major double[].
+ * Instances are cached and shared by CovarianceEngine, so the arrays are never handed out directly.
+ */
+public final class CovarianceMatrix {
+    /** How the sample covariance was regularized. */
+    public enum Shrinkage { NONE, FIXED, LEDOIT_WOLF }
+
+    private final int[] productIds;
+    private final int window;
+    private final int observations;
+    private final long version;
+    private final Shrinkage shrinkage;
+    private final double intensity;
+    private final double[] values;
+    private volatile double[] correlation; // Derived on first use.
+
+    CovarianceMatrix(int[] productIds, int window, int observations, long version, Shrinkage shrinkage,
+                     double intensity, double[] values) {
+        this.productIds = productIds;
+        this.window = window;
+        this.observations = observations;
+        this.version = version;
+        this.shrinkage = shrinkage;
+        this.intensity = intensity;
+        this.values = values;
+    }
+
+    public int size() {
+        return productIds.length;
+    }
+
+    /**
+     * @return The covariance of products i and j (indexes into getProductIds()).
+     */
+    public double get(int i, int j) {
+        return values[i * productIds.length + j];
+    }
+
+    /**
+     * @return The volatility (standard deviation) of product i per observation period.
+     */
+    public double volatility(int i) {
+        return Math.sqrt(Math.max(get(i, i), 0.0));
+    }
+
+    /**
+     * @return The correlation of products i and j, or 0 if either has no variance.
+     */
+    public double correlation(int i, int j) {
+        return correlationValues()[i * productIds.length + j];
+    }
+
+    /**
+     * @return The index of the product in this matrix, or -1 if it is not part of it.
+     */
+    public int indexOf(int productId) {
+        for (int i = 0; i < productIds.length; i++) {
+            if (productIds[i] == productId) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return A copy of the matrix, row-major (n * n).
+     */
+    public double[] toArray() {
+        return values.clone();
+    }
+
+    /**
+     * @return A copy of the correlation matrix, row-major (n * n).
+     */
+    public double[] toCorrelationArray() {
+        return correlationValues().clone();
+    }
+
+    private double[] correlationValues() {
+        double[] result = correlation;
+        if (result == null) {
+            // Racing threads compute the same values; either copy may win.
+            int n = productIds.length;
+            double[] inverseVolatility = new double[n];
+            for (int i = 0; i < n; i++) {
+                double volatility = volatility(i);
+                inverseVolatility[i] = volatility > 0 ? 1.0 / volatility : 0.0;
+            }
+            result = new double[n * n];
+            for (int i = 0; i < n; i++) {
+                int base = i * n;
+                for (int j = 0; j < n; j++) {
+                    result[base + j] = i == j && inverseVolatility[i] > 0 ? 1.0
+                            : values[base + j] * inverseVolatility[i] * inverseVolatility[j];
+                }
+            }
+            correlation = result;
+        }
+        return result;
+    }
+
+    // --- Getters ---
+    public int[] getProductIds() { return productIds.clone(); }
+    /** @return The window length (maximum observations) this matrix was computed for. */
+    public int getWindow() { return window; }
+    /** @return The observations actually in the window; fewer than getWindow() until the history is long enough. */
+    public int getObservations() { return observations; }
+    /** @return The engine's observation count when this matrix was computed. */
+    public long getVersion() { return version; }
+    public Shrinkage getShrinkage() { return shrinkage; }
+    /** @return The weight given to the shrinkage target (0 = plain sample covariance). */
+    public double getIntensity() { return intensity; }
+
+    @Override
+    public String toString() {
+        return "CovarianceMatrix{" +
+                "size=" + productIds.length +
+                ", window=" + window +
+                ", observations=" + observations +
+                ", shrinkage=" + shrinkage +
+                ", intensity=" + String.format("%.4f", intensity) +
+                ", productIds=" + (productIds.length <= 10 ? Arrays.toString(productIds) : productIds.length + " ids") +
+                '}';
+    }
+}
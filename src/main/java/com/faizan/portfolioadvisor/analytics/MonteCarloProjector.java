@@ -0,0 +1,255 @@
+package com.faizan.portfolioadvisor.analytics;
+
+// src/main/java/com/faizan/portfolioadvisor/analytics/MonteCarloProjector.java
+
+import com.faizan.portfolioadvisor.exception.InvalidInputException;
+import com.faizan.portfolioadvisor.model.PortfolioAllocation;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Projects the value of an allocation over a horizon with Monte Carlo simulation, so a recommendation can be
+ * shown with a range of likely outcomes and the chance of reaching a goal.
+ * <p>
+ * The allocation is treated as rebalanced to its target mix every step, so each path only needs the portfolio
+ * value: per step it draws one normal for the mix's log-return (mean and volatility from ProjectionAssumptions,
+ * including the asset-class correlations), grows the value and adds the contribution.
+ * <p>
+ * The paths are split into fixed-size chunks that run as fork/join leaf tasks. Each chunk gets its own
+ * SplittableRandom, split from the root generator in chunk order before any task starts, so a fixed seed gives
+ * the same result however the chunks are scheduled and on any number of cores. Normals come from Box-Muller
+ * (polar form, both values of each pair are used), and a leaf writes final values straight into one shared double[]:
+ * nothing is allocated per path or per step.
+ */
+public class MonteCarloProjector {
+    private final ProjectionAssumptions assumptions;
+    private final ForkJoinPool pool;
+
+    /**
+     * Uses the common fork/join pool.
+     */
+    public MonteCarloProjector(ProjectionAssumptions assumptions) {
+        this(assumptions, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param assumptions Asset-class returns, volatilities and simulation settings.
+     * @param pool The pool to run the paths on, e.g. to keep projections off the common pool.
+     */
+    public MonteCarloProjector(ProjectionAssumptions assumptions, ForkJoinPool pool) {
+        this.assumptions = assumptions;
+        this.pool = pool;
+    }
+
+    /**
+     * @param allocation The allocation to project; its percentages are fractions of the portfolio (0.20 = 20%).
+     * @param request Amounts, horizon, goal and (optionally) path count and seed.
+     * @return The distribution of final values.
+     * @throws InvalidInputException If the allocation or request is invalid.
+     */
+    public ProjectionResult project(PortfolioAllocation allocation, ProjectionRequest request) {
+        if (allocation == null) {
+            throw new InvalidInputException("An allocation is required for a projection.");
+        }
+        return project(fraction(allocation.getEquityPct()), fraction(allocation.getDebtPct()),
+                fraction(allocation.getAlternativePct()), request);
+    }
+
+    /**
+     * @param equity Equity share of the portfolio (0.20 = 20%).
+     * @param debt Debt share of the portfolio.
+     * @param alternative Alternative share of the portfolio.
+     * @param request Amounts, horizon, goal and (optionally) path count and seed.
+     * @return The distribution of final values.
+     * @throws InvalidInputException If the mix or request is invalid.
+     */
+    public ProjectionResult project(double equity, double debt, double alternative, ProjectionRequest request) {
+        if (equity < 0 || debt < 0 || alternative < 0 || equity + debt + alternative <= 0) {
+            throw new InvalidInputException("Allocation percentages must be non-negative and not all zero.");
+        }
+        validate(request);
+        long start = System.nanoTime();
+        // Shares that do not add up to 1 are normalized, so rounding in stored allocations does not matter.
+        double total = equity + debt + alternative;
+        double mean = assumptions.portfolioReturn(equity / total, debt / total, alternative / total);
+        double volatility = assumptions.portfolioVolatility(equity / total, debt / total, alternative / total);
+        if (mean <= -1.0) {
+            throw new InvalidInputException("Expected portfolio return must be above -100%: " + mean);
+        }
+
+        int stepsPerYear = assumptions.getStepsPerYear();
+        int steps = request.getHorizonYears() * stepsPerYear;
+        double dt = 1.0 / stepsPerYear;
+        // Log-normal steps whose expected growth matches the annual (arithmetic) expected return.
+        double stepVolatility = volatility * Math.sqrt(dt);
+        double stepDrift = Math.log1p(mean) * dt - 0.5 * stepVolatility * stepVolatility;
+        double initial = request.getInitialAmount().doubleValue();
+        double contribution = request.getMonthlyContribution().doubleValue() * 12.0 / stepsPerYear;
+        double goal = request.getGoalAmount() == null ? Double.NaN : request.getGoalAmount().doubleValue();
+
+        int paths = request.getPaths() > 0 ? request.getPaths() : assumptions.getDefaultPaths();
+        int chunkSize = Math.max(1, assumptions.getChunkSize());
+        int chunks = (paths + chunkSize - 1) / chunkSize;
+        SplittableRandom root = request.getSeed() != null ? new SplittableRandom(request.getSeed()) : new SplittableRandom();
+        SplittableRandom[] randoms = new SplittableRandom[chunks];
+        for (int c = 0; c < chunks; c++) {
+            randoms[c] = root.split();
+        }
+
+        Simulation simulation = new Simulation(paths, chunkSize, randoms, steps, stepDrift, stepVolatility,
+                initial, contribution, goal);
+        pool.invoke(new ChunkTask(simulation, 0, chunks));
+
+        double sum = 0;
+        long hits = 0;
+        for (int c = 0; c < chunks; c++) {
+            sum += simulation.chunkSums[c];
+            hits += simulation.chunkGoalHits[c];
+        }
+        double[] finals = simulation.finals;
+        Arrays.sort(finals);
+        double[] percentileValues = new double[ProjectionResult.PERCENTILES.length];
+        for (int i = 0; i < percentileValues.length; i++) {
+            percentileValues[i] = percentile(finals, ProjectionResult.PERCENTILES[i]);
+        }
+        double totalContributed = initial + contribution * steps;
+        double goalProbability = Double.isNaN(goal) ? Double.NaN : (double) hits / paths;
+        return new ProjectionResult(paths, totalContributed, sum / paths, percentileValues, goalProbability,
+                System.nanoTime() - start);
+    }
+
+    public ProjectionAssumptions getAssumptions() {
+        return assumptions;
+    }
+
+    private static void validate(ProjectionRequest request) {
+        if (request == null) {
+            throw new InvalidInputException("A projection request is required.");
+        }
+        if (request.getHorizonYears() <= 0) {
+            throw new InvalidInputException("Projection horizon must be at least one year.");
+        }
+        if (request.getInitialAmount() == null || request.getInitialAmount().signum() < 0
+                || request.getMonthlyContribution() == null || request.getMonthlyContribution().signum() < 0) {
+            throw new InvalidInputException("Initial amount and monthly contribution must be zero or positive.");
+        }
+        if (request.getPaths() < 0) {
+            throw new InvalidInputException("Number of paths cannot be negative.");
+        }
+    }
+
+    private static double fraction(BigDecimal pct) {
+        return pct == null ? 0.0 : pct.doubleValue();
+    }
+
+    // Linear interpolation between the closest ranks of the sorted values.
+    private static double percentile(double[] sorted, double percentile) {
+        double rank = percentile / 100.0 * (sorted.length - 1);
+        int lower = (int) Math.floor(rank);
+        int upper = Math.min(lower + 1, sorted.length - 1);
+        return sorted[lower] + (rank - lower) * (sorted[upper] - sorted[lower]);
+    }
+
+    // Inputs and outputs of one projection, shared read-only (inputs) or by disjoint index (outputs) by the tasks.
+    private static final class Simulation {
+        final int paths;
+        final int chunkSize;
+        final SplittableRandom[] randoms;
+        final int steps;
+        final double stepDrift;
+        final double stepVolatility;
+        final double initial;
+        final double contribution;
+        final double goal;
+        final double[] finals;
+        final double[] chunkSums;
+        final long[] chunkGoalHits;
+
+        Simulation(int paths, int chunkSize, SplittableRandom[] randoms, int steps, double stepDrift,
+                   double stepVolatility, double initial, double contribution, double goal) {
+            this.paths = paths;
+            this.chunkSize = chunkSize;
+            this.randoms = randoms;
+            this.steps = steps;
+            this.stepDrift = stepDrift;
+            this.stepVolatility = stepVolatility;
+            this.initial = initial;
+            this.contribution = contribution;
+            this.goal = goal;
+            this.finals = new double[paths];
+            this.chunkSums = new double[randoms.length];
+            this.chunkGoalHits = new long[randoms.length];
+        }
+
+        void runChunk(int chunk) {
+            SplittableRandom random = randoms[chunk];
+            int from = chunk * chunkSize;
+            int to = Math.min(from + chunkSize, paths);
+            double sum = 0;
+            long hits = 0;
+            double spare = 0;
+            boolean hasSpare = false;
+            for (int p = from; p < to; p++) {
+                double value = initial;
+                for (int s = 0; s < steps; s++) {
+                    double z;
+                    if (hasSpare) {
+                        z = spare;
+                        hasSpare = false;
+                    } else {
+                        // Box-Muller in Marsaglia's polar form: a point in the unit disc replaces the sin/cos.
+                        double u;
+                        double v;
+                        double r2;
+                        do {
+                            u = 2.0 * random.nextDouble() - 1.0;
+                            v = 2.0 * random.nextDouble() - 1.0;
+                            r2 = u * u + v * v;
+                        } while (r2 >= 1.0 || r2 == 0.0);
+                        double factor = Math.sqrt(-2.0 * Math.log(r2) / r2);
+                        z = u * factor;
+                        spare = v * factor;
+                        hasSpare = true;
+                    }
+                    value = value * Math.exp(stepDrift + stepVolatility * z) + contribution;
+                }
+                finals[p] = value;
+                sum += value;
+                if (value >= goal) { // Always false when goal is NaN.
+                    hits++;
+                }
+            }
+            chunkSums[chunk] = sum;
+            chunkGoalHits[chunk] = hits;
+        }
+    }
+
+    // Splits the chunk range in halves until a single chunk is left.
+    private static final class ChunkTask extends RecursiveAction {
+        private final Simulation simulation;
+        private final int fromChunk;
+        private final int toChunk;
+
+        ChunkTask(Simulation simulation, int fromChunk, int toChunk) {
+            this.simulation = simulation;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (toChunk - fromChunk <= 1) {
+                if (toChunk > fromChunk) {
+                    simulation.runChunk(fromChunk);
+                }
+                return;
+            }
+            int mid = (fromChunk + toChunk) >>> 1;
+            invokeAll(new ChunkTask(simulation, fromChunk, mid), new ChunkTask(simulation, mid, toChunk));
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.faizan.portfolioadvisor.analytics;
+
+// src/main/java/com/faizan/portfolioadvisor/analytics/PriceCsvImporter.java
+
+import com.faizan.portfolioadvisor.exception.DataAccessException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk-loads price history from CSV into a PriceStore. Each line is
+ * <pre>product_id,yyyy-MM-dd,price</pre>
+ * (further columns are ignored, and a header line is skipped). Lines may come in any order: rows are
+ * buffered per product in primitive arrays, sorted by date and appended with one write per product, so a
+ * large file costs one sequential pass plus a sort rather than a write per line. Dates the store already has
+ * (or older ones) are skipped, so re-importing an overlapping export is safe. Malformed lines are counted and
+ * reported, not fatal.
+ * <p>
+ * To bound memory, buffered rows are written out every {@code maxBufferedRows}. A date repeated within one
+ * buffer keeps its last price, but once a write-out falls between the two lines the first price is already
+ * stored and the later line is skipped like any other date the store has; rows older than what an earlier
+ * write-out stored are skipped the same way. Very large files should therefore be roughly in date order
+ * (as exports usually are), and should not repeat dates if the last price must win.
+ * <pre>java com.faizan.portfolioadvisor.analytics.PriceCsvImporter price-store prices-2023.csv prices-2024.csv</pre>
+ */
+public class PriceCsvImporter {
+    private static final int DEFAULT_MAX_BUFFERED_ROWS = 2_000_000;
+    private static final int MAX_REPORTED_ERRORS = 10;
+
+    private final PriceStore store;
+    private final int maxBufferedRows;
+
+    public PriceCsvImporter(PriceStore store) {
+        this(store, DEFAULT_MAX_BUFFERED_ROWS);
+    }
+
+    public PriceCsvImporter(PriceStore store, int maxBufferedRows) {
+        this.store = store;
+        this.maxBufferedRows = Math.max(1, maxBufferedRows);
+    }
+
+    /**
+     * Imports one CSV file and flushes the store.
+     * @throws DataAccessException If the file cannot be read.
+     */
+    public PriceImportResult importFile(Path csv) {
+        try (BufferedReader reader = Files.newBufferedReader(csv, StandardCharsets.UTF_8)) {
+            return importFrom(reader, csv.toString());
+        } catch (IOException e) {
+            throw new DataAccessException("Error reading price file " + csv + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Imports CSV lines from a reader and flushes the store.
+     * @param source A name for error messages.
+     */
+    public PriceImportResult importFrom(Reader input, String source) throws IOException {
+        long start = System.nanoTime();
+        BufferedReader reader = input instanceof BufferedReader ? (BufferedReader) input : new BufferedReader(input, 1 << 16);
+        Map<Integer, RowBuffer> buffers = new HashMap<>();
+        Set<Integer> touched = new HashSet<>();
+        long[] counters = new long[2]; // appended, skipped
+        long lines = 0;
+        long malformed = 0;
+        int buffered = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lines++;
+            if (line.isEmpty()) {
+                continue;
+            }
+            int firstComma = line.indexOf(',');
+            int secondComma = firstComma < 0 ? -1 : line.indexOf(',', firstComma + 1);
+            int end = secondComma < 0 ? -1 : line.indexOf(',', secondComma + 1);
+            if (end < 0) {
+                end = line.length();
+            }
+            int productId;
+            int day;
+            double price;
+            try {
+                if (secondComma < 0) {
+                    throw new IllegalArgumentException("expected product_id,date,price");
+                }
+                productId = parseInt(line, 0, firstComma);
+                day = parseEpochDay(line, firstComma + 1, secondComma);
+                price = Double.parseDouble(line.substring(secondComma + 1, end).trim());
+                if (!(price > 0) || Double.isInfinite(price)) {
+                    throw new IllegalArgumentException("price must be positive");
+                }
+            } catch (IllegalArgumentException | DateTimeException e) {
+                if (lines == 1) {
+                    continue; // Header line.
+                }
+                if (++malformed <= MAX_REPORTED_ERRORS) {
+                    System.err.println("Skipping malformed line " + lines + " of " + source + " (" + e.getMessage() + "): " + line);
+                }
+                continue;
+            }
+            buffers.computeIfAbsent(productId, id -> new RowBuffer()).add(day, price);
+            if (++buffered >= maxBufferedRows) {
+                writeOut(buffers, touched, counters);
+                buffered = 0;
+            }
+        }
+        writeOut(buffers, touched, counters);
+        store.flush();
+        return new PriceImportResult(lines, counters[0], counters[1], malformed, touched.size(), System.nanoTime() - start);
+    }
+
+    // Sorts each product's rows by date, drops duplicates and dates the store already has, and appends the rest.
+    private void writeOut(Map<Integer, RowBuffer> buffers, Set<Integer> touched, long[] counters) {
+        for (Map.Entry<Integer, RowBuffer> e : buffers.entrySet()) {
+            int productId = e.getKey();
+            RowBuffer rows = e.getValue();
+            if (rows.size == 0) {
+                continue;
+            }
+            // Sort (day, position) keys so equal days stay in file order and the last one wins.
+            long[] keys = new long[rows.size];
+            for (int i = 0; i < rows.size; i++) {
+                keys[i] = ((long) rows.days[i] << 32) | i;
+            }
+            Arrays.sort(keys);
+            int[] days = new int[rows.size];
+            double[] prices = new double[rows.size];
+            int last = store.getLastDay(productId);
+            int n = 0;
+            for (int k = 0; k < keys.length; k++) {
+                int day = (int) (keys[k] >> 32);
+                if (k + 1 < keys.length && (int) (keys[k + 1] >> 32) == day) {
+                    counters[1]++; // A later line has the same date.
+                    continue;
+                }
+                if (day <= last) {
+                    counters[1]++;
+                    continue;
+                }
+                days[n] = day;
+                prices[n] = rows.prices[(int) keys[k]];
+                n++;
+            }
+            if (n > 0) {
+                store.append(productId, days, prices, n);
+                touched.add(productId);
+                counters[0] += n;
+            }
+            rows.size = 0;
+        }
+    }
+
+    private static int parseInt(String s, int from, int to) {
+        while (from < to && s.charAt(from) == ' ') {
+            from++;
+        }
+        while (to > from && s.charAt(to - 1) == ' ') {
+            to--;
+        }
+        if (from == to) {
+            throw new NumberFormatException("empty number");
+        }
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9' || value > (Integer.MAX_VALUE - 9) / 10) {
+                throw new NumberFormatException("bad product id");
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    // yyyy-MM-dd without building a String or going through a formatter.
+    private static int parseEpochDay(String s, int from, int to) {
+        while (from < to && s.charAt(from) == ' ') {
+            from++;
+        }
+        while (to > from && s.charAt(to - 1) == ' ') {
+            to--;
+        }
+        if (to - from != 10 || s.charAt(from + 4) != '-' || s.charAt(from + 7) != '-') {
+            throw new IllegalArgumentException("date must be yyyy-MM-dd");
+        }
+        int year = parseInt(s, from, from + 4);
+        int month = parseInt(s, from + 5, from + 7);
+        int day = parseInt(s, from + 8, from + 10);
+        return (int) LocalDate.of(year, month, day).toEpochDay();
+    }
+
+    // Growable primitive rows for one product.
+    private static final class RowBuffer {
+        int[] days = new int[64];
+        double[] prices = new double[64];
+        int size;
+
+        void add(int day, double price) {
+            if (size == days.length) {
+                days = Arrays.copyOf(days, size * 2);
+                prices = Arrays.copyOf(prices, size * 2);
+            }
+            days[size] = day;
+            prices[size] = price;
+            size++;
+        }
+    }
+
+    /**
+     * @param args The store directory followed by one or more CSV files.
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: PriceCsvImporter <store-directory> <file.csv>...");
+            System.exit(1);
+        }
+        try (PriceStore store = PriceStore.open(Paths.get(args[0]))) {
+            PriceCsvImporter importer = new PriceCsvImporter(store);
+            for (int i = 1; i < args.length; i++) {
+                System.out.println(args[i] + ": " + importer.importFile(Paths.get(args[i])));
+            }
+        }
+    }
+}
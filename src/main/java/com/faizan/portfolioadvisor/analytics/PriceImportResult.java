@@ -0,0 +1,52 @@
+package com.faizan.portfolioadvisor.analytics;
+
+// src/main/java/com/faizan/portfolioadvisor/analytics/PriceImportResult.java
+
+/**
+ * Counters from one PriceCsvImporter run.
+ */
+public class PriceImportResult {
+    private final long linesRead;
+    private final long rowsAppended;
+    private final long rowsSkipped;
+    private final long malformedLines;
+    private final int products;
+    private final long elapsedNanos;
+
+    public PriceImportResult(long linesRead, long rowsAppended, long rowsSkipped, long malformedLines, int products, long elapsedNanos) {
+        this.linesRead = linesRead;
+        this.rowsAppended = rowsAppended;
+        this.rowsSkipped = rowsSkipped;
+        this.malformedLines = malformedLines;
+        this.products = products;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    // --- Getters ---
+    public long getLinesRead() { return linesRead; }
+    public long getRowsAppended() { return rowsAppended; }
+    /**
+     * @return Rows not appended: dates repeated within the file (the last one wins only while both are in the
+     *         same buffer), and dates the store already had, or older ones, including those stored by an earlier
+     *         write-out of the same import.
+     */
+    public long getRowsSkipped() { return rowsSkipped; }
+    public long getMalformedLines() { return malformedLines; }
+    /** @return The number of products that received rows. */
+    public int getProducts() { return products; }
+    public long getElapsedNanos() { return elapsedNanos; }
+
+    @Override
+    public String toString() {
+        double seconds = elapsedNanos / 1e9;
+        return "PriceImportResult{" +
+                "linesRead=" + linesRead +
+                ", rowsAppended=" + rowsAppended +
+                ", rowsSkipped=" + rowsSkipped +
+                ", malformedLines=" + malformedLines +
+                ", products=" + products +
+                ", elapsedMs=" + elapsedNanos / 1_000_000 +
+                ", rowsPerSecond=" + (seconds > 0 ? String.format("%.0f", linesRead / seconds) : "n/a") +
+                '}';
+    }
+}
@@ -0,0 +1,235 @@
+package com.faizan.portfolioadvisor.analytics;
+
+// src/main/java/com/faizan/portfolioadvisor/analytics/PriceSegment.java
+
+import com.faizan.portfolioadvisor.exception.DataAccessException;
+import com.faizan.portfolioadvisor.exception.InvalidInputException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The price history of one product in a memory-mapped file, stored column by column:
+ * <pre>
+ *   header    64 bytes: magic, format version, product id, capacity, row count (little-endian ints)
+ *   dates     capacity x int32   epoch day of each row, strictly increasing
+ *   prices    capacity x float64 price (or NAV) of each row, starting on an 8-byte boundary
+ * </pre>
+ * The row count in the header is the commit point: rows are written first and the count last, so rows past the
+ * count (e.g. after a crash mid-append) are ignored. When the capacity is used up the file is copied to a file
+ * twice the size and renamed over the old one; PriceSeries views handed out earlier keep reading the old mapping,
+ * which stays valid until they are garbage collected.
+ * <p>
+ * One writer at a time (PriceStore serializes appends); any number of readers without locking.
+ */
+final class PriceSegment {
+    static final int MAGIC = 0x50525331; // "PRS1"
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_BYTES = 64;
+    private static final int PRODUCT_ID_OFFSET = 8;
+    private static final int CAPACITY_OFFSET = 12;
+    private static final int COUNT_OFFSET = 16;
+    private static final int MIN_CAPACITY = 256;
+
+    private final Path file;
+    private final int productId;
+    private volatile MappedByteBuffer buffer;
+    private volatile int capacity;
+    private volatile int count;
+    private boolean dirty;
+
+    private PriceSegment(Path file, int productId, MappedByteBuffer buffer, int capacity, int count) {
+        this.file = file;
+        this.productId = productId;
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.count = count;
+    }
+
+    static PriceSegment create(Path file, int productId) {
+        MappedByteBuffer buffer = map(file, productId, MIN_CAPACITY);
+        return new PriceSegment(file, productId, buffer, MIN_CAPACITY, 0);
+    }
+
+    static PriceSegment open(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (channel.size() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+                throw new DataAccessException("Not a price segment file: " + file);
+            }
+            if (buffer.getInt(4) != FORMAT_VERSION) {
+                throw new DataAccessException("Unsupported price segment version " + buffer.getInt(4) + " in " + file);
+            }
+            int capacity = buffer.getInt(CAPACITY_OFFSET);
+            int count = buffer.getInt(COUNT_OFFSET);
+            if (channel.size() < fileSize(capacity) || count < 0 || count > capacity) {
+                throw new DataAccessException("Corrupt price segment header in " + file);
+            }
+            return new PriceSegment(file, buffer.getInt(PRODUCT_ID_OFFSET), buffer, capacity, count);
+        } catch (IOException e) {
+            throw new DataAccessException("Error opening price segment " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static MappedByteBuffer map(Path file, int productId, int capacity) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize(capacity));
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, FORMAT_VERSION);
+            buffer.putInt(PRODUCT_ID_OFFSET, productId);
+            buffer.putInt(CAPACITY_OFFSET, capacity);
+            buffer.putInt(COUNT_OFFSET, 0);
+            return buffer;
+        } catch (IOException e) {
+            throw new DataAccessException("Error creating price segment " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static long fileSize(int capacity) {
+        return pricesOffset(capacity) + 8L * capacity;
+    }
+
+    private static int pricesOffset(int capacity) {
+        return HEADER_BYTES + ((capacity * 4 + 7) & ~7);
+    }
+
+    /**
+     * Appends rows; days must be strictly increasing and after the last stored day, prices finite and positive.
+     * Nothing is written if any row is invalid.
+     */
+    void append(int[] days, double[] prices, int from, int to) {
+        int last = count == 0 ? Integer.MIN_VALUE : dayAt(buffer, count - 1);
+        for (int k = from; k < to; k++) {
+            if (days[k] <= last) {
+                throw new InvalidInputException("Price dates for product " + productId + " must be strictly increasing and after "
+                        + "the last stored date (epoch day " + last + "), got " + days[k] + ".");
+            }
+            if (!(prices[k] > 0) || Double.isInfinite(prices[k])) {
+                throw new InvalidInputException("Price for product " + productId + " on epoch day " + days[k] + " must be positive: " + prices[k]);
+            }
+            last = days[k];
+        }
+        int rows = to - from;
+        if (rows == 0) {
+            return;
+        }
+        ensureCapacity(count + rows);
+        MappedByteBuffer target = buffer;
+        int pricesOffset = pricesOffset(capacity);
+        int row = count;
+        for (int k = from; k < to; k++, row++) {
+            target.putInt(HEADER_BYTES + 4 * row, days[k]);
+            target.putDouble(pricesOffset + 8 * row, prices[k]);
+        }
+        target.putInt(COUNT_OFFSET, row);
+        count = row; // Publishes the rows to readers.
+        dirty = true;
+    }
+
+    private void ensureCapacity(int needed) {
+        if (needed <= capacity) {
+            return;
+        }
+        int newCapacity = Math.max(needed, Math.max(MIN_CAPACITY, capacity * 2));
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.deleteIfExists(tmp);
+            MappedByteBuffer grown = map(tmp, productId, newCapacity);
+            MappedByteBuffer old = buffer;
+            int rows = count;
+            for (int row = 0; row < rows; row++) {
+                grown.putInt(HEADER_BYTES + 4 * row, old.getInt(HEADER_BYTES + 4 * row));
+                grown.putDouble(pricesOffset(newCapacity) + 8 * row, old.getDouble(pricesOffset(capacity) + 8 * row));
+            }
+            grown.putInt(COUNT_OFFSET, rows);
+            grown.force();
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            // Readers take the price offset from the header of whichever buffer they picked up (see read()),
+            // so swapping the buffer needs no lock.
+            buffer = grown;
+            capacity = newCapacity;
+        } catch (IOException e) {
+            throw new DataAccessException("Error growing price segment " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @return A zero-copy view of the rows with fromDay &lt;= day &lt;= toDay.
+     */
+    PriceSeries read(int fromDay, int toDay) {
+        // Count before buffer: rows are only counted after the buffer holding them has been published.
+        int rows = count;
+        MappedByteBuffer source = buffer;
+        int sourceCapacity = source.getInt(CAPACITY_OFFSET);
+        int lo = lowerBound(source, rows, fromDay);
+        int hi = toDay == Integer.MAX_VALUE ? rows : lowerBound(source, rows, toDay + 1);
+        if (hi <= lo) {
+            return PriceSeries.empty(productId);
+        }
+        ByteBuffer dates = slice(source, HEADER_BYTES + 4 * lo, 4 * (hi - lo));
+        ByteBuffer prices = slice(source, pricesOffset(sourceCapacity) + 8 * lo, 8 * (hi - lo));
+        return new PriceSeries(productId, dates.asIntBuffer(), prices.asDoubleBuffer());
+    }
+
+    private static ByteBuffer slice(MappedByteBuffer source, int offset, int length) {
+        ByteBuffer view = source.asReadOnlyBuffer();
+        view.position(offset).limit(offset + length);
+        return view.slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    // First row whose day is >= day.
+    private static int lowerBound(MappedByteBuffer source, int rows, int day) {
+        int lo = 0;
+        int hi = rows;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (dayAt(source, mid) < day) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static int dayAt(MappedByteBuffer source, int row) {
+        return source.getInt(HEADER_BYTES + 4 * row);
+    }
+
+    /** Writes dirty pages to disk. */
+    void force() {
+        if (dirty) {
+            buffer.force();
+            dirty = false;
+        }
+    }
+
+    int getProductId() {
+        return productId;
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    /** @return The first stored epoch day, or Integer.MIN_VALUE if the segment is empty. */
+    int getFirstDay() {
+        return count == 0 ? Integer.MIN_VALUE : dayAt(buffer, 0);
+    }
+
+    /** @return The last stored epoch day, or Integer.MIN_VALUE if the segment is empty. */
+    int getLastDay() {
+        int rows = count;
+        return rows == 0 ? Integer.MIN_VALUE : dayAt(buffer, rows - 1);
+    }
+}
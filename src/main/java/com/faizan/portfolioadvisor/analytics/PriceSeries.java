@@ -0,0 +1,131 @@
+package com.faizan.portfolioadvisor.analytics;
+
+// src/main/java/com/faizan/portfolioadvisor/analytics/PriceSeries.java
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.time.LocalDate;
+
+/**
+ * A read-only range of one product's price history. The dates and prices are views straight onto the
+ * memory-mapped segment file (no copy), so scanning a series runs at memory speed once the pages are cached.
+ * Rows are in date order; dates are epoch days (LocalDate.toEpochDay()).
+ */
+public final class PriceSeries {
+    private static final IntBuffer NO_DATES = ByteBuffer.allocate(0).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+    private static final DoubleBuffer NO_PRICES = ByteBuffer.allocate(0).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+
+    private final int productId;
+    private final IntBuffer dates;
+    private final DoubleBuffer prices;
+
+    PriceSeries(int productId, IntBuffer dates, DoubleBuffer prices) {
+        this.productId = productId;
+        this.dates = dates;
+        this.prices = prices;
+    }
+
+    static PriceSeries empty(int productId) {
+        return new PriceSeries(productId, NO_DATES, NO_PRICES);
+    }
+
+    public int getProductId() {
+        return productId;
+    }
+
+    public int size() {
+        return dates.limit();
+    }
+
+    public boolean isEmpty() {
+        return dates.limit() == 0;
+    }
+
+    /** @return The epoch day of row i. */
+    public int day(int i) {
+        return dates.get(i);
+    }
+
+    /** @return The date of row i. */
+    public LocalDate date(int i) {
+        return LocalDate.ofEpochDay(dates.get(i));
+    }
+
+    /** @return The price of row i. */
+    public double price(int i) {
+        return prices.get(i);
+    }
+
+    /**
+     * @return The row of the last price on or before the epoch day, or -1 if the series starts after it.
+     */
+    public int indexAtOrBefore(int epochDay) {
+        int lo = 0;
+        int hi = dates.limit();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (dates.get(mid) <= epochDay) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo - 1;
+    }
+
+    /**
+     * @return The price on the epoch day, or the last one before it (prices carry forward over non-trading
+     *         days), or NaN if the series starts after it.
+     */
+    public double priceAtOrBefore(int epochDay) {
+        int i = indexAtOrBefore(epochDay);
+        return i < 0 ? Double.NaN : prices.get(i);
+    }
+
+    /**
+     * Writes the simple returns between consecutive rows (price[i + 1] / price[i] - 1) into out[offset..].
+     * @return The number of returns written, size() - 1 (or 0 for fewer than two rows).
+     */
+    public int returns(double[] out, int offset) {
+        int n = dates.limit();
+        if (n < 2) {
+            return 0;
+        }
+        double previous = prices.get(0);
+        for (int i = 1; i < n; i++) {
+            double current = prices.get(i);
+            out[offset + i - 1] = current / previous - 1.0;
+            previous = current;
+        }
+        return n - 1;
+    }
+
+    /**
+     * @return A copy of the dates as epoch days.
+     */
+    public int[] copyDays() {
+        int[] copy = new int[dates.limit()];
+        dates.duplicate().get(copy);
+        return copy;
+    }
+
+    /**
+     * @return A copy of the prices.
+     */
+    public double[] copyPrices() {
+        double[] copy = new double[prices.limit()];
+        prices.duplicate().get(copy);
+        return copy;
+    }
+
+    @Override
+    public String toString() {
+        return "PriceSeries{" +
+                "productId=" + productId +
+                ", rows=" + size() +
+                (isEmpty() ? "" : ", from=" + date(0) + ", to=" + date(size() - 1)) +
+                '}';
+    }
+}
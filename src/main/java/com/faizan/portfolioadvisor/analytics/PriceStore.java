@@ -0,0 +1,321 @@
+package com.faizan.portfolioadvisor.analytics;
+
+// src/main/java/com/faizan/portfolioadvisor/analytics/PriceStore.java
+
+import com.faizan.portfolioadvisor.exception.DataAccessException;
+import com.faizan.portfolioadvisor.exception.InvalidInputException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Append-only store of daily price (or NAV) histories per FinancialProduct, kept in memory-mapped columnar
+ * files instead of MySQL so analytics can scan years of data without JDBC round-trips.
+ * <p>
+ * The directory holds one segment file per product ({@code <productId>.seg}, see PriceSegment for the layout)
+ * and an index file ({@code prices.idx}) with each product's row count and date range, so opening the store
+ * and listing its products does not touch the segments; a segment is mapped the first time it is read, appended
+ * to or asked for its row count or date range. The index is rewritten atomically by flush() and close().
+ * Segment headers are authoritative: the index can be behind them after a crash before flush, so per-product
+ * counts and dates are always answered from the segment, and segments missing from the index are found by a
+ * directory scan on open.
+ * <p>
+ * Appends are serialized by a lock; reads are lock-free and return zero-copy PriceSeries views.
+ * Intended for one process at a time.
+ */
+public class PriceStore implements AutoCloseable {
+    public static final String INDEX_FILE = "prices.idx";
+    static final String SEGMENT_SUFFIX = ".seg";
+    private static final int INDEX_MAGIC = 0x50525349; // "PRSI"
+    private static final int INDEX_VERSION = 1;
+    private static final int INDEX_HEADER_BYTES = 12;
+    private static final int INDEX_ENTRY_BYTES = 16;
+
+    private final Path directory;
+    private final Map<Integer, Entry> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile boolean closed;
+
+    private PriceStore(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Opens (or creates) the store in a directory.
+     * @throws DataAccessException If the directory or index cannot be read.
+     */
+    public static PriceStore open(Path directory) {
+        PriceStore store = new PriceStore(directory);
+        try {
+            Files.createDirectories(directory);
+            store.readIndex();
+            store.discoverUnindexedSegments();
+        } catch (IOException e) {
+            throw new DataAccessException("Error opening price store " + directory + ": " + e.getMessage(), e);
+        }
+        return store;
+    }
+
+    /**
+     * Appends one price. See append(int, int[], double[], int).
+     */
+    public void append(int productId, LocalDate date, double price) {
+        append(productId, new int[]{(int) date.toEpochDay()}, new double[]{price}, 1);
+    }
+
+    /**
+     * Appends prices for one product in a single write; the rows become visible to readers together.
+     * @param productId The product.
+     * @param epochDays Dates as LocalDate.toEpochDay(), strictly increasing and after the last stored date.
+     * @param prices Positive prices, one per date.
+     * @param count The number of rows to take from the arrays.
+     * @throws InvalidInputException If a date is out of order or a price is not positive; nothing is appended then.
+     */
+    public void append(int productId, int[] epochDays, double[] prices, int count) {
+        ensureOpen();
+        if (count < 0 || count > epochDays.length || count > prices.length) {
+            throw new InvalidInputException("Row count " + count + " does not match the arrays given.");
+        }
+        writeLock.lock();
+        try {
+            Entry entry = entries.get(productId);
+            if (entry == null) {
+                if (count == 0) {
+                    return;
+                }
+                // The file can exist already if an earlier first append to it was rejected.
+                Path file = segmentFile(productId);
+                entry = new Entry(productId, 0, Integer.MIN_VALUE, Integer.MIN_VALUE);
+                entry.segment = Files.exists(file) ? PriceSegment.open(file) : PriceSegment.create(file, productId);
+            }
+            PriceSegment segment = segmentOf(entry);
+            segment.append(epochDays, prices, 0, count);
+            entry.update(segment);
+            entries.putIfAbsent(productId, entry);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * @return The product's whole history, or an empty series if the store has none.
+     */
+    public PriceSeries read(int productId) {
+        return read(productId, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @return The product's prices from {@code from} to {@code to}, both inclusive.
+     */
+    public PriceSeries read(int productId, LocalDate from, LocalDate to) {
+        return read(productId, (int) from.toEpochDay(), (int) to.toEpochDay());
+    }
+
+    /**
+     * @return The product's prices with fromEpochDay &lt;= date &lt;= toEpochDay, as a zero-copy view.
+     */
+    public PriceSeries read(int productId, int fromEpochDay, int toEpochDay) {
+        ensureOpen();
+        Entry entry = entries.get(productId);
+        if (entry == null) {
+            return PriceSeries.empty(productId);
+        }
+        return segmentOf(entry).read(fromEpochDay, toEpochDay);
+    }
+
+    public boolean contains(int productId) {
+        return entries.containsKey(productId);
+    }
+
+    /**
+     * @return The ids of all products with stored prices, ascending.
+     */
+    public int[] getProductIds() {
+        int[] ids = new int[entries.size()];
+        int k = 0;
+        for (Integer id : entries.keySet()) {
+            if (k == ids.length) {
+                break; // A product was added while copying.
+            }
+            ids[k++] = id;
+        }
+        ids = Arrays.copyOf(ids, k);
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    /**
+     * @return The last stored epoch day of the product, or Integer.MIN_VALUE if none (e.g. to resume an import).
+     */
+    public int getLastDay(int productId) {
+        Entry entry = entries.get(productId);
+        return entry == null ? Integer.MIN_VALUE : segmentOf(entry).getLastDay();
+    }
+
+    /**
+     * @return The first stored epoch day of the product, or Integer.MIN_VALUE if none.
+     */
+    public int getFirstDay(int productId) {
+        Entry entry = entries.get(productId);
+        return entry == null ? Integer.MIN_VALUE : segmentOf(entry).getFirstDay();
+    }
+
+    public int getRowCount(int productId) {
+        Entry entry = entries.get(productId);
+        return entry == null ? 0 : segmentOf(entry).getCount();
+    }
+
+    /**
+     * Forces appended rows to disk and rewrites the index.
+     * @throws DataAccessException If writing fails.
+     */
+    public void flush() {
+        ensureOpen();
+        writeLock.lock();
+        try {
+            for (Entry entry : entries.values()) {
+                if (entry.segment != null) {
+                    entry.segment.force();
+                }
+            }
+            writeIndex();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        flush();
+        closed = true;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Price store " + directory + " is closed.");
+        }
+    }
+
+    private Path segmentFile(int productId) {
+        return directory.resolve(productId + SEGMENT_SUFFIX);
+    }
+
+    // Maps the segment on first use; the header may know more rows than the index did.
+    private PriceSegment segmentOf(Entry entry) {
+        PriceSegment segment = entry.segment;
+        if (segment != null) {
+            return segment;
+        }
+        writeLock.lock();
+        try {
+            if (entry.segment == null) {
+                PriceSegment opened = PriceSegment.open(segmentFile(entry.productId));
+                entry.update(opened);
+                entry.segment = opened;
+            }
+            return entry.segment;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void readIndex() throws IOException {
+        Path index = directory.resolve(INDEX_FILE);
+        if (!Files.exists(index)) {
+            return;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(index)).order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.remaining() < INDEX_HEADER_BYTES || buffer.getInt() != INDEX_MAGIC || buffer.getInt() != INDEX_VERSION) {
+            System.err.println("Ignoring unreadable price store index " + index + "; rebuilding it from the segments.");
+            return;
+        }
+        int count = buffer.getInt();
+        if (buffer.remaining() < (long) count * INDEX_ENTRY_BYTES) {
+            System.err.println("Ignoring truncated price store index " + index + "; rebuilding it from the segments.");
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            int productId = buffer.getInt();
+            entries.put(productId, new Entry(productId, buffer.getInt(), buffer.getInt(), buffer.getInt()));
+        }
+    }
+
+    private void discoverUnindexedSegments() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                int productId;
+                try {
+                    productId = Integer.parseInt(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+                } catch (NumberFormatException e) {
+                    continue;
+                }
+                if (!entries.containsKey(productId)) {
+                    PriceSegment segment = PriceSegment.open(file);
+                    Entry entry = new Entry(productId, 0, Integer.MIN_VALUE, Integer.MIN_VALUE);
+                    entry.update(segment);
+                    entry.segment = segment;
+                    entries.put(productId, entry);
+                }
+            }
+        }
+    }
+
+    // Called with the write lock held. Written to a temporary file and renamed, so a crash leaves the old index.
+    private void writeIndex() {
+        int[] ids = getProductIds();
+        ByteBuffer buffer = ByteBuffer.allocate(INDEX_HEADER_BYTES + ids.length * INDEX_ENTRY_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(INDEX_MAGIC).putInt(INDEX_VERSION).putInt(ids.length);
+        for (int id : ids) {
+            Entry entry = entries.get(id);
+            buffer.putInt(id).putInt(entry.count).putInt(entry.firstDay).putInt(entry.lastDay);
+        }
+        Path index = directory.resolve(INDEX_FILE);
+        Path tmp = directory.resolve(INDEX_FILE + ".tmp");
+        try {
+            Files.write(tmp, buffer.array());
+            Files.move(tmp, index, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new DataAccessException("Error writing price store index " + index + ": " + e.getMessage(), e);
+        }
+    }
+
+    // Per-product summary from the index, plus the segment once it has been mapped.
+    private static final class Entry {
+        final int productId;
+        volatile PriceSegment segment;
+        volatile int count;
+        volatile int firstDay;
+        volatile int lastDay;
+
+        Entry(int productId, int count, int firstDay, int lastDay) {
+            this.productId = productId;
+            this.count = count;
+            this.firstDay = firstDay;
+            this.lastDay = lastDay;
+        }
+
+        void update(PriceSegment segment) {
+            count = segment.getCount();
+            firstDay = segment.getFirstDay();
+            lastDay = segment.getLastDay();
+        }
+    }
+}
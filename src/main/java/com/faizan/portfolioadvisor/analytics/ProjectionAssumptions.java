@@ -0,0 +1,135 @@
+package com.faizan.portfolioadvisor.analytics;
+
+// src/main/java/com/faizan/portfolioadvisor/analytics/ProjectionAssumptions.java
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Return and risk assumptions per asset class used by MonteCarloProjector.
+ * Defaults can be overridden in projection.properties on the classpath, or with the setters before the
+ * assumptions are handed to the projector.
+ */
+public class ProjectionAssumptions {
+    private static final String PROJECTION_PROPERTIES_FILE = "projection.properties";
+
+    private double equityReturn = 0.12;
+    private double equityVolatility = 0.18;
+    private double debtReturn = 0.07;
+    private double debtVolatility = 0.05;
+    private double alternativeReturn = 0.08;
+    private double alternativeVolatility = 0.15;
+    private double equityDebtCorrelation = 0.10;
+    private double equityAlternativeCorrelation = 0.30;
+    private double debtAlternativeCorrelation = 0.05;
+    private int stepsPerYear = 12;
+    private int defaultPaths = 100_000;
+    private int chunkSize = 4096;
+
+    /**
+     * Loads projection.properties from the classpath. Missing keys (or a missing file) keep their defaults.
+     * @return The loaded assumptions.
+     */
+    public static ProjectionAssumptions load() {
+        Properties properties = new Properties();
+        try (InputStream input = ProjectionAssumptions.class.getClassLoader().getResourceAsStream(PROJECTION_PROPERTIES_FILE)) {
+            if (input != null) {
+                properties.load(input);
+            }
+        } catch (IOException ex) {
+            throw new RuntimeException("Failed to load projection properties: " + ex.getMessage(), ex);
+        }
+        return fromProperties(properties);
+    }
+
+    /**
+     * Builds assumptions from projection.* properties; missing keys keep their defaults.
+     */
+    public static ProjectionAssumptions fromProperties(Properties properties) {
+        ProjectionAssumptions assumptions = new ProjectionAssumptions();
+        assumptions.equityReturn = getDouble(properties, "projection.equity.return", assumptions.equityReturn);
+        assumptions.equityVolatility = getDouble(properties, "projection.equity.volatility", assumptions.equityVolatility);
+        assumptions.debtReturn = getDouble(properties, "projection.debt.return", assumptions.debtReturn);
+        assumptions.debtVolatility = getDouble(properties, "projection.debt.volatility", assumptions.debtVolatility);
+        assumptions.alternativeReturn = getDouble(properties, "projection.alternative.return", assumptions.alternativeReturn);
+        assumptions.alternativeVolatility = getDouble(properties, "projection.alternative.volatility", assumptions.alternativeVolatility);
+        assumptions.equityDebtCorrelation = getDouble(properties, "projection.correlation.equityDebt", assumptions.equityDebtCorrelation);
+        assumptions.equityAlternativeCorrelation = getDouble(properties, "projection.correlation.equityAlternative", assumptions.equityAlternativeCorrelation);
+        assumptions.debtAlternativeCorrelation = getDouble(properties, "projection.correlation.debtAlternative", assumptions.debtAlternativeCorrelation);
+        assumptions.stepsPerYear = (int) getLong(properties, "projection.stepsPerYear", assumptions.stepsPerYear);
+        assumptions.defaultPaths = (int) getLong(properties, "projection.defaultPaths", assumptions.defaultPaths);
+        assumptions.chunkSize = (int) getLong(properties, "projection.chunkSize", assumptions.chunkSize);
+        return assumptions;
+    }
+
+    private static double getDouble(Properties properties, String key, double defaultValue) {
+        String value = properties.getProperty(key);
+        return value == null ? defaultValue : Double.parseDouble(value.trim());
+    }
+
+    private static long getLong(Properties properties, String key, long defaultValue) {
+        String value = properties.getProperty(key);
+        return value == null ? defaultValue : Long.parseLong(value.trim());
+    }
+
+    /**
+     * @return The annual expected return of a mix, as a fraction.
+     */
+    public double portfolioReturn(double equity, double debt, double alternative) {
+        return equity * equityReturn + debt * debtReturn + alternative * alternativeReturn;
+    }
+
+    /**
+     * @return The annual volatility of a mix, from the asset-class volatilities and correlations.
+     */
+    public double portfolioVolatility(double equity, double debt, double alternative) {
+        double e = equity * equityVolatility;
+        double d = debt * debtVolatility;
+        double a = alternative * alternativeVolatility;
+        double variance = e * e + d * d + a * a
+                + 2 * (e * d * equityDebtCorrelation + e * a * equityAlternativeCorrelation + d * a * debtAlternativeCorrelation);
+        return Math.sqrt(Math.max(variance, 0.0));
+    }
+
+    // --- Getters ---
+    public double getEquityReturn() { return equityReturn; }
+    public double getEquityVolatility() { return equityVolatility; }
+    public double getDebtReturn() { return debtReturn; }
+    public double getDebtVolatility() { return debtVolatility; }
+    public double getAlternativeReturn() { return alternativeReturn; }
+    public double getAlternativeVolatility() { return alternativeVolatility; }
+    public double getEquityDebtCorrelation() { return equityDebtCorrelation; }
+    public double getEquityAlternativeCorrelation() { return equityAlternativeCorrelation; }
+    public double getDebtAlternativeCorrelation() { return debtAlternativeCorrelation; }
+    public int getStepsPerYear() { return stepsPerYear; }
+    public int getDefaultPaths() { return defaultPaths; }
+    public int getChunkSize() { return chunkSize; }
+
+    // --- Setters ---
+    public void setEquityReturn(double equityReturn) { this.equityReturn = equityReturn; }
+    public void setEquityVolatility(double equityVolatility) { this.equityVolatility = equityVolatility; }
+    public void setDebtReturn(double debtReturn) { this.debtReturn = debtReturn; }
+    public void setDebtVolatility(double debtVolatility) { this.debtVolatility = debtVolatility; }
+    public void setAlternativeReturn(double alternativeReturn) { this.alternativeReturn = alternativeReturn; }
+    public void setAlternativeVolatility(double alternativeVolatility) { this.alternativeVolatility = alternativeVolatility; }
+    public void setEquityDebtCorrelation(double equityDebtCorrelation) { this.equityDebtCorrelation = equityDebtCorrelation; }
+    public void setEquityAlternativeCorrelation(double equityAlternativeCorrelation) { this.equityAlternativeCorrelation = equityAlternativeCorrelation; }
+    public void setDebtAlternativeCorrelation(double debtAlternativeCorrelation) { this.debtAlternativeCorrelation = debtAlternativeCorrelation; }
+    public void setStepsPerYear(int stepsPerYear) { this.stepsPerYear = stepsPerYear; }
+    public void setDefaultPaths(int defaultPaths) { this.defaultPaths = defaultPaths; }
+    public void setChunkSize(int chunkSize) { this.chunkSize = chunkSize; }
+
+    @Override
+    public String toString() {
+        return "ProjectionAssumptions{" +
+                "equity=" + equityReturn + "/" + equityVolatility +
+                ", debt=" + debtReturn + "/" + debtVolatility +
+                ", alternative=" + alternativeReturn + "/" + alternativeVolatility +
+                ", correlations(ed/ea/da)=" + equityDebtCorrelation + "/" + equityAlternativeCorrelation + "/" + debtAlternativeCorrelation +
+                ", stepsPerYear=" + stepsPerYear +
+                ", defaultPaths=" + defaultPaths +
+                ", chunkSize=" + chunkSize +
+                '}';
+    }
+}
@@ -0,0 +1,56 @@
+package com.faizan.portfolioadvisor.analytics;
+
+// src/main/java/com/faizan/portfolioadvisor/analytics/ProjectionRequest.java
+
+import java.math.BigDecimal;
+
+/**
+ * What to project for an allocation: starting amount, contributions, horizon and (optionally) a goal.
+ */
+public class ProjectionRequest {
+    private BigDecimal initialAmount = BigDecimal.ZERO;
+    private BigDecimal monthlyContribution = BigDecimal.ZERO;
+    private int horizonYears;
+    private BigDecimal goalAmount; // Optional; null skips the goal probability
+    private int paths; // 0 = ProjectionAssumptions.getDefaultPaths()
+    private Long seed; // Fixed seed for reproducible results (e.g. tests); null = a fresh random seed
+
+    // Default constructor
+    public ProjectionRequest() {
+    }
+
+    public ProjectionRequest(BigDecimal initialAmount, BigDecimal monthlyContribution, int horizonYears, BigDecimal goalAmount) {
+        this.initialAmount = initialAmount;
+        this.monthlyContribution = monthlyContribution;
+        this.horizonYears = horizonYears;
+        this.goalAmount = goalAmount;
+    }
+
+    // --- Getters ---
+    public BigDecimal getInitialAmount() { return initialAmount; }
+    public BigDecimal getMonthlyContribution() { return monthlyContribution; }
+    public int getHorizonYears() { return horizonYears; }
+    public BigDecimal getGoalAmount() { return goalAmount; }
+    public int getPaths() { return paths; }
+    public Long getSeed() { return seed; }
+
+    // --- Setters ---
+    public void setInitialAmount(BigDecimal initialAmount) { this.initialAmount = initialAmount; }
+    public void setMonthlyContribution(BigDecimal monthlyContribution) { this.monthlyContribution = monthlyContribution; }
+    public void setHorizonYears(int horizonYears) { this.horizonYears = horizonYears; }
+    public void setGoalAmount(BigDecimal goalAmount) { this.goalAmount = goalAmount; }
+    public void setPaths(int paths) { this.paths = paths; }
+    public void setSeed(Long seed) { this.seed = seed; }
+
+    @Override
+    public String toString() {
+        return "ProjectionRequest{" +
+                "initialAmount=" + initialAmount +
+                ", monthlyContribution=" + monthlyContribution +
+                ", horizonYears=" + horizonYears +
+                ", goalAmount=" + goalAmount +
+                ", paths=" + paths +
+                ", seed=" + seed +
+                '}';
+    }
+}
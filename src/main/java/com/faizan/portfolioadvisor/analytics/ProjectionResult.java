@@ -0,0 +1,69 @@
+package com.faizan.portfolioadvisor.analytics;
+
+// src/main/java/com/faizan/portfolioadvisor/analytics/ProjectionResult.java
+
+/**
+ * Distribution of final portfolio values from a Monte Carlo projection.
+ */
+public class ProjectionResult {
+    /** The percentiles reported in getPercentileValues(), in the same order. */
+    public static final double[] PERCENTILES = {5, 10, 25, 50, 75, 90, 95};
+
+    private final int paths;
+    private final double totalContributed;
+    private final double meanFinalValue;
+    private final double[] percentileValues;
+    private final double goalProbability;
+    private final long elapsedNanos;
+
+    public ProjectionResult(int paths, double totalContributed, double meanFinalValue, double[] percentileValues,
+                            double goalProbability, long elapsedNanos) {
+        this.paths = paths;
+        this.totalContributed = totalContributed;
+        this.meanFinalValue = meanFinalValue;
+        this.percentileValues = percentileValues;
+        this.goalProbability = goalProbability;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    // --- Getters ---
+    public int getPaths() { return paths; }
+    /** @return The initial amount plus all contributions, i.e. the final value at a 0% return. */
+    public double getTotalContributed() { return totalContributed; }
+    public double getMeanFinalValue() { return meanFinalValue; }
+    /** @return Final values at each of PERCENTILES. */
+    public double[] getPercentileValues() { return percentileValues.clone(); }
+    /** @return The fraction of paths ending at or above the goal, or NaN if the request had no goal. */
+    public double getGoalProbability() { return goalProbability; }
+    public long getElapsedNanos() { return elapsedNanos; }
+
+    /**
+     * @param percentile One of PERCENTILES, e.g. 50 for the median.
+     * @return The final value at that percentile.
+     */
+    public double getPercentileValue(double percentile) {
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            if (PERCENTILES[i] == percentile) {
+                return percentileValues[i];
+            }
+        }
+        throw new IllegalArgumentException("Percentile not reported: " + percentile + " (see PERCENTILES)");
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder percentiles = new StringBuilder();
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            percentiles.append(i == 0 ? "" : ", ").append("p").append((int) PERCENTILES[i]).append('=')
+                    .append(String.format("%.0f", percentileValues[i]));
+        }
+        return "ProjectionResult{" +
+                "paths=" + paths +
+                ", totalContributed=" + String.format("%.0f", totalContributed) +
+                ", mean=" + String.format("%.0f", meanFinalValue) +
+                ", " + percentiles +
+                ", goalProbability=" + (Double.isNaN(goalProbability) ? "n/a" : String.format("%.3f", goalProbability)) +
+                ", elapsedMs=" + elapsedNanos / 1_000_000 +
+                '}';
+    }
+}
@@ -0,0 +1,178 @@
+package com.faizan.portfolioadvisor.analytics;
+
+// src/main/java/com/faizan/portfolioadvisor/analytics/ReturnPanel.java
+
+import com.faizan.portfolioadvisor.exception.InvalidInputException;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Daily returns of K assets (asset classes or products) on a common calendar, as one row-major double[]
+ * (row t holds the K returns from day t - 1 to day t). Immutable, so any number of backtests can read it
+ * concurrently; the rows can also be fed straight into CovarianceEngine.addReturns(rows, count).
+ */
+public final class ReturnPanel {
+    private final String[] assetNames;
+    private final int[] epochDays;
+    private final int[] monthKeys; // year * 12 + month - 1 per row, for calendar rebalancing without LocalDate per day
+    private final double[] returns;
+
+    /**
+     * @param assetNames One name per column, e.g. "Equity", "Debt", "Alternative".
+     * @param epochDays The date of each row, strictly increasing.
+     * @param returns epochDays.length rows of assetNames.length simple returns (0.01 = +1%).
+     */
+    public ReturnPanel(String[] assetNames, int[] epochDays, double[] returns) {
+        int k = assetNames.length;
+        if (k == 0 || returns.length != (long) epochDays.length * k) {
+            throw new InvalidInputException("Expected " + epochDays.length + " rows of " + k + " returns, got " + returns.length + " values.");
+        }
+        for (int t = 1; t < epochDays.length; t++) {
+            if (epochDays[t] <= epochDays[t - 1]) {
+                throw new InvalidInputException("Return dates must be strictly increasing.");
+            }
+        }
+        for (double r : returns) {
+            if (!(r > -1.0) || Double.isInfinite(r)) {
+                throw new InvalidInputException("Returns must be finite and above -100%: " + r);
+            }
+        }
+        this.assetNames = assetNames.clone();
+        this.epochDays = epochDays.clone();
+        this.returns = returns.clone();
+        this.monthKeys = new int[epochDays.length];
+        for (int t = 0; t < epochDays.length; t++) {
+            LocalDate date = LocalDate.ofEpochDay(epochDays[t]);
+            monthKeys[t] = date.getYear() * 12 + date.getMonthValue() - 1;
+        }
+    }
+
+    /**
+     * Builds a panel from stored prices, one column per product, on the union of the products' dates between
+     * from and to. A product without a price on some date carries its last price forward (a 0 return). The
+     * panel starts at the first date on which every product has a price, so all columns are real data.
+     * @param store The price store.
+     * @param productIds The products; e.g. one index fund per asset class for an asset-class backtest.
+     * @param assetNames One name per product.
+     * @throws InvalidInputException If a product has no prices in the range or the products never overlap.
+     */
+    public static ReturnPanel fromPriceStore(PriceStore store, int[] productIds, String[] assetNames, LocalDate from, LocalDate to) {
+        int k = productIds.length;
+        if (k == 0 || assetNames.length != k) {
+            throw new InvalidInputException("One asset name is needed per product.");
+        }
+        PriceSeries[] series = new PriceSeries[k];
+        int start = Integer.MIN_VALUE;
+        int totalRows = 0;
+        for (int j = 0; j < k; j++) {
+            series[j] = store.read(productIds[j], (int) from.toEpochDay(), (int) to.toEpochDay());
+            if (series[j].isEmpty()) {
+                throw new InvalidInputException("No prices stored for product " + productIds[j] + " between " + from + " and " + to + ".");
+            }
+            start = Math.max(start, series[j].day(0));
+            totalRows += series[j].size();
+        }
+        // Union of the dates from the common start on.
+        int[] days = new int[totalRows];
+        int n = 0;
+        for (PriceSeries s : series) {
+            for (int i = 0; i < s.size(); i++) {
+                if (s.day(i) >= start) {
+                    days[n++] = s.day(i);
+                }
+            }
+        }
+        Arrays.sort(days, 0, n);
+        int distinct = 0;
+        for (int i = 0; i < n; i++) {
+            if (distinct == 0 || days[i] != days[distinct - 1]) {
+                days[distinct++] = days[i];
+            }
+        }
+        if (distinct < 2) {
+            throw new InvalidInputException("The products' price histories do not overlap between " + from + " and " + to + ".");
+        }
+        // The first common date is the base; returns start on the next one.
+        int rows = distinct - 1;
+        double[] returns = new double[rows * k];
+        for (int j = 0; j < k; j++) {
+            PriceSeries s = series[j];
+            int i = s.indexAtOrBefore(days[0]);
+            double previous = s.price(i);
+            for (int t = 1; t < distinct; t++) {
+                while (i + 1 < s.size() && s.day(i + 1) <= days[t]) {
+                    i++;
+                }
+                double current = s.price(i);
+                returns[(t - 1) * k + j] = current / previous - 1.0;
+                previous = current;
+            }
+        }
+        return new ReturnPanel(assetNames, Arrays.copyOfRange(days, 1, distinct), returns);
+    }
+
+    public int assetCount() {
+        return assetNames.length;
+    }
+
+    public int rowCount() {
+        return epochDays.length;
+    }
+
+    public int day(int row) {
+        return epochDays[row];
+    }
+
+    /** @return The return of asset k on row t. */
+    public double get(int t, int k) {
+        return returns[t * assetNames.length + k];
+    }
+
+    int monthKey(int row) {
+        return monthKeys[row];
+    }
+
+    // Shared with Backtester, which only reads it.
+    double[] rawReturns() {
+        return returns;
+    }
+
+    /**
+     * @return The first row on or after the epoch day, or rowCount() if none.
+     */
+    public int rowAtOrAfter(int epochDay) {
+        int i = Arrays.binarySearch(epochDays, epochDay);
+        return i >= 0 ? i : -i - 1;
+    }
+
+    /**
+     * @return Rows per year over the whole panel (about 252 for trading days, 365 for calendar days).
+     */
+    public double rowsPerYear() {
+        if (epochDays.length < 2) {
+            return 252.0;
+        }
+        return (epochDays.length - 1) * 365.25 / (epochDays[epochDays.length - 1] - epochDays[0]);
+    }
+
+    /**
+     * @return The row-major returns as a copy, e.g. for CovarianceEngine.addReturns(rows, rowCount()).
+     */
+    public double[] copyReturns() {
+        return returns.clone();
+    }
+
+    public String[] getAssetNames() {
+        return assetNames.clone();
+    }
+
+    @Override
+    public String toString() {
+        return "ReturnPanel{" +
+                "assets=" + Arrays.toString(assetNames) +
+                ", rows=" + epochDays.length +
+                (epochDays.length == 0 ? "" : ", from=" + LocalDate.ofEpochDay(epochDays[0]) + ", to=" + LocalDate.ofEpochDay(epochDays[epochDays.length - 1])) +
+                '}';
+    }
+}
@@ -0,0 +1,171 @@
+package com.faizan.portfolioadvisor.analytics;
+
+// src/main/java/com/faizan/portfolioadvisor/analytics/RollingWindow.java
+
+import java.util.Arrays;
+
+/**
+ * The last {@code capacity} return observations of n products, with running sums that make the window's
+ * covariance available in O(n^2) at any time instead of O(n^2 * capacity).
+ * <p>
+ * Observations are kept in a ring buffer laid out row by row (one row of n returns per observation), and
+ * {@code cross} holds the sum over the window of x[i] * x[j] for j &gt;= i (only the upper triangle is maintained).
+ * Adding an observation when the window is full adds the new row's products and subtracts the evicted row's,
+ * which drifts slowly in floating point, so every {@code capacity} updates the sums are rebuilt exactly from
+ * the buffer with a cache-blocked pass. Not thread-safe; CovarianceEngine serializes access.
+ */
+final class RollingWindow {
+    // Products per block in the rebuild; a 64 x 64 block of doubles (32 KB) fits in L1/L2 with its two rows.
+    private static final int BLOCK = 64;
+
+    private final int n;
+    private final int capacity;
+    private final double[] ring;
+    private final double[] sum;
+    private final double[] cross;
+    private int size;
+    private int next; // Ring row the next observation goes to.
+    private int updatesSinceRebuild;
+
+    RollingWindow(int n, int capacity) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("A covariance window needs at least 2 observations: " + capacity);
+        }
+        this.n = n;
+        this.capacity = capacity;
+        this.ring = new double[n * capacity];
+        this.sum = new double[n];
+        this.cross = new double[n * n];
+    }
+
+    void add(double[] returns, int offset) {
+        int row = next * n;
+        if (size == capacity) {
+            for (int i = 0; i < n; i++) {
+                double xi = returns[offset + i];
+                double oi = ring[row + i];
+                sum[i] += xi - oi;
+                int base = i * n;
+                for (int j = i; j < n; j++) {
+                    cross[base + j] += xi * returns[offset + j] - oi * ring[row + j];
+                }
+            }
+        } else {
+            for (int i = 0; i < n; i++) {
+                double xi = returns[offset + i];
+                sum[i] += xi;
+                int base = i * n;
+                for (int j = i; j < n; j++) {
+                    cross[base + j] += xi * returns[offset + j];
+                }
+            }
+            size++;
+        }
+        System.arraycopy(returns, offset, ring, row, n);
+        next = next + 1 == capacity ? 0 : next + 1;
+        if (++updatesSinceRebuild >= capacity) {
+            rebuild();
+        }
+    }
+
+    // Recomputes sum and cross from the buffer. Blocked by product pairs so each block of cross stays in cache
+    // while every observation streams through it once.
+    private void rebuild() {
+        Arrays.fill(sum, 0.0);
+        Arrays.fill(cross, 0.0);
+        for (int t = 0; t < size; t++) {
+            int row = t * n;
+            for (int i = 0; i < n; i++) {
+                sum[i] += ring[row + i];
+            }
+        }
+        for (int ib = 0; ib < n; ib += BLOCK) {
+            int iEnd = Math.min(ib + BLOCK, n);
+            for (int jb = ib; jb < n; jb += BLOCK) {
+                int jEnd = Math.min(jb + BLOCK, n);
+                for (int t = 0; t < size; t++) {
+                    int row = t * n;
+                    for (int i = ib; i < iEnd; i++) {
+                        double xi = ring[row + i];
+                        int base = i * n;
+                        for (int j = Math.max(i, jb); j < jEnd; j++) {
+                            cross[base + j] += xi * ring[row + j];
+                        }
+                    }
+                }
+            }
+        }
+        updatesSinceRebuild = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Writes the unbiased sample covariance (divisor size - 1) of the window into {@code out} (n * n, full matrix).
+     */
+    void covariance(double[] out) {
+        double inverseSize = 1.0 / size;
+        double inverseDof = 1.0 / (size - 1);
+        for (int i = 0; i < n; i++) {
+            int base = i * n;
+            for (int j = i; j < n; j++) {
+                double value = (cross[base + j] - sum[i] * sum[j] * inverseSize) * inverseDof;
+                out[base + j] = value;
+                out[j * n + i] = value;
+            }
+        }
+    }
+
+    /**
+     * The Ledoit-Wolf (2004) intensity for shrinking the covariance toward a scaled identity matrix, from the
+     * window's observations and its covariance (as written by covariance()). Uses
+     * sum_t ||x_t x_t' - S||^2 = sum_t ||x_t||^4 - T ||S||^2 for demeaned x_t and S with divisor T, which needs one
+     * O(n * T) pass over the buffer instead of T matrix differences.
+     * @return The weight of the identity target, in [0, 1].
+     */
+    double ledoitWolfIntensity(double[] covariance) {
+        double t = size;
+        double scale = (t - 1) / t; // covariance() divides by T - 1; the estimator is defined with T.
+        double[] mean = new double[n];
+        for (int i = 0; i < n; i++) {
+            mean[i] = sum[i] / t;
+        }
+        double trace = 0;
+        for (int i = 0; i < n; i++) {
+            trace += covariance[i * n + i] * scale;
+        }
+        double mu = trace / n;
+        double normS = 0; // ||S||^2
+        double dist = 0;  // ||S - mu I||^2
+        for (int i = 0; i < n; i++) {
+            int base = i * n;
+            for (int j = 0; j < n; j++) {
+                double s = covariance[base + j] * scale;
+                normS += s * s;
+                double d = i == j ? s - mu : s;
+                dist += d * d;
+            }
+        }
+        double fourth = 0;
+        for (int r = 0; r < size; r++) {
+            int row = r * n;
+            double norm2 = 0;
+            for (int i = 0; i < n; i++) {
+                double x = ring[row + i] - mean[i];
+                norm2 += x * x;
+            }
+            fourth += norm2 * norm2;
+        }
+        double bBar = Math.max(0.0, (fourth - t * normS) / (t * t));
+        if (dist <= 0) {
+            return 1.0; // S is already a multiple of the identity.
+        }
+        return Math.min(bBar, dist) / dist;
+    }
+}
@@ -0,0 +1,23 @@
+package com.faizan.portfolioadvisor.dao;
+
+// src/main/java/com/faizan/portfolioadvisor/dao/DaoChangeListener.java
+
+/**
+ * Callback fired by a DAO after a write has succeeded, so in-memory caches in the service layer
+ * can stay in step with the database. Implement only the events you care about.
+ * @param <T> The model type written by the DAO.
+ */
+public interface DaoChangeListener<T> {
+
+    /** Called after an object was inserted; its generated ID is already set. */
+    default void onAdded(T item) {
+    }
+
+    /** Called after an existing row was updated from this object. */
+    default void onUpdated(T item) {
+    }
+
+    /** Called after the row with this ID was deleted. */
+    default void onDeleted(int id) {
+    }
+}
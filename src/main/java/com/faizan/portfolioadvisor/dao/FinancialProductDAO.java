@@ -1,16 +1,30 @@
 // src/main/java/com/faizan/portfolioadvisor/dao/FinancialProductDAO.java
 package com.faizan.portfolioadvisor.dao;
 
+import com.faizan.portfolioadvisor.exception.DataAccessException;
 import com.faizan.portfolioadvisor.model.FinancialProduct;
 import com.faizan.portfolioadvisor.util.DatabaseConnectionManager;
 
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
 import java.math.BigDecimal; // Import BigDecimal
 
 public class FinancialProductDAO {
+    private static final String INSERT_PRODUCT_SQL = "INSERT INTO FinancialProducts (name, type, description, risk_level, expected_return_rate, minimum_investment, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private final List<DaoChangeListener<FinancialProduct>> changeListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Registers a listener that is notified after every successful insert, update or delete made through this DAO.
+     * @param listener The listener to add.
+     */
+    public void addChangeListener(DaoChangeListener<FinancialProduct> listener) {
+        changeListeners.add(listener);
+    }
 
     /**
      * Adds a new financial product to the database.
@@ -18,17 +32,10 @@ public class FinancialProductDAO {
      * @param product The FinancialProduct object to add.
      */
     public void addFinancialProduct(FinancialProduct product) {
-        String sql = "INSERT INTO FinancialProducts (name, type, description, risk_level, expected_return_rate, minimum_investment, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
         try (Connection conn = DatabaseConnectionManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+             PreparedStatement pstmt = conn.prepareStatement(INSERT_PRODUCT_SQL, Statement.RETURN_GENERATED_KEYS)) {
 
-            pstmt.setString(1, product.getName());
-            pstmt.setString(2, product.getType());
-            pstmt.setString(3, product.getDescription());
-            pstmt.setString(4, product.getRiskLevel());
-            pstmt.setBigDecimal(5, product.getExpectedReturnRate()); // Use setBigDecimal
-            pstmt.setBigDecimal(6, product.getMinimumInvestment()); // Use setBigDecimal
-            pstmt.setTimestamp(7, Timestamp.valueOf(product.getCreatedAt()));
+            bindInsert(pstmt, product);
 
             int affectedRows = pstmt.executeUpdate();
 
@@ -40,12 +47,55 @@ public class FinancialProductDAO {
                 }
             }
             System.out.println("Financial Product added successfully: " + product.getName() + " (ID: " + product.getProductId() + ")");
+            changeListeners.forEach(l -> l.onAdded(product));
         } catch (SQLException e) {
             System.err.println("Error adding financial product: " + e.getMessage());
             e.printStackTrace();
         }
     }
 
+    /**
+     * Adds many financial products in JDBC batches of the default size (db.batch.size), inside one transaction.
+     * Each product object's ID will be updated with the generated ID from the DB.
+     * @param products The FinancialProduct objects to add.
+     * @throws DataAccessException If the insert fails; no products are added in that case.
+     */
+    public void addAllFinancialProducts(List<FinancialProduct> products) {
+        addAllFinancialProducts(products, JdbcHelper.DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Adds many financial products in JDBC batches of the given size, inside one transaction.
+     * Each product object's ID will be updated with the generated ID from the DB.
+     * @param products The FinancialProduct objects to add.
+     * @param batchSize The number of rows sent per executeBatch() call.
+     * @throws DataAccessException If the insert fails; no products are added in that case.
+     */
+    public void addAllFinancialProducts(List<FinancialProduct> products, int batchSize) {
+        try {
+            int added = JdbcHelper.insertInBatches(INSERT_PRODUCT_SQL, products, batchSize,
+                    FinancialProductDAO::bindInsert, FinancialProduct::setProductId);
+            System.out.println("Financial Products added successfully in batch: " + added);
+            for (FinancialProduct product : products) {
+                changeListeners.forEach(l -> l.onAdded(product));
+            }
+        } catch (SQLException e) {
+            System.err.println("Error adding financial products in batch: " + e.getMessage());
+            e.printStackTrace();
+            throw new DataAccessException("Failed to add financial products in batch.", e);
+        }
+    }
+
+    private static void bindInsert(PreparedStatement pstmt, FinancialProduct product) throws SQLException {
+        pstmt.setString(1, product.getName());
+        pstmt.setString(2, product.getType());
+        pstmt.setString(3, product.getDescription());
+        pstmt.setString(4, product.getRiskLevel());
+        pstmt.setBigDecimal(5, product.getExpectedReturnRate()); // Use setBigDecimal
+        pstmt.setBigDecimal(6, product.getMinimumInvestment()); // Use setBigDecimal
+        pstmt.setTimestamp(7, Timestamp.valueOf(product.getCreatedAt()));
+    }
+
     /**
      * Retrieves a financial product by its ID from the database.
      * @param productId The ID of the product to retrieve.
@@ -80,6 +130,24 @@ public class FinancialProductDAO {
         return product;
     }
 
+    /**
+     * Retrieves many financial products by ID using chunked IN (...) queries instead of one query per ID.
+     * @param productIds The IDs to look up; duplicates are ignored.
+     * @return The products found, keyed by ID, plus the IDs that do not exist.
+     * @throws DataAccessException If a database access error occurs.
+     */
+    public IdLookupResult<FinancialProduct> getFinancialProductsByIds(Collection<Integer> productIds) {
+        String sql = "SELECT product_id, name, type, description, risk_level, expected_return_rate, minimum_investment, created_at FROM FinancialProducts WHERE product_id IN (";
+        try {
+            return JdbcHelper.selectByIds(sql, productIds, JdbcHelper.MAX_IN_LIST_SIZE,
+                    FinancialProductDAO::mapFinancialProduct, FinancialProduct::getProductId);
+        } catch (SQLException e) {
+            System.err.println("Error retrieving financial products by IDs: " + e.getMessage());
+            e.printStackTrace();
+            throw new DataAccessException("Failed to retrieve financial products by IDs.", e);
+        }
+    }
+
     /**
      * Retrieves all financial products from the database.
      * @return A List of all FinancialProduct objects.
@@ -110,6 +178,132 @@ public class FinancialProductDAO {
         return products;
     }
 
+    /**
+     * Streams all financial products from the database without loading the whole table into memory.
+     * Rows are fetched from a cursor in chunks of db.stream.fetchSize as the stream is consumed.
+     * The stream holds a pooled connection until it is closed, so always use try-with-resources.
+     * @return A Stream of FinancialProduct objects ordered by product ID.
+     * @throws DataAccessException If the query could not be started or a row could not be read.
+     */
+    public Stream<FinancialProduct> streamAllFinancialProducts() {
+        String sql = "SELECT product_id, name, type, description, risk_level, expected_return_rate, minimum_investment, created_at FROM FinancialProducts ORDER BY product_id";
+        try {
+            return JdbcHelper.stream(sql, JdbcHelper.STREAM_FETCH_SIZE, FinancialProductDAO::mapFinancialProduct);
+        } catch (SQLException e) {
+            System.err.println("Error streaming financial products: " + e.getMessage());
+            e.printStackTrace();
+            throw new DataAccessException("Failed to stream financial products.", e);
+        }
+    }
+
+    /**
+     * Retrieves one page of financial products using keyset pagination (WHERE product_id > ? ORDER BY product_id LIMIT ?).
+     * Pass 0 for the first page, then the ID of the last product on the previous page.
+     * @param afterProductId Only products with a larger ID are returned.
+     * @param limit The maximum number of products to return.
+     * @return A List of up to limit FinancialProduct objects ordered by product ID; empty when there are no more products.
+     * @throws DataAccessException If a database access error occurs, so a failure is never mistaken for the end of the table.
+     */
+    public List<FinancialProduct> getFinancialProductsPage(int afterProductId, int limit) {
+        List<FinancialProduct> products = new ArrayList<>();
+        String sql = "SELECT product_id, name, type, description, risk_level, expected_return_rate, minimum_investment, created_at FROM FinancialProducts WHERE product_id > ? ORDER BY product_id LIMIT ?";
+        try (Connection conn = DatabaseConnectionManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, afterProductId);
+            pstmt.setInt(2, limit);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    products.add(mapFinancialProduct(rs));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error retrieving financial products page after ID " + afterProductId + ": " + e.getMessage());
+            e.printStackTrace();
+            throw new DataAccessException("Failed to retrieve financial products page after ID " + afterProductId + ".", e);
+        }
+        return products;
+    }
+
+    /**
+     * Searches the catalog with a parameterized WHERE clause, so the filtering happens in MySQL
+     * (backed by the composite indexes in schema-indexes.sql) instead of in Java.
+     * Every criterion is optional: pass null to leave it out of the query.
+     * @param riskLevel Exact risk level, e.g. 'Low', 'Medium', 'High' (case-insensitive under the default collation).
+     * @param type Exact product type, e.g. 'Stock', 'Bond', 'Mutual Fund', 'ETF'.
+     * @param minExpectedReturn Lowest acceptable expected_return_rate (inclusive).
+     * @param maxExpectedReturn Highest acceptable expected_return_rate (inclusive).
+     * @param maxMinimumInvestment Only products whose minimum_investment is at most this amount.
+     * @return A List of matching FinancialProduct objects ordered by product ID; empty only when nothing matches.
+     * @throws DataAccessException If a database access error occurs, so a failure is never mistaken for "no matching products".
+     */
+    public List<FinancialProduct> searchFinancialProducts(String riskLevel, String type, BigDecimal minExpectedReturn,
+                                                          BigDecimal maxExpectedReturn, BigDecimal maxMinimumInvestment) {
+        List<FinancialProduct> products = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT product_id, name, type, description, risk_level, expected_return_rate, minimum_investment, created_at FROM FinancialProducts WHERE 1 = 1");
+        List<Object> params = new ArrayList<>();
+        if (riskLevel != null) {
+            sql.append(" AND risk_level = ?");
+            params.add(riskLevel);
+        }
+        if (type != null) {
+            sql.append(" AND type = ?");
+            params.add(type);
+        }
+        if (minExpectedReturn != null) {
+            sql.append(" AND expected_return_rate >= ?");
+            params.add(minExpectedReturn);
+        }
+        if (maxExpectedReturn != null) {
+            sql.append(" AND expected_return_rate <= ?");
+            params.add(maxExpectedReturn);
+        }
+        if (maxMinimumInvestment != null) {
+            sql.append(" AND minimum_investment <= ?");
+            params.add(maxMinimumInvestment);
+        }
+        sql.append(" ORDER BY product_id");
+
+        // At most 32 distinct SQL strings can be produced here, so they stay in the per-connection statement cache.
+        try (Connection conn = DatabaseConnectionManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+
+            for (int i = 0; i < params.size(); i++) {
+                Object param = params.get(i);
+                if (param instanceof BigDecimal) {
+                    pstmt.setBigDecimal(i + 1, (BigDecimal) param);
+                } else {
+                    pstmt.setString(i + 1, (String) param);
+                }
+            }
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    products.add(mapFinancialProduct(rs));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error searching financial products: " + e.getMessage());
+            e.printStackTrace();
+            throw new DataAccessException("Failed to search financial products.", e);
+        }
+        return products;
+    }
+
+    private static FinancialProduct mapFinancialProduct(ResultSet rs) throws SQLException {
+        return new FinancialProduct(
+                rs.getInt("product_id"),
+                rs.getString("name"),
+                rs.getString("type"),
+                rs.getString("description"),
+                rs.getString("risk_level"),
+                rs.getBigDecimal("expected_return_rate"),
+                rs.getBigDecimal("minimum_investment"),
+                rs.getTimestamp("created_at").toLocalDateTime()
+        );
+    }
+
     /**
      * Updates an existing financial product in the database.
      * @param product The FinancialProduct object with updated information. Must have a valid productId.
@@ -131,6 +325,7 @@ public class FinancialProductDAO {
             int affectedRows = pstmt.executeUpdate();
             if (affectedRows > 0) {
                 System.out.println("Financial Product updated successfully: " + product.getName() + " (ID: " + product.getProductId() + ")");
+                changeListeners.forEach(l -> l.onUpdated(product));
                 return true;
             } else {
                 System.out.println("No financial product found with ID: " + product.getProductId() + " for update.");
@@ -158,6 +353,7 @@ public class FinancialProductDAO {
             int affectedRows = pstmt.executeUpdate();
             if (affectedRows > 0) {
                 System.out.println("Financial Product deleted successfully with ID: " + productId);
+                changeListeners.forEach(l -> l.onDeleted(productId));
                 return true;
             } else {
                 System.out.println("No financial product found with ID: " + productId + " for deletion.");
@@ -0,0 +1,36 @@
+package com.faizan.portfolioadvisor.dao;
+
+// src/main/java/com/faizan/portfolioadvisor/dao/IdLookupResult.java
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Result of a multi-get by ID: the rows that were found, keyed by ID, and the requested IDs that do not exist.
+ * @param <T> The model type (User, FinancialProduct, ...).
+ */
+public class IdLookupResult<T> {
+    private final Map<Integer, T> found;
+    private final Set<Integer> missingIds;
+
+    public IdLookupResult(Map<Integer, T> found, Set<Integer> missingIds) {
+        this.found = Collections.unmodifiableMap(found);
+        this.missingIds = Collections.unmodifiableSet(missingIds);
+    }
+
+    // --- Getters ---
+    public Map<Integer, T> getFound() { return found; }
+    public Set<Integer> getMissingIds() { return missingIds; }
+
+    public T get(int id) { return found.get(id); }
+    public boolean isComplete() { return missingIds.isEmpty(); }
+
+    @Override
+    public String toString() {
+        return "IdLookupResult{" +
+                "found=" + found.size() +
+                ", missingIds=" + missingIds +
+                '}';
+    }
+}
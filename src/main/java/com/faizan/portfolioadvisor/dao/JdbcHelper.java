@@ -0,0 +1,238 @@
+package com.faizan.portfolioadvisor.dao;
+
+// src/main/java/com/faizan/portfolioadvisor/dao/JdbcHelper.java
+
+import com.faizan.portfolioadvisor.exception.DataAccessException;
+import com.faizan.portfolioadvisor.util.DatabaseConnectionManager;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Shared JDBC plumbing for the DAOs (batching, streaming, etc.) so each DAO only supplies its SQL and column mappings.
+ */
+final class JdbcHelper {
+    // Rows per executeBatch() call when the caller does not specify a chunk size.
+    static final int DEFAULT_BATCH_SIZE = DatabaseConnectionManager.getIntProperty("db.batch.size", 500);
+
+    // Rows fetched per round-trip by the streaming queries (needs useCursorFetch=true on MySQL).
+    static final int STREAM_FETCH_SIZE = DatabaseConnectionManager.getIntProperty("db.stream.fetchSize", 1000);
+
+    // Largest number of IDs bound into one IN (...) list by the multi-get lookups.
+    static final int MAX_IN_LIST_SIZE = DatabaseConnectionManager.getIntProperty("db.inList.maxSize", 500);
+
+    private JdbcHelper() {
+    }
+
+    /**
+     * Maps the current row of a ResultSet to an object.
+     */
+    @FunctionalInterface
+    interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    /**
+     * Binds the parameters of one row onto a PreparedStatement.
+     */
+    @FunctionalInterface
+    interface StatementBinder<T> {
+        void bind(PreparedStatement pstmt, T item) throws SQLException;
+    }
+
+    /**
+     * Inserts all items in chunks of batchSize using addBatch/executeBatch, inside a single transaction.
+     * Generated keys are written back onto each item in insertion order. If anything fails the whole
+     * transaction is rolled back and the keys that were already assigned are reset to 0.
+     *
+     * @param sql The single-row INSERT statement.
+     * @param items The rows to insert.
+     * @param batchSize The number of rows per executeBatch() call.
+     * @param binder Binds one item onto the statement.
+     * @param keySetter Writes the generated key back onto an item.
+     * @return The number of rows inserted.
+     * @throws SQLException If a database access error occurs; the transaction has been rolled back.
+     */
+    static <T> int insertInBatches(String sql, List<T> items, int batchSize,
+                                   StatementBinder<T> binder, ObjIntConsumer<T> keySetter) throws SQLException {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        if (items.isEmpty()) {
+            return 0;
+        }
+        int keysAssigned = 0;
+        try (Connection conn = DatabaseConnectionManager.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                for (int start = 0; start < items.size(); start += batchSize) {
+                    List<T> chunk = items.subList(start, Math.min(start + batchSize, items.size()));
+                    for (T item : chunk) {
+                        binder.bind(pstmt, item);
+                        pstmt.addBatch();
+                    }
+                    // With rewriteBatchedStatements=true the driver sends each chunk as one multi-row INSERT.
+                    pstmt.executeBatch();
+                    try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                        for (T item : chunk) {
+                            if (!generatedKeys.next()) {
+                                throw new SQLException("Driver returned fewer generated keys than inserted rows.");
+                            }
+                            keySetter.accept(item, generatedKeys.getInt(1));
+                            keysAssigned++;
+                        }
+                    }
+                }
+                conn.commit();
+                return items.size();
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                // Nothing was persisted, so the ids written back so far no longer refer to real rows.
+                for (int i = 0; i < keysAssigned; i++) {
+                    keySetter.accept(items.get(i), 0);
+                }
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Runs a query and exposes its rows as a lazily populated Stream backed by a forward-only, read-only
+     * ResultSet, so only fetchSize rows are held in memory at a time. The connection stays borrowed until
+     * the stream is closed, so callers must use try-with-resources.
+     *
+     * @param sql The SELECT statement (without parameters).
+     * @param fetchSize The JDBC fetch size hint.
+     * @param mapper Maps one row to an object.
+     * @return A Stream that must be closed by the caller.
+     * @throws SQLException If the query could not be started.
+     */
+    static <T> Stream<T> stream(String sql, int fetchSize, RowMapper<T> mapper) throws SQLException {
+        return stream(sql, fetchSize, null, (pstmt, params) -> { }, mapper);
+    }
+
+    /**
+     * Like stream(sql, fetchSize, mapper), for a SELECT with parameters.
+     *
+     * @param sql The SELECT statement.
+     * @param fetchSize The JDBC fetch size hint.
+     * @param params The query parameters, handed to the binder.
+     * @param binder Binds the parameters onto the statement.
+     * @param mapper Maps one row to an object.
+     * @return A Stream that must be closed by the caller.
+     * @throws SQLException If the query could not be started.
+     */
+    static <T, P> Stream<T> stream(String sql, int fetchSize, P params, StatementBinder<P> binder,
+                                   RowMapper<T> mapper) throws SQLException {
+        Connection conn = DatabaseConnectionManager.getConnection();
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+        try {
+            pstmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            pstmt.setFetchSize(fetchSize);
+            binder.bind(pstmt, params);
+            rs = pstmt.executeQuery();
+        } catch (SQLException | RuntimeException e) {
+            closeAll(rs, pstmt, conn);
+            throw e;
+        }
+        ResultSet resultSet = rs;
+        PreparedStatement statement = pstmt;
+        Spliterator<T> rows = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                try {
+                    if (!resultSet.next()) {
+                        return false;
+                    }
+                    action.accept(mapper.map(resultSet));
+                    return true;
+                } catch (SQLException e) {
+                    throw new DataAccessException("Error reading streamed rows: " + e.getMessage(), e);
+                }
+            }
+        };
+        return StreamSupport.stream(rows, false).onClose(() -> closeAll(resultSet, statement, conn));
+    }
+
+    /**
+     * Loads the rows for many IDs with as few round-trips as possible: the distinct IDs are split into
+     * IN (...) lists of at most maxChunkSize. Each list is padded (by repeating its last ID) to the next
+     * power of two, so only a handful of distinct SQL strings exist and they stay in the statement cache.
+     *
+     * @param selectPrefix The SELECT up to and including "WHERE id_column IN (".
+     * @param ids The IDs to look up; duplicates are ignored.
+     * @param maxChunkSize The maximum number of placeholders per query.
+     * @param mapper Maps one row to an object.
+     * @param idOf Extracts the ID from a mapped object.
+     * @return The rows found, keyed by ID, plus the IDs that were not found.
+     * @throws SQLException If a database access error occurs.
+     */
+    static <T> IdLookupResult<T> selectByIds(String selectPrefix, Collection<Integer> ids, int maxChunkSize,
+                                             RowMapper<T> mapper, ToIntFunction<T> idOf) throws SQLException {
+        List<Integer> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        Map<Integer, T> found = new LinkedHashMap<>();
+        if (!distinctIds.isEmpty()) {
+            try (Connection conn = DatabaseConnectionManager.getConnection()) {
+                for (int start = 0; start < distinctIds.size(); start += maxChunkSize) {
+                    List<Integer> chunk = distinctIds.subList(start, Math.min(start + maxChunkSize, distinctIds.size()));
+                    int placeholders = Math.min(Integer.highestOneBit(chunk.size() - 1) << 1, maxChunkSize);
+                    placeholders = Math.max(placeholders, chunk.size());
+                    StringBuilder sql = new StringBuilder(selectPrefix);
+                    for (int i = 0; i < placeholders; i++) {
+                        sql.append(i == 0 ? "?" : ", ?");
+                    }
+                    sql.append(')');
+                    try (PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+                        for (int i = 0; i < placeholders; i++) {
+                            pstmt.setInt(i + 1, chunk.get(Math.min(i, chunk.size() - 1)));
+                        }
+                        try (ResultSet rs = pstmt.executeQuery()) {
+                            while (rs.next()) {
+                                T item = mapper.map(rs);
+                                found.put(idOf.applyAsInt(item), item);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        Set<Integer> missing = new LinkedHashSet<>();
+        for (Integer id : distinctIds) {
+            if (!found.containsKey(id)) {
+                missing.add(id);
+            }
+        }
+        return new IdLookupResult<>(found, missing);
+    }
+
+    private static void closeAll(AutoCloseable... resources) {
+        for (AutoCloseable resource : resources) {
+            if (resource == null) {
+                continue;
+            }
+            try {
+                resource.close();
+            } catch (Exception e) {
+                System.err.println("Error closing JDBC resource: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -1,16 +1,19 @@
 // src/main/java/com/faizan/portfolioadvisor/dao/PortfolioAllocationDAO.java
 package com.faizan.portfolioadvisor.dao;
 
+import com.faizan.portfolioadvisor.exception.DataAccessException;
 import com.faizan.portfolioadvisor.model.PortfolioAllocation;
 import com.faizan.portfolioadvisor.util.DatabaseConnectionManager;
 
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.math.BigDecimal; // Import BigDecimal
 
 public class PortfolioAllocationDAO {
+    private static final String INSERT_ALLOCATION_SQL = "INSERT INTO PortfolioAllocations (user_id, recommendation_date, equity_pct, debt_pct, alternative_pct, other_details) VALUES (?, ?, ?, ?, ?, ?)";
 
     /**
      * Adds a new portfolio allocation to the database.
@@ -18,16 +21,10 @@ public class PortfolioAllocationDAO {
      * @param allocation The PortfolioAllocation object to add.
      */
     public void addPortfolioAllocation(PortfolioAllocation allocation) {
-        String sql = "INSERT INTO PortfolioAllocations (user_id, recommendation_date, equity_pct, debt_pct, alternative_pct, other_details) VALUES (?, ?, ?, ?, ?, ?)";
         try (Connection conn = DatabaseConnectionManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+             PreparedStatement pstmt = conn.prepareStatement(INSERT_ALLOCATION_SQL, Statement.RETURN_GENERATED_KEYS)) {
 
-            pstmt.setInt(1, allocation.getUserId());
-            pstmt.setTimestamp(2, Timestamp.valueOf(allocation.getRecommendationDate()));
-            pstmt.setBigDecimal(3, allocation.getEquityPct());
-            pstmt.setBigDecimal(4, allocation.getDebtPct());
-            pstmt.setBigDecimal(5, allocation.getAlternativePct());
-            pstmt.setString(6, allocation.getOtherDetails());
+            bindInsert(pstmt, allocation);
 
             int affectedRows = pstmt.executeUpdate();
 
@@ -45,6 +42,44 @@ public class PortfolioAllocationDAO {
         }
     }
 
+    /**
+     * Adds many portfolio allocations in JDBC batches of the default size (db.batch.size), inside one transaction.
+     * Each allocation object's ID will be updated with the generated ID from the DB.
+     * @param allocations The PortfolioAllocation objects to add.
+     * @throws DataAccessException If the insert fails; no allocations are added in that case.
+     */
+    public void addAllPortfolioAllocations(List<PortfolioAllocation> allocations) {
+        addAllPortfolioAllocations(allocations, JdbcHelper.DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Adds many portfolio allocations in JDBC batches of the given size, inside one transaction.
+     * Each allocation object's ID will be updated with the generated ID from the DB.
+     * @param allocations The PortfolioAllocation objects to add.
+     * @param batchSize The number of rows sent per executeBatch() call.
+     * @throws DataAccessException If the insert fails; no allocations are added in that case.
+     */
+    public void addAllPortfolioAllocations(List<PortfolioAllocation> allocations, int batchSize) {
+        try {
+            int added = JdbcHelper.insertInBatches(INSERT_ALLOCATION_SQL, allocations, batchSize,
+                    PortfolioAllocationDAO::bindInsert, PortfolioAllocation::setAllocationId);
+            System.out.println("Portfolio Allocations added successfully in batch: " + added);
+        } catch (SQLException e) {
+            System.err.println("Error adding portfolio allocations in batch: " + e.getMessage());
+            e.printStackTrace();
+            throw new DataAccessException("Failed to add portfolio allocations in batch.", e);
+        }
+    }
+
+    private static void bindInsert(PreparedStatement pstmt, PortfolioAllocation allocation) throws SQLException {
+        pstmt.setInt(1, allocation.getUserId());
+        pstmt.setTimestamp(2, Timestamp.valueOf(allocation.getRecommendationDate()));
+        pstmt.setBigDecimal(3, allocation.getEquityPct());
+        pstmt.setBigDecimal(4, allocation.getDebtPct());
+        pstmt.setBigDecimal(5, allocation.getAlternativePct());
+        pstmt.setString(6, allocation.getOtherDetails());
+    }
+
     /**
      * Retrieves all portfolio allocations for a specific user.
      * @param userId The ID of the user.
@@ -110,6 +145,36 @@ public class PortfolioAllocationDAO {
         return allocation;
     }
 
+    /**
+     * Retrieves many portfolio allocations by ID using chunked IN (...) queries instead of one query per ID.
+     * @param allocationIds The IDs to look up; duplicates are ignored.
+     * @return The allocations found, keyed by ID, plus the IDs that do not exist.
+     * @throws DataAccessException If a database access error occurs.
+     */
+    public IdLookupResult<PortfolioAllocation> getPortfolioAllocationsByIds(Collection<Integer> allocationIds) {
+        String sql = "SELECT allocation_id, user_id, recommendation_date, equity_pct, debt_pct, alternative_pct, other_details FROM PortfolioAllocations WHERE allocation_id IN (";
+        try {
+            return JdbcHelper.selectByIds(sql, allocationIds, JdbcHelper.MAX_IN_LIST_SIZE,
+                    PortfolioAllocationDAO::mapPortfolioAllocation, PortfolioAllocation::getAllocationId);
+        } catch (SQLException e) {
+            System.err.println("Error retrieving portfolio allocations by IDs: " + e.getMessage());
+            e.printStackTrace();
+            throw new DataAccessException("Failed to retrieve portfolio allocations by IDs.", e);
+        }
+    }
+
+    private static PortfolioAllocation mapPortfolioAllocation(ResultSet rs) throws SQLException {
+        return new PortfolioAllocation(
+                rs.getInt("allocation_id"),
+                rs.getInt("user_id"),
+                rs.getTimestamp("recommendation_date").toLocalDateTime(),
+                rs.getBigDecimal("equity_pct"),
+                rs.getBigDecimal("debt_pct"),
+                rs.getBigDecimal("alternative_pct"),
+                rs.getString("other_details")
+        );
+    }
+
     /**
      * Updates an existing portfolio allocation in the database.
      * @param allocation The PortfolioAllocation object with updated information. Must have a valid allocationId.
@@ -1,32 +1,44 @@
 // src/main/java/com/faizan/portfolioadvisor/dao/UserDAO.java
 package com.faizan.portfolioadvisor.dao;
 
+import com.faizan.portfolioadvisor.exception.DataAccessException;
+import com.faizan.portfolioadvisor.exception.InvalidInputException;
 import com.faizan.portfolioadvisor.model.User;
 import com.faizan.portfolioadvisor.util.DatabaseConnectionManager;
 
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
 
 public class UserDAO {
+    private static final String INSERT_USER_SQL = "INSERT INTO Users (name, email, password_hash, phone_number, address, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+    // MySQL's ER_DUP_ENTRY; on Users the only unique key besides the ID is uq_users_email (schema-indexes.sql).
+    private static final int DUPLICATE_KEY_ERROR = 1062;
+    private final List<DaoChangeListener<User>> changeListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Registers a listener that is notified after every successful insert, update or delete made through this DAO.
+     * @param listener The listener to add.
+     */
+    public void addChangeListener(DaoChangeListener<User> listener) {
+        changeListeners.add(listener);
+    }
 
     /**
      * Adds a new user to the database.
      * The user object's ID will be updated with the generated ID from the DB.
      * @param user The User object to add.
+     * @throws InvalidInputException If a user with this email already exists (the unique index on Users.email).
      */
     public void addUser(User user) {
-        String sql = "INSERT INTO Users (name, email, password_hash, phone_number, address, created_at) VALUES (?, ?, ?, ?, ?, ?)";
         try (Connection conn = DatabaseConnectionManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+             PreparedStatement pstmt = conn.prepareStatement(INSERT_USER_SQL, Statement.RETURN_GENERATED_KEYS)) {
 
-            pstmt.setString(1, user.getName());
-            pstmt.setString(2, user.getEmail());
-            pstmt.setString(3, user.getPasswordHash());
-            pstmt.setString(4, user.getPhoneNumber());
-            pstmt.setString(5, user.getAddress());
-            pstmt.setTimestamp(6, Timestamp.valueOf(user.getCreatedAt())); // Convert LocalDateTime to Timestamp
+            bindInsert(pstmt, user);
 
             int affectedRows = pstmt.executeUpdate();
 
@@ -38,13 +50,57 @@ public class UserDAO {
                 }
             }
             System.out.println("User added successfully: " + user.getEmail() + " with ID: " + user.getUserId());
+            changeListeners.forEach(l -> l.onAdded(user));
         } catch (SQLException e) {
+            if (e.getErrorCode() == DUPLICATE_KEY_ERROR) {
+                throw new InvalidInputException("User with this email already exists.");
+            }
             System.err.println("Error adding user: " + e.getMessage());
             e.printStackTrace();
             // In Phase 2, we'll throw a custom DataAccessException here.
         }
     }
 
+    /**
+     * Adds many users in JDBC batches of the default size (db.batch.size), inside one transaction.
+     * Each user object's ID will be updated with the generated ID from the DB.
+     * @param users The User objects to add.
+     * @throws DataAccessException If the insert fails; no users are added in that case.
+     */
+    public void addAllUsers(List<User> users) {
+        addAllUsers(users, JdbcHelper.DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Adds many users in JDBC batches of the given size, inside one transaction.
+     * Each user object's ID will be updated with the generated ID from the DB.
+     * @param users The User objects to add.
+     * @param batchSize The number of rows sent per executeBatch() call.
+     * @throws DataAccessException If the insert fails; no users are added in that case.
+     */
+    public void addAllUsers(List<User> users, int batchSize) {
+        try {
+            int added = JdbcHelper.insertInBatches(INSERT_USER_SQL, users, batchSize, UserDAO::bindInsert, User::setUserId);
+            System.out.println("Users added successfully in batch: " + added);
+            for (User user : users) {
+                changeListeners.forEach(l -> l.onAdded(user));
+            }
+        } catch (SQLException e) {
+            System.err.println("Error adding users in batch: " + e.getMessage());
+            e.printStackTrace();
+            throw new DataAccessException("Failed to add users in batch.", e);
+        }
+    }
+
+    private static void bindInsert(PreparedStatement pstmt, User user) throws SQLException {
+        pstmt.setString(1, user.getName());
+        pstmt.setString(2, user.getEmail());
+        pstmt.setString(3, user.getPasswordHash());
+        pstmt.setString(4, user.getPhoneNumber());
+        pstmt.setString(5, user.getAddress());
+        pstmt.setTimestamp(6, Timestamp.valueOf(user.getCreatedAt())); // Convert LocalDateTime to Timestamp
+    }
+
     /**
      * Retrieves a user by their ID from the database.
      * @param userId The ID of the user to retrieve.
@@ -79,6 +135,23 @@ public class UserDAO {
         return user;
     }
 
+    /**
+     * Retrieves many users by ID using chunked IN (...) queries instead of one query per ID.
+     * @param userIds The IDs to look up; duplicates are ignored.
+     * @return The users found, keyed by ID, plus the IDs that do not exist.
+     * @throws DataAccessException If a database access error occurs.
+     */
+    public IdLookupResult<User> getUsersByIds(Collection<Integer> userIds) {
+        String sql = "SELECT user_id, name, email, password_hash, phone_number, address, created_at FROM Users WHERE user_id IN (";
+        try {
+            return JdbcHelper.selectByIds(sql, userIds, JdbcHelper.MAX_IN_LIST_SIZE, UserDAO::mapUser, User::getUserId);
+        } catch (SQLException e) {
+            System.err.println("Error retrieving users by IDs: " + e.getMessage());
+            e.printStackTrace();
+            throw new DataAccessException("Failed to retrieve users by IDs.", e);
+        }
+    }
+
     /**
      * Retrieves a user by their email from the database.
      * @param email The email of the user to retrieve.
@@ -141,6 +214,68 @@ public class UserDAO {
         return users;
     }
 
+    /**
+     * Streams all users from the database without loading the whole table into memory.
+     * Rows are fetched from a cursor in chunks of db.stream.fetchSize as the stream is consumed.
+     * The stream holds a pooled connection until it is closed, so always use try-with-resources:
+     * <pre>try (Stream&lt;User&gt; users = userDAO.streamAllUsers()) { ... }</pre>
+     * @return A Stream of User objects ordered by user ID.
+     * @throws DataAccessException If the query could not be started or a row could not be read.
+     */
+    public Stream<User> streamAllUsers() {
+        String sql = "SELECT user_id, name, email, password_hash, phone_number, address, created_at FROM Users ORDER BY user_id";
+        try {
+            return JdbcHelper.stream(sql, JdbcHelper.STREAM_FETCH_SIZE, UserDAO::mapUser);
+        } catch (SQLException e) {
+            System.err.println("Error streaming users: " + e.getMessage());
+            e.printStackTrace();
+            throw new DataAccessException("Failed to stream users.", e);
+        }
+    }
+
+    /**
+     * Retrieves one page of users using keyset pagination (WHERE user_id > ? ORDER BY user_id LIMIT ?).
+     * Pass 0 for the first page, then the ID of the last user on the previous page.
+     * Unlike OFFSET paging, each page costs the same no matter how deep into the table it is.
+     * @param afterUserId Only users with a larger ID are returned.
+     * @param limit The maximum number of users to return.
+     * @return A List of up to limit User objects ordered by user ID; empty when there are no more users.
+     * @throws DataAccessException If a database access error occurs, so a failure is never mistaken for the end of the table.
+     */
+    public List<User> getUsersPage(int afterUserId, int limit) {
+        List<User> users = new ArrayList<>();
+        String sql = "SELECT user_id, name, email, password_hash, phone_number, address, created_at FROM Users WHERE user_id > ? ORDER BY user_id LIMIT ?";
+        try (Connection conn = DatabaseConnectionManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, afterUserId);
+            pstmt.setInt(2, limit);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    users.add(mapUser(rs));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error retrieving users page after ID " + afterUserId + ": " + e.getMessage());
+            e.printStackTrace();
+            throw new DataAccessException("Failed to retrieve users page after ID " + afterUserId + ".", e);
+        }
+        return users;
+    }
+
+    private static User mapUser(ResultSet rs) throws SQLException {
+        return new User(
+                rs.getInt("user_id"),
+                rs.getString("name"),
+                rs.getString("email"),
+                rs.getString("password_hash"),
+                rs.getString("phone_number"),
+                rs.getString("address"),
+                rs.getTimestamp("created_at").toLocalDateTime()
+        );
+    }
+
     /**
      * Updates an existing user in the database.
      * @param user The User object with updated information. Must have a valid userId.
@@ -161,6 +296,7 @@ public class UserDAO {
             int affectedRows = pstmt.executeUpdate();
             if (affectedRows > 0) {
                 System.out.println("User updated successfully: " + user.getEmail() + " (ID: " + user.getUserId() + ")");
+                changeListeners.forEach(l -> l.onUpdated(user));
                 return true;
             } else {
                 System.out.println("No user found with ID: " + user.getUserId() + " for update.");
@@ -188,6 +324,7 @@ public class UserDAO {
             int affectedRows = pstmt.executeUpdate();
             if (affectedRows > 0) {
                 System.out.println("User deleted successfully with ID: " + userId);
+                changeListeners.forEach(l -> l.onDeleted(userId));
                 return true;
             } else {
                 System.out.println("No user found with ID: " + userId + " for deletion.");
@@ -1,6 +1,7 @@
 // src/main/java/com/faizan/portfolioadvisor/dao/UserRiskProfileDAO.java
 package com.faizan.portfolioadvisor.dao;
 
+import com.faizan.portfolioadvisor.exception.DataAccessException;
 import com.faizan.portfolioadvisor.model.UserRiskProfile;
 import com.faizan.portfolioadvisor.util.DatabaseConnectionManager;
 
@@ -8,9 +9,13 @@ import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 import java.math.BigDecimal; // Import BigDecimal
 
 public class UserRiskProfileDAO {
+    private static final String INSERT_RISK_PROFILE_SQL = "INSERT INTO UserRiskProfiles (user_id, predicted_risk_category, prediction_date, confidence_score, age, income_lakhs, investment_experience_years, financial_goal) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String LATEST_PROFILES_SELECT = "SELECT p.risk_profile_id, p.user_id, p.predicted_risk_category, p.prediction_date, p.confidence_score, p.age, p.income_lakhs, p.investment_experience_years, p.financial_goal " +
+            "FROM Users u JOIN UserRiskProfiles p ON p.user_id = u.user_id";
 
     /**
      * Adds a new user risk profile to the database.
@@ -18,27 +23,10 @@ public class UserRiskProfileDAO {
      * @param riskProfile The UserRiskProfile object to add.
      */
     public void addUserRiskProfile(UserRiskProfile riskProfile) {
-        String sql = "INSERT INTO UserRiskProfiles (user_id, predicted_risk_category, prediction_date, confidence_score, age, income_lakhs, investment_experience_years, financial_goal) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
         try (Connection conn = DatabaseConnectionManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+             PreparedStatement pstmt = conn.prepareStatement(INSERT_RISK_PROFILE_SQL, Statement.RETURN_GENERATED_KEYS)) {
 
-            pstmt.setInt(1, riskProfile.getUserId());
-            pstmt.setString(2, riskProfile.getPredictedRiskCategory());
-            pstmt.setTimestamp(3, Timestamp.valueOf(riskProfile.getPredictionDate()));
-            pstmt.setBigDecimal(4, riskProfile.getConfidenceScore());
-            // Use setNull if Integer/BigDecimal wrapper types are null
-            if (riskProfile.getAge() != null) {
-                pstmt.setInt(5, riskProfile.getAge());
-            } else {
-                pstmt.setNull(5, Types.INTEGER);
-            }
-            pstmt.setBigDecimal(6, riskProfile.getIncomeLakhs());
-            if (riskProfile.getInvestmentExperienceYears() != null) {
-                pstmt.setInt(7, riskProfile.getInvestmentExperienceYears());
-            } else {
-                pstmt.setNull(7, Types.INTEGER);
-            }
-            pstmt.setString(8, riskProfile.getFinancialGoal());
+            bindInsert(pstmt, riskProfile);
 
             int affectedRows = pstmt.executeUpdate();
 
@@ -56,6 +44,55 @@ public class UserRiskProfileDAO {
         }
     }
 
+    /**
+     * Adds many user risk profiles in JDBC batches of the default size (db.batch.size), inside one transaction.
+     * Each riskProfile object's ID will be updated with the generated ID from the DB.
+     * @param riskProfiles The UserRiskProfile objects to add.
+     * @throws DataAccessException If the insert fails; no profiles are added in that case.
+     */
+    public void addAllUserRiskProfiles(List<UserRiskProfile> riskProfiles) {
+        addAllUserRiskProfiles(riskProfiles, JdbcHelper.DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Adds many user risk profiles in JDBC batches of the given size, inside one transaction.
+     * Each riskProfile object's ID will be updated with the generated ID from the DB.
+     * @param riskProfiles The UserRiskProfile objects to add.
+     * @param batchSize The number of rows sent per executeBatch() call.
+     * @throws DataAccessException If the insert fails; no profiles are added in that case.
+     */
+    public void addAllUserRiskProfiles(List<UserRiskProfile> riskProfiles, int batchSize) {
+        try {
+            int added = JdbcHelper.insertInBatches(INSERT_RISK_PROFILE_SQL, riskProfiles, batchSize,
+                    UserRiskProfileDAO::bindInsert, UserRiskProfile::setRiskProfileId);
+            System.out.println("User Risk Profiles added successfully in batch: " + added);
+        } catch (SQLException e) {
+            System.err.println("Error adding user risk profiles in batch: " + e.getMessage());
+            e.printStackTrace();
+            throw new DataAccessException("Failed to add user risk profiles in batch.", e);
+        }
+    }
+
+    private static void bindInsert(PreparedStatement pstmt, UserRiskProfile riskProfile) throws SQLException {
+        pstmt.setInt(1, riskProfile.getUserId());
+        pstmt.setString(2, riskProfile.getPredictedRiskCategory());
+        pstmt.setTimestamp(3, Timestamp.valueOf(riskProfile.getPredictionDate()));
+        pstmt.setBigDecimal(4, riskProfile.getConfidenceScore());
+        // Use setNull if Integer/BigDecimal wrapper types are null
+        if (riskProfile.getAge() != null) {
+            pstmt.setInt(5, riskProfile.getAge());
+        } else {
+            pstmt.setNull(5, Types.INTEGER);
+        }
+        pstmt.setBigDecimal(6, riskProfile.getIncomeLakhs());
+        if (riskProfile.getInvestmentExperienceYears() != null) {
+            pstmt.setInt(7, riskProfile.getInvestmentExperienceYears());
+        } else {
+            pstmt.setNull(7, Types.INTEGER);
+        }
+        pstmt.setString(8, riskProfile.getFinancialGoal());
+    }
+
     /**
      * Retrieves the latest risk profile for a specific user from the database.
      * Assumes "latest" means the one with the most recent prediction_date.
@@ -93,6 +130,77 @@ public class UserRiskProfileDAO {
         return riskProfile;
     }
 
+    /**
+     * Streams the latest risk profile of every user, in user ID order, with one query instead of one
+     * getLatestUserRiskProfile() call per user. Users without a profile are left out; ties on prediction_date
+     * go to the higher risk_profile_id. Rows are fetched from a cursor in chunks of db.stream.fetchSize, and
+     * the stream holds a pooled connection until it is closed, so always use try-with-resources.
+     * @param afterUserId Only users with a larger ID are returned (0 for all), e.g. to resume a batch job.
+     * @param notAllocatedSince If not null, users with a PortfolioAllocation recommended at or after this time are left out.
+     * @return A Stream of UserRiskProfile objects ordered by user ID.
+     * @throws DataAccessException If the query could not be started or a row could not be read.
+     */
+    public Stream<UserRiskProfile> streamLatestUserRiskProfiles(int afterUserId, LocalDateTime notAllocatedSince) {
+        String sql = LATEST_PROFILES_SELECT + latestProfilesWhere(notAllocatedSince) + " ORDER BY u.user_id";
+        try {
+            return JdbcHelper.stream(sql, JdbcHelper.STREAM_FETCH_SIZE, null,
+                    (pstmt, params) -> bindLatestProfilesWhere(pstmt, afterUserId, notAllocatedSince),
+                    UserRiskProfileDAO::mapUserRiskProfile);
+        } catch (SQLException e) {
+            System.err.println("Error streaming latest user risk profiles: " + e.getMessage());
+            e.printStackTrace();
+            throw new DataAccessException("Failed to stream latest user risk profiles.", e);
+        }
+    }
+
+    /**
+     * Counts the rows streamLatestUserRiskProfiles() would return for the same arguments, e.g. for progress reporting.
+     * @throws DataAccessException If a database access error occurs.
+     */
+    public long countLatestUserRiskProfiles(int afterUserId, LocalDateTime notAllocatedSince) {
+        String sql = "SELECT COUNT(*) FROM Users u JOIN UserRiskProfiles p ON p.user_id = u.user_id" + latestProfilesWhere(notAllocatedSince);
+        try (Connection conn = DatabaseConnectionManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            bindLatestProfilesWhere(pstmt, afterUserId, notAllocatedSince);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        } catch (SQLException e) {
+            System.err.println("Error counting latest user risk profiles: " + e.getMessage());
+            e.printStackTrace();
+            throw new DataAccessException("Failed to count latest user risk profiles.", e);
+        }
+    }
+
+    // A profile is the latest if no newer one (or an equally dated one with a higher ID) exists for the user.
+    private static String latestProfilesWhere(LocalDateTime notAllocatedSince) {
+        return " WHERE u.user_id > ? AND NOT EXISTS (SELECT 1 FROM UserRiskProfiles n WHERE n.user_id = p.user_id" +
+                " AND (n.prediction_date > p.prediction_date OR (n.prediction_date = p.prediction_date AND n.risk_profile_id > p.risk_profile_id)))" +
+                (notAllocatedSince == null ? "" : " AND NOT EXISTS (SELECT 1 FROM PortfolioAllocations a WHERE a.user_id = u.user_id AND a.recommendation_date >= ?)");
+    }
+
+    private static void bindLatestProfilesWhere(PreparedStatement pstmt, int afterUserId, LocalDateTime notAllocatedSince) throws SQLException {
+        pstmt.setInt(1, afterUserId);
+        if (notAllocatedSince != null) {
+            pstmt.setTimestamp(2, Timestamp.valueOf(notAllocatedSince));
+        }
+    }
+
+    private static UserRiskProfile mapUserRiskProfile(ResultSet rs) throws SQLException {
+        return new UserRiskProfile(
+                rs.getInt("risk_profile_id"),
+                rs.getInt("user_id"),
+                rs.getString("predicted_risk_category"),
+                rs.getTimestamp("prediction_date").toLocalDateTime(),
+                rs.getBigDecimal("confidence_score"),
+                (Integer) rs.getObject("age"),
+                rs.getBigDecimal("income_lakhs"),
+                (Integer) rs.getObject("investment_experience_years"),
+                rs.getString("financial_goal")
+        );
+    }
+
     /**
      * Retrieves all risk profiles for a specific user.
      * @param userId The ID of the user.
@@ -0,0 +1,152 @@
+package com.faizan.portfolioadvisor.ml;
+
+// src/main/java/com/faizan/portfolioadvisor/ml/CachingRiskPredictor.java
+
+import com.faizan.portfolioadvisor.util.CacheStats;
+import com.faizan.portfolioadvisor.util.TtlLruCache;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A RiskPredictor decorator that remembers predictions. The model is deterministic for a given input, so
+ * a repeat (or near-duplicate) questionnaire is answered from memory without calling the ML service.
+ * <p>
+ * The cache key is the normalized feature tuple: income is rounded to ml.cache.incomeScale decimal places
+ * (the precision the model effectively sees) and the goal is trimmed. Every key also carries the model
+ * version, and changing the version with setModelVersion drops everything cached for the old model.
+ * Failed predictions and fallback predictions are never cached.
+ */
+public class CachingRiskPredictor implements RiskPredictor {
+    private final RiskPredictor delegate;
+    private final TtlLruCache<FeatureKey, RiskPrediction> cache;
+    private final int incomeScale;
+    private volatile String modelVersion;
+
+    /**
+     * @param delegate The predictor to call on a cache miss.
+     * @param config Supplies ml.cache.maxSize, ml.cache.ttlMs, ml.cache.incomeScale and ml.modelVersion.
+     */
+    public CachingRiskPredictor(RiskPredictor delegate, PredictionServiceConfig config) {
+        this.delegate = delegate;
+        this.cache = new TtlLruCache<>(config.getCacheMaxSize(), Duration.ofMillis(config.getCacheTtlMillis()));
+        this.incomeScale = config.getCacheIncomeScale();
+        this.modelVersion = config.getModelVersion();
+    }
+
+    @Override
+    public CompletableFuture<RiskPrediction> predictAsync(RiskFeatures features) {
+        FeatureKey key = keyFor(features);
+        RiskPrediction cached = cache.get(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return delegate.predictAsync(features).thenApply(prediction -> {
+            if (!prediction.isFallback()) {
+                cache.put(key, prediction);
+            }
+            return prediction;
+        });
+    }
+
+    /**
+     * Answers what it can from the cache and sends only the misses to the delegate, as one batch.
+     */
+    @Override
+    public CompletableFuture<List<RiskPrediction>> predictBatchAsync(List<RiskFeatures> features) {
+        List<RiskPrediction> results = new ArrayList<>(features.size());
+        List<FeatureKey> missKeys = new ArrayList<>();
+        List<RiskFeatures> missFeatures = new ArrayList<>();
+        List<Integer> missPositions = new ArrayList<>();
+        for (int i = 0; i < features.size(); i++) {
+            FeatureKey key = keyFor(features.get(i));
+            RiskPrediction cached = cache.get(key);
+            results.add(cached);
+            if (cached == null) {
+                missKeys.add(key);
+                missFeatures.add(features.get(i));
+                missPositions.add(i);
+            }
+        }
+        if (missFeatures.isEmpty()) {
+            return CompletableFuture.completedFuture(results);
+        }
+        return delegate.predictBatchAsync(missFeatures).thenApply(predictions -> {
+            for (int i = 0; i < predictions.size(); i++) {
+                if (!predictions.get(i).isFallback()) {
+                    cache.put(missKeys.get(i), predictions.get(i));
+                }
+                results.set(missPositions.get(i), predictions.get(i));
+            }
+            return results;
+        });
+    }
+
+    /**
+     * Switches to a new model version. Cached predictions of the previous model are discarded.
+     * @param modelVersion The version string of the model now being served.
+     */
+    public void setModelVersion(String modelVersion) {
+        Objects.requireNonNull(modelVersion, "modelVersion");
+        if (!modelVersion.equals(this.modelVersion)) {
+            this.modelVersion = modelVersion;
+            cache.clear();
+        }
+    }
+
+    public String getModelVersion() {
+        return modelVersion;
+    }
+
+    public void invalidateAll() {
+        cache.clear();
+    }
+
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    private FeatureKey keyFor(RiskFeatures features) {
+        BigDecimal income = features.getIncomeLakhs().setScale(incomeScale, RoundingMode.HALF_UP);
+        return new FeatureKey(modelVersion, features.getAge(), income.unscaledValue().longValueExact(),
+                features.getInvestmentExperienceYears(), features.getFinancialGoal().trim());
+    }
+
+    // Income is held as an unscaled long at the fixed cache scale, so equal buckets always compare equal.
+    private static final class FeatureKey {
+        private final String modelVersion;
+        private final int age;
+        private final long incomeUnits;
+        private final int experienceYears;
+        private final String goal;
+        private final int hash;
+
+        private FeatureKey(String modelVersion, int age, long incomeUnits, int experienceYears, String goal) {
+            this.modelVersion = modelVersion;
+            this.age = age;
+            this.incomeUnits = incomeUnits;
+            this.experienceYears = experienceYears;
+            this.goal = goal;
+            this.hash = Objects.hash(modelVersion, age, incomeUnits, experienceYears, goal);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof FeatureKey)) return false;
+            FeatureKey that = (FeatureKey) o;
+            return age == that.age && incomeUnits == that.incomeUnits && experienceYears == that.experienceYears
+                    && goal.equals(that.goal) && modelVersion.equals(that.modelVersion);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.faizan.portfolioadvisor.ml;
+
+// src/main/java/com/faizan/portfolioadvisor/ml/CircuitBreakingRiskPredictor.java
+
+import com.faizan.portfolioadvisor.util.CircuitBreaker;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A RiskPredictor decorator that stops calling the ML service while it is failing or slow.
+ * Outcomes of the calls feed a CircuitBreaker (thresholds from the ml.breaker.* settings). While the breaker
+ * is open, predictions are answered immediately by the RuleBasedRiskScorer, flagged as fallback and with the
+ * confidence capped at ml.fallback.maxConfidence, so request latency stays bounded during an outage.
+ * Only transport errors, timeouts and 5xx answers count as failures for the breaker (see
+ * HttpRiskPredictor.isServiceFailure); a 4xx or an unparseable answer shows the service is up, so it does not
+ * push predictions onto the fallback. Failures of calls that were let through are still reported to the caller as usual.
+ */
+public class CircuitBreakingRiskPredictor implements RiskPredictor {
+    private final RiskPredictor delegate;
+    private final CircuitBreaker breaker;
+    private final RuleBasedRiskScorer fallbackScorer = new RuleBasedRiskScorer();
+    private final BigDecimal fallbackMaxConfidence;
+    private final LongAdder fallbackCount = new LongAdder();
+
+    public CircuitBreakingRiskPredictor(RiskPredictor delegate, PredictionServiceConfig config) {
+        this.delegate = delegate;
+        this.breaker = new CircuitBreaker("ml-prediction-service",
+                config.getBreakerWindowSize(), config.getBreakerMinimumCalls(), config.getBreakerFailureRateThreshold(),
+                Duration.ofMillis(config.getBreakerSlowCallMillis()), config.getBreakerSlowCallRateThreshold(),
+                Duration.ofMillis(config.getBreakerOpenMillis()), config.getBreakerHalfOpenProbes());
+        this.fallbackMaxConfidence = BigDecimal.valueOf(config.getFallbackMaxConfidence()).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    @Override
+    public CompletableFuture<RiskPrediction> predictAsync(RiskFeatures features) {
+        if (!breaker.tryAcquire()) {
+            fallbackCount.increment();
+            return CompletableFuture.completedFuture(fallbackScorer.fallbackPrediction(features, fallbackMaxConfidence));
+        }
+        long start = System.nanoTime();
+        return delegate.predictAsync(features)
+                .whenComplete((prediction, failure) -> breaker.onResult(isAvailable(failure), System.nanoTime() - start));
+    }
+
+    /**
+     * A batch counts as one call for the breaker, including for the slow-call threshold (ml.breaker.slowCallMs
+     * should leave room for a full ml.batchSize chunk).
+     */
+    @Override
+    public CompletableFuture<List<RiskPrediction>> predictBatchAsync(List<RiskFeatures> features) {
+        if (!breaker.tryAcquire()) {
+            List<RiskPrediction> results = new ArrayList<>(features.size());
+            for (RiskFeatures f : features) {
+                results.add(fallbackScorer.fallbackPrediction(f, fallbackMaxConfidence));
+            }
+            fallbackCount.add(features.size());
+            return CompletableFuture.completedFuture(results);
+        }
+        long start = System.nanoTime();
+        return delegate.predictBatchAsync(features)
+                .whenComplete((predictions, failure) -> breaker.onResult(isAvailable(failure), System.nanoTime() - start));
+    }
+
+    // Whether the outcome shows the service answering normally, for the breaker's failure rate.
+    private static boolean isAvailable(Throwable failure) {
+        return failure == null || !HttpRiskPredictor.isServiceFailure(failure);
+    }
+
+    public CircuitBreaker.State getState() {
+        return breaker.getState();
+    }
+
+    /** @return The number of predictions answered by the fallback scorer. */
+    public long getFallbackCount() {
+        return fallbackCount.sum();
+    }
+
+    /** @return How many times the breaker has opened. */
+    public long getOpenedCount() {
+        return breaker.getOpenedCount();
+    }
+}
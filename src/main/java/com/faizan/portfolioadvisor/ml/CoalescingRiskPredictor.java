@@ -0,0 +1,43 @@
+package com.faizan.portfolioadvisor.ml;
+
+// src/main/java/com/faizan/portfolioadvisor/ml/CoalescingRiskPredictor.java
+
+import com.faizan.portfolioadvisor.util.SingleFlight;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A RiskPredictor decorator that shares one in-flight call between concurrent predictions with identical
+ * features (double submits, or many users with the same answers arriving together), so the ML service sees
+ * a single POST. All waiters receive the same prediction or the same failure; failures are not remembered.
+ * Batch requests are passed straight through.
+ */
+public class CoalescingRiskPredictor implements RiskPredictor {
+    private final RiskPredictor delegate;
+    private final SingleFlight<RiskFeatures, RiskPrediction> singleFlight = new SingleFlight<>();
+
+    public CoalescingRiskPredictor(RiskPredictor delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public CompletableFuture<RiskPrediction> predictAsync(RiskFeatures features) {
+        return singleFlight.execute(features, () -> delegate.predictAsync(features));
+    }
+
+    @Override
+    public CompletableFuture<List<RiskPrediction>> predictBatchAsync(List<RiskFeatures> features) {
+        return delegate.predictBatchAsync(features);
+    }
+
+    /** @return The number of predictions that were served by joining an identical call already in flight. */
+    public long getCoalescedCount() {
+        return singleFlight.getSharedCount();
+    }
+
+    /** @return The number of calls actually made to the delegate. */
+    public long getCallCount() {
+        return singleFlight.getCallCount();
+    }
+}
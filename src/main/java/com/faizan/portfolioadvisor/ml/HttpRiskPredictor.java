@@ -0,0 +1,346 @@
+package com.faizan.portfolioadvisor.ml;
+
+// src/main/java/com/faizan/portfolioadvisor/ml/HttpRiskPredictor.java
+
+import com.faizan.portfolioadvisor.exception.PredictionException;
+import com.faizan.portfolioadvisor.util.AsyncLimiter;
+import com.faizan.portfolioadvisor.util.LatencyTracker;
+import com.faizan.portfolioadvisor.util.NamedThreadFactory;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Client for the Python ML service's /predict_risk endpoint (at ml.baseUrl), built on HttpClient.sendAsync.
+ * No thread waits on the network: the number of requests in flight is capped by an AsyncLimiter,
+ * and each prediction has an overall deadline (ml.requestTimeoutMs) that covers time spent queued,
+ * every retry and every hedged request.
+ * <ul>
+ *   <li>Retries: connect errors and 5xx answers are retried up to ml.retry.maxAttempts in total, after a
+ *       "full jitter" backoff, as long as the backoff still fits before the deadline.</li>
+ *   <li>Hedging (ml.hedge.enabled): if a single prediction has not answered within the p95 of recent
+ *       latencies, a second identical request is sent and whichever answers first wins. Hedges are capped at
+ *       ml.hedge.maxRatio of all calls, so they cannot double the load on a service that is slow because it is busy.</li>
+ * </ul>
+ * Batches go to /predict_risk_batch as JSON arrays, split into chunks of ml.batchSize; they are retried
+ * but not hedged. Payloads are written and read with PredictionJsonCodec.
+ */
+public class HttpRiskPredictor implements RiskPredictor {
+    private final URI predictRiskUri;
+    private final URI predictRiskBatchUri;
+    private final HttpClient httpClient;
+    private final ExecutorService clientExecutor;
+    private final AsyncLimiter limiter;
+    private final long requestTimeoutMillis;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long backoffMillis;
+    private final long maxBackoffMillis;
+    private final boolean hedgeEnabled;
+    private final int hedgeMinSamples;
+    private final long hedgeMinDelayMillis;
+    private final double hedgeMaxRatio;
+
+    // Latencies of every finished single-prediction attempt (failures included, capped at the deadline), for the
+    // hedging delay and getStats(). Batch requests are left out; their latency grows with the chunk size.
+    private final LatencyTracker latencies = new LatencyTracker(1024, 0.95, 64);
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder hedgesSent = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+
+    public HttpRiskPredictor(PredictionServiceConfig config) {
+        String baseUrl = config.getBaseUrl().endsWith("/") ? config.getBaseUrl().substring(0, config.getBaseUrl().length() - 1) : config.getBaseUrl();
+        this.predictRiskUri = URI.create(baseUrl + "/predict_risk");
+        this.predictRiskBatchUri = URI.create(baseUrl + "/predict_risk_batch");
+        // Dedicated executor for the HttpClient's response handling, instead of the shared common pool.
+        this.clientExecutor = Executors.newFixedThreadPool(config.getClientThreads(), new NamedThreadFactory("ml-http"));
+        // Use the Java 11+ HttpClient
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(config.getConnectTimeoutMillis()))
+                .executor(clientExecutor)
+                .build();
+        this.limiter = new AsyncLimiter(config.getMaxInFlight(), config.getMaxQueued());
+        this.requestTimeoutMillis = config.getRequestTimeoutMillis();
+        this.batchSize = config.getBatchSize();
+        this.maxAttempts = Math.max(1, config.getRetryMaxAttempts());
+        this.backoffMillis = config.getRetryBackoffMillis();
+        this.maxBackoffMillis = config.getRetryMaxBackoffMillis();
+        this.hedgeEnabled = config.isHedgeEnabled();
+        this.hedgeMinSamples = config.getHedgeMinSamples();
+        this.hedgeMinDelayMillis = config.getHedgeMinDelayMillis();
+        this.hedgeMaxRatio = config.getHedgeMaxRatio();
+    }
+
+    @Override
+    public CompletableFuture<RiskPrediction> predictAsync(RiskFeatures features) {
+        String jsonInput = PredictionJsonCodec.encodeRequest(features);
+        return execute(predictRiskUri, jsonInput, HttpRiskPredictor::parseResponse, hedgeEnabled);
+    }
+
+    /**
+     * Sends the features to /predict_risk_batch in chunks of ml.batchSize. Each chunk is one request
+     * (subject to the in-flight limit, retries and the deadline), and the results are mapped back by index.
+     */
+    @Override
+    public CompletableFuture<List<RiskPrediction>> predictBatchAsync(List<RiskFeatures> features) {
+        List<CompletableFuture<List<RiskPrediction>>> chunks = new ArrayList<>();
+        for (int start = 0; start < features.size(); start += batchSize) {
+            List<RiskFeatures> chunk = features.subList(start, Math.min(start + batchSize, features.size()));
+            int expectedCount = chunk.size();
+            chunks.add(execute(predictRiskBatchUri, PredictionJsonCodec.encodeBatchRequest(chunk),
+                    response -> parseBatchResponse(response, expectedCount), false));
+        }
+        return CompletableFuture.allOf(chunks.toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignored -> {
+                    List<RiskPrediction> results = new ArrayList<>(features.size());
+                    for (CompletableFuture<List<RiskPrediction>> chunk : chunks) {
+                        results.addAll(chunk.join());
+                    }
+                    return results;
+                });
+    }
+
+    // One logical call: attempts (and hedges) until one succeeds, a non-retryable error occurs, or the deadline passes.
+    private <T> CompletableFuture<T> execute(URI uri, String body, Function<HttpResponse<String>, T> parser, boolean hedge) {
+        calls.increment();
+        long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(requestTimeoutMillis);
+        CompletableFuture<T> result = new CompletableFuture<>();
+        attempt(uri, body, parser, hedge, 1, deadlineNanos, result);
+        return result
+                .orTimeout(requestTimeoutMillis, TimeUnit.MILLISECONDS)
+                .handle((value, failure) -> {
+                    if (failure != null) {
+                        throw translateFailure(failure);
+                    }
+                    return value;
+                });
+    }
+
+    private <T> void attempt(URI uri, String body, Function<HttpResponse<String>, T> parser, boolean hedge,
+                             int attemptNumber, long deadlineNanos, CompletableFuture<T> result) {
+        if (result.isDone()) {
+            return;
+        }
+        CompletableFuture<T> answer = hedge
+                ? sendHedged(uri, body, parser, deadlineNanos, result)
+                : send(uri, body, parser, deadlineNanos);
+        answer.whenComplete((value, failure) -> {
+            if (failure == null) {
+                result.complete(value);
+                return;
+            }
+            Throwable cause = unwrap(failure);
+            if (attemptNumber < maxAttempts && isRetryable(cause)) {
+                // Full jitter: uniformly random in [0, min(max, base * 2^(attempt-1))].
+                long ceiling = Math.min(maxBackoffMillis, backoffMillis << Math.min(attemptNumber - 1, 20));
+                long delayMillis = ceiling > 0 ? ThreadLocalRandom.current().nextLong(ceiling + 1) : 0;
+                if (System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMillis) < deadlineNanos) {
+                    retries.increment();
+                    CompletableFuture.delayedExecutor(delayMillis, TimeUnit.MILLISECONDS, clientExecutor)
+                            .execute(() -> attempt(uri, body, parser, hedge, attemptNumber + 1, deadlineNanos, result));
+                    return;
+                }
+            }
+            result.completeExceptionally(cause);
+        });
+    }
+
+    // Sends the request, and a second copy if the first has not answered within the observed p95.
+    private <T> CompletableFuture<T> sendHedged(URI uri, String body, Function<HttpResponse<String>, T> parser,
+                                                long deadlineNanos, CompletableFuture<T> result) {
+        long p95Nanos = latencies.getPercentileNanos();
+        long hedgeDelayMillis = Math.max(hedgeMinDelayMillis, TimeUnit.NANOSECONDS.toMillis(p95Nanos));
+        CompletableFuture<T> primary = send(uri, body, parser, deadlineNanos);
+        if (p95Nanos < 0 || latencies.getSampleCount() < hedgeMinSamples
+                || System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(hedgeDelayMillis) >= deadlineNanos) {
+            return primary;
+        }
+        HedgedAnswer<T> race = new HedgedAnswer<>();
+        primary.whenComplete((value, failure) -> race.onPrimary(value, failure));
+        CompletableFuture.delayedExecutor(hedgeDelayMillis, TimeUnit.MILLISECONDS, clientExecutor).execute(() -> {
+            if (!result.isDone() && hedgesSent.sum() < hedgeMaxRatio * calls.sum() && race.tryStartHedge()) {
+                hedgesSent.increment();
+                send(uri, body, parser, deadlineNanos).whenComplete((value, failure) -> {
+                    if (race.onHedge(value, failure)) {
+                        hedgeWins.increment();
+                    }
+                });
+            }
+        });
+        return race.answer;
+    }
+
+    private <T> CompletableFuture<T> send(URI uri, String body, Function<HttpResponse<String>, T> parser,
+                                          long deadlineNanos) {
+        long remainingMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime()));
+        // Build the HTTP POST request; its own timeout is whatever is left of the overall deadline.
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(uri)
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofMillis(remainingMillis))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return limiter.submit(() -> {
+            long start = System.nanoTime();
+            CompletableFuture<T> answer = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                    .thenApply(response -> {
+                        if (response.statusCode() >= 500) {
+                            throw new ServerErrorException("ML service returned an error. Status code: "
+                                    + response.statusCode() + " | Body: " + response.body());
+                        }
+                        return parser.apply(response);
+                    });
+            if (uri.equals(predictRiskUri)) {
+                // Successes and failures alike, so a slow or failing service shows up in the p95. An attempt still
+                // running at the deadline was abandoned there, so it counts only the time it ran until then.
+                answer.whenComplete((value, failure) -> {
+                    long elapsed = Math.min(System.nanoTime(), deadlineNanos) - start;
+                    if (elapsed >= 0) { // Not when it only left the queue after the deadline.
+                        latencies.record(elapsed);
+                    }
+                });
+            }
+            return answer;
+        });
+    }
+
+    private static boolean isRetryable(Throwable cause) {
+        return cause instanceof ServerErrorException || cause instanceof ConnectException || cause instanceof HttpConnectTimeoutException;
+    }
+
+    /**
+     * Whether a failed prediction means the service is down or overloaded (transport error, timeout or 5xx),
+     * as opposed to a request it rejected (4xx) or an answer that could not be parsed. Used by
+     * CircuitBreakingRiskPredictor, so only the former count against the breaker.
+     * @param failure The failure as the caller sees it, i.e. possibly wrapped by translateFailure.
+     */
+    static boolean isServiceFailure(Throwable failure) {
+        Throwable cause = unwrap(failure);
+        // translateFailure wraps timeouts and transport errors in a plain PredictionException.
+        while (cause instanceof PredictionException && !(cause instanceof ServerErrorException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return isRetryable(cause) || cause instanceof TimeoutException || cause instanceof IOException;
+    }
+
+    private static Throwable unwrap(Throwable failure) {
+        Throwable cause = failure;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private static List<RiskPrediction> parseBatchResponse(HttpResponse<String> response, int expectedCount) {
+        String responseBody = response.body();
+        if (response.statusCode() != 200) {
+            throw new PredictionException("ML service returned an error for a batch. Status code: " + response.statusCode() + " | Body: " + responseBody);
+        }
+        List<RiskPrediction> predictions = PredictionJsonCodec.decodeBatch(responseBody, expectedCount);
+        if (predictions.size() != expectedCount) {
+            throw new PredictionException("ML service returned " + predictions.size() + " predictions for a batch of " + expectedCount + ".");
+        }
+        return predictions;
+    }
+
+    private static RiskPrediction parseResponse(HttpResponse<String> response) {
+        String responseBody = response.body();
+        if (response.statusCode() != 200) {
+            throw new PredictionException("ML service returned an error. Status code: " + response.statusCode() + " | Body: " + responseBody);
+        }
+        // Read the two fields we need straight out of the Python API's JSON response
+        return PredictionJsonCodec.decodePrediction(responseBody);
+    }
+
+    private RuntimeException translateFailure(Throwable failure) {
+        RuntimeException unwrapped = RiskPredictor.toPredictionException(failure);
+        Throwable cause = unwrapped instanceof PredictionException && unwrapped.getCause() != null ? unwrapped.getCause() : unwrapped;
+        if (cause instanceof TimeoutException || cause instanceof HttpTimeoutException) {
+            return new PredictionException("ML prediction service did not answer within " + requestTimeoutMillis + " ms.", cause);
+        }
+        if (cause instanceof RejectedExecutionException) {
+            return new PredictionException("Too many ML predictions pending; request rejected.", cause);
+        }
+        return unwrapped;
+    }
+
+    public int getInFlight() {
+        return limiter.getInFlight();
+    }
+
+    public int getQueued() {
+        return limiter.getQueued();
+    }
+
+    public PredictionClientStats getStats() {
+        long p95 = latencies.getPercentileNanos();
+        return new PredictionClientStats(calls.sum(), retries.sum(), hedgesSent.sum(), hedgeWins.sum(),
+                p95 < 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(p95));
+    }
+
+    /** A 5xx answer; worth retrying. */
+    private static final class ServerErrorException extends PredictionException {
+        private ServerErrorException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Combines the original request and its hedge: completes with the first success, or with a failure
+     * once every request that was started has failed. The hedge is only started while the original is pending.
+     */
+    private static final class HedgedAnswer<T> {
+        private final CompletableFuture<T> answer = new CompletableFuture<>();
+        private int outstanding = 1;
+
+        synchronized boolean tryStartHedge() {
+            if (answer.isDone() || outstanding == 0) {
+                return false;
+            }
+            outstanding++;
+            return true;
+        }
+
+        void onPrimary(T value, Throwable failure) {
+            complete(value, failure);
+        }
+
+        // @return true if the hedge supplied the answer.
+        boolean onHedge(T value, Throwable failure) {
+            return complete(value, failure) && failure == null;
+        }
+
+        private boolean complete(T value, Throwable failure) {
+            boolean lastOne;
+            synchronized (this) {
+                outstanding--;
+                lastOne = outstanding == 0;
+            }
+            if (failure == null) {
+                return answer.complete(value);
+            }
+            return lastOne && answer.completeExceptionally(failure);
+        }
+    }
+}
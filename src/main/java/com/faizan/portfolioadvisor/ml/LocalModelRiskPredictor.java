@@ -0,0 +1,321 @@
+package com.faizan.portfolioadvisor.ml;
+
+// src/main/java/com/faizan/portfolioadvisor/ml/LocalModelRiskPredictor.java
+
+import com.faizan.portfolioadvisor.exception.PredictionException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Scores the risk model inside the JVM from an exported parameter file, instead of calling the Flask service.
+ * Supported exports (JSON, as written by the training script):
+ * <pre>
+ * {
+ *   "model_type": "logistic_regression" | "decision_tree",
+ *   "version": "2024-06-01",
+ *   "classes": ["Aggressive", "Conservative", "Moderate"],
+ *   "goal_categories": ["Retirement", "Wealth Growth", ...],      // one-hot encoded after the numeric features
+ *   "scaler": {"mean": [age, income, exp], "scale": [...]},       // optional StandardScaler for the numeric features
+ *   // logistic_regression (sklearn coef_ / intercept_; one row for a binary model):
+ *   "coefficients": [[...], ...], "intercepts": [...],
+ *   // decision_tree (sklearn tree_ arrays; a leaf has children_left == -1):
+ *   "tree": {"children_left": [...], "children_right": [...], "feature": [...], "threshold": [...], "value": [[...], ...]}
+ * }
+ * </pre>
+ * The feature vector is [age, income_lakhs, investment_experience_years, one-hot(financial_goal)]; an unknown
+ * goal encodes as all zeros, as with OneHotEncoder(handle_unknown="ignore").
+ * <p>
+ * All parameters are held in flat primitive arrays, and the scoring core (score) allocates nothing: the one-hot
+ * part of the vector is never materialized, only the index of the goal is looked up.
+ */
+public class LocalModelRiskPredictor implements RiskPredictor {
+    private static final int NUMERIC_FEATURES = 3;
+    private static final int LOGISTIC_REGRESSION = 0;
+    private static final int DECISION_TREE = 1;
+
+    private final int modelType;
+    private final String version;
+    private final String[] classes;
+    private final Map<String, Integer> goalIndex;
+    private final int featureCount;
+    private final double[] mean;
+    private final double[] inverseScale;
+
+    // Logistic regression: coefficients[row * featureCount + feature]; a single row means a binary model.
+    private final double[] coefficients;
+    private final double[] intercepts;
+    private final int rows;
+
+    // Decision tree, one entry per node; leafValues[node * classes.length + class].
+    private final int[] left;
+    private final int[] right;
+    private final int[] feature;
+    private final double[] threshold;
+    private final double[] leafValues;
+
+    // Per-thread probability buffer, so predictions do not allocate one each time.
+    private final ThreadLocal<double[]> probabilityBuffer;
+
+    /**
+     * Loads an exported model from a file or, if no such file exists, from the classpath.
+     * @param location A file system path or a classpath resource name.
+     * @return The loaded predictor.
+     * @throws PredictionException If the model cannot be read or is not a supported export.
+     */
+    public static LocalModelRiskPredictor load(String location) {
+        try {
+            Path path = Paths.get(location);
+            if (Files.isRegularFile(path)) {
+                return fromJson(new JSONObject(new String(Files.readAllBytes(path), StandardCharsets.UTF_8)));
+            }
+            try (InputStream input = LocalModelRiskPredictor.class.getClassLoader().getResourceAsStream(location)) {
+                if (input == null) {
+                    throw new PredictionException("Risk model export not found: " + location);
+                }
+                return fromJson(new JSONObject(new String(input.readAllBytes(), StandardCharsets.UTF_8)));
+            }
+        } catch (IOException | JSONException e) {
+            throw new PredictionException("Failed to load risk model export " + location + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Builds a predictor from an already parsed export (see the class comment for the format).
+     */
+    public static LocalModelRiskPredictor fromJson(JSONObject model) {
+        return new LocalModelRiskPredictor(model);
+    }
+
+    private LocalModelRiskPredictor(JSONObject model) {
+        String type = model.getString("model_type");
+        this.version = model.optString("version", "local");
+        this.classes = toStringArray(model.getJSONArray("classes"));
+        String[] goals = toStringArray(model.getJSONArray("goal_categories"));
+        this.goalIndex = new HashMap<>();
+        for (int i = 0; i < goals.length; i++) {
+            goalIndex.put(goals[i], i);
+        }
+        this.featureCount = NUMERIC_FEATURES + goals.length;
+
+        this.mean = new double[NUMERIC_FEATURES];
+        this.inverseScale = new double[]{1.0, 1.0, 1.0};
+        JSONObject scaler = model.optJSONObject("scaler");
+        if (scaler != null) {
+            double[] m = toDoubleArray(scaler.getJSONArray("mean"), NUMERIC_FEATURES);
+            double[] s = toDoubleArray(scaler.getJSONArray("scale"), NUMERIC_FEATURES);
+            for (int i = 0; i < NUMERIC_FEATURES; i++) {
+                mean[i] = m[i];
+                inverseScale[i] = s[i] == 0.0 ? 1.0 : 1.0 / s[i];
+            }
+        }
+
+        if ("logistic_regression".equals(type)) {
+            this.modelType = LOGISTIC_REGRESSION;
+            JSONArray coef = model.getJSONArray("coefficients");
+            this.rows = coef.length();
+            if (rows != classes.length && !(rows == 1 && classes.length == 2)) {
+                throw new PredictionException("Model has " + rows + " coefficient rows for " + classes.length + " classes.");
+            }
+            this.coefficients = new double[rows * featureCount];
+            for (int r = 0; r < rows; r++) {
+                System.arraycopy(toDoubleArray(coef.getJSONArray(r), featureCount), 0, coefficients, r * featureCount, featureCount);
+            }
+            this.intercepts = toDoubleArray(model.getJSONArray("intercepts"), rows);
+            this.left = null;
+            this.right = null;
+            this.feature = null;
+            this.threshold = null;
+            this.leafValues = null;
+        } else if ("decision_tree".equals(type)) {
+            this.modelType = DECISION_TREE;
+            JSONObject tree = model.getJSONObject("tree");
+            this.left = toIntArray(tree.getJSONArray("children_left"));
+            int nodes = left.length;
+            this.right = toIntArray(tree.getJSONArray("children_right"));
+            this.feature = toIntArray(tree.getJSONArray("feature"));
+            this.threshold = toDoubleArray(tree.getJSONArray("threshold"), nodes);
+            if (right.length != nodes || feature.length != nodes) {
+                throw new PredictionException("Decision tree arrays have different lengths.");
+            }
+            JSONArray values = tree.getJSONArray("value");
+            this.leafValues = new double[nodes * classes.length];
+            for (int n = 0; n < nodes; n++) {
+                System.arraycopy(toDoubleArray(values.getJSONArray(n), classes.length), 0, leafValues, n * classes.length, classes.length);
+                if (left[n] >= 0 && (feature[n] < 0 || feature[n] >= featureCount)) {
+                    throw new PredictionException("Decision tree node " + n + " splits on unknown feature " + feature[n] + ".");
+                }
+            }
+            this.coefficients = null;
+            this.intercepts = null;
+            this.rows = 0;
+        } else {
+            throw new PredictionException("Unsupported risk model type: " + type);
+        }
+        int classCount = classes.length;
+        this.probabilityBuffer = ThreadLocal.withInitial(() -> new double[classCount]);
+    }
+
+    @Override
+    public CompletableFuture<RiskPrediction> predictAsync(RiskFeatures features) {
+        try {
+            return CompletableFuture.completedFuture(predict(features));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Scores on the calling thread; there is nothing to wait for.
+     */
+    @Override
+    public RiskPrediction predict(RiskFeatures features) {
+        double[] probabilities = probabilityBuffer.get();
+        int best = score(features.getAge(), features.getIncomeLakhs().doubleValue(),
+                features.getInvestmentExperienceYears(), goalIndexOf(features.getFinancialGoal()), probabilities);
+        return new RiskPrediction(classes[best], BigDecimal.valueOf(probabilities[best]).setScale(4, RoundingMode.HALF_UP));
+    }
+
+    /**
+     * @return The one-hot position of the goal, or -1 if the model did not see it in training.
+     */
+    public int goalIndexOf(String financialGoal) {
+        Integer index = goalIndex.get(financialGoal);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * The allocation-free scoring core.
+     * @param goal The goal's one-hot index (goalIndexOf), or -1.
+     * @param probabilities Receives the class probabilities; must have getClasses().length elements.
+     * @return The index of the most probable class.
+     */
+    public int score(int age, double incomeLakhs, int experienceYears, int goal, double[] probabilities) {
+        double x0 = (age - mean[0]) * inverseScale[0];
+        double x1 = (incomeLakhs - mean[1]) * inverseScale[1];
+        double x2 = (experienceYears - mean[2]) * inverseScale[2];
+        return modelType == LOGISTIC_REGRESSION
+                ? scoreLogistic(x0, x1, x2, goal, probabilities)
+                : scoreTree(x0, x1, x2, goal, probabilities);
+    }
+
+    private int scoreLogistic(double x0, double x1, double x2, int goal, double[] probabilities) {
+        if (rows == 1) {
+            // Binary model: sklearn's single row scores classes[1].
+            double p1 = 1.0 / (1.0 + Math.exp(-linear(0, x0, x1, x2, goal)));
+            probabilities[0] = 1.0 - p1;
+            probabilities[1] = p1;
+            return p1 > 0.5 ? 1 : 0;
+        }
+        // Softmax over the per-class scores, shifted by the maximum for numerical stability.
+        int best = 0;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int r = 0; r < rows; r++) {
+            double z = linear(r, x0, x1, x2, goal);
+            probabilities[r] = z;
+            if (z > max) {
+                max = z;
+                best = r;
+            }
+        }
+        double sum = 0.0;
+        for (int r = 0; r < rows; r++) {
+            double e = Math.exp(probabilities[r] - max);
+            probabilities[r] = e;
+            sum += e;
+        }
+        for (int r = 0; r < rows; r++) {
+            probabilities[r] /= sum;
+        }
+        return best;
+    }
+
+    private double linear(int row, double x0, double x1, double x2, int goal) {
+        int base = row * featureCount;
+        double z = intercepts[row] + coefficients[base] * x0 + coefficients[base + 1] * x1 + coefficients[base + 2] * x2;
+        if (goal >= 0) {
+            z += coefficients[base + NUMERIC_FEATURES + goal];
+        }
+        return z;
+    }
+
+    private int scoreTree(double x0, double x1, double x2, int goal, double[] probabilities) {
+        int node = 0;
+        while (left[node] >= 0) {
+            int f = feature[node];
+            double value;
+            if (f == 0) {
+                value = x0;
+            } else if (f == 1) {
+                value = x1;
+            } else if (f == 2) {
+                value = x2;
+            } else {
+                value = f - NUMERIC_FEATURES == goal ? 1.0 : 0.0;
+            }
+            node = value <= threshold[node] ? left[node] : right[node];
+        }
+        int classCount = classes.length;
+        int base = node * classCount;
+        double total = 0.0;
+        for (int c = 0; c < classCount; c++) {
+            total += leafValues[base + c];
+        }
+        int best = 0;
+        for (int c = 0; c < classCount; c++) {
+            probabilities[c] = total > 0.0 ? leafValues[base + c] / total : 0.0;
+            if (probabilities[c] > probabilities[best]) {
+                best = c;
+            }
+        }
+        return best;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public String[] getClasses() {
+        return classes.clone();
+    }
+
+    private static String[] toStringArray(JSONArray array) {
+        String[] result = new String[array.length()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = array.getString(i);
+        }
+        return result;
+    }
+
+    private static double[] toDoubleArray(JSONArray array, int expectedLength) {
+        if (array.length() != expectedLength) {
+            throw new PredictionException("Expected " + expectedLength + " values in model export, found " + array.length() + ".");
+        }
+        double[] result = new double[expectedLength];
+        for (int i = 0; i < expectedLength; i++) {
+            result[i] = array.getDouble(i);
+        }
+        return result;
+    }
+
+    private static int[] toIntArray(JSONArray array) {
+        int[] result = new int[array.length()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = array.getInt(i);
+        }
+        return result;
+    }
+}
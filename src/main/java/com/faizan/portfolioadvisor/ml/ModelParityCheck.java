@@ -0,0 +1,148 @@
+package com.faizan.portfolioadvisor.ml;
+
+// src/main/java/com/faizan/portfolioadvisor/ml/ModelParityCheck.java
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+
+import org.json.JSONObject;
+
+/**
+ * Checks that LocalModelRiskPredictor gives the same answers as the Flask service before switching ml.engine to local.
+ * <pre>
+ * # 1. Record answers from the running HTTP service (/predict_risk) for a grid of questionnaires (one JSON object per line):
+ * java com.faizan.portfolioadvisor.ml.ModelParityCheck record recorded.jsonl "Retirement,Wealth Growth,Buying a Home"
+ * # 2. Replay them against the exported model, report mismatches and the in-process scoring time:
+ * java com.faizan.portfolioadvisor.ml.ModelParityCheck verify risk-model.json recorded.jsonl
+ * </pre>
+ * verify exits with status 1 if any category differs or a confidence is off by more than CONFIDENCE_TOLERANCE.
+ */
+public class ModelParityCheck {
+    private static final double CONFIDENCE_TOLERANCE = 0.01;
+    private static final int TIMING_ROUNDS = 2_000_000;
+    // Single predictions in flight while recording, so the grid does not flood the Flask service.
+    private static final int RECORD_CONCURRENCY = 8;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 3 && args[0].equals("record")) {
+            record(args[1], args[2].split(","));
+        } else if (args.length == 3 && args[0].equals("verify")) {
+            System.exit(verify(args[1], args[2]) ? 0 : 1);
+        } else {
+            System.err.println("Usage: ModelParityCheck record <out.jsonl> <goal,goal,...> | verify <model.json> <recorded.jsonl>");
+            System.exit(2);
+        }
+    }
+
+    // Uses the single /predict_risk endpoint the Flask service actually serves (it has no batch endpoint),
+    // so the recorded answers come from the real model.
+    private static void record(String outFile, String[] goals) throws IOException, InterruptedException {
+        List<RiskFeatures> grid = new ArrayList<>();
+        for (int age = 18; age <= 75; age += 3) {
+            for (int income = 1; income <= 60; income += 4) {
+                for (int experience = 0; experience <= 25; experience += 5) {
+                    for (String goal : goals) {
+                        grid.add(new RiskFeatures(age, BigDecimal.valueOf(income), experience, goal.trim()));
+                    }
+                }
+            }
+        }
+        HttpRiskPredictor http = new HttpRiskPredictor(PredictionServiceConfig.load());
+        Semaphore permits = new Semaphore(RECORD_CONCURRENCY);
+        List<CompletableFuture<RiskPrediction>> pending = new ArrayList<>(grid.size());
+        for (RiskFeatures features : grid) {
+            permits.acquire();
+            pending.add(http.predictAsync(features).whenComplete((prediction, failure) -> permits.release()));
+        }
+        List<RiskPrediction> predictions = new ArrayList<>(grid.size());
+        for (CompletableFuture<RiskPrediction> prediction : pending) {
+            predictions.add(prediction.join());
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(Paths.get(outFile), StandardCharsets.UTF_8)) {
+            for (int i = 0; i < grid.size(); i++) {
+                RiskFeatures f = grid.get(i);
+                writer.write(new JSONObject()
+                        .put("age", f.getAge())
+                        .put("income_lakhs", f.getIncomeLakhs())
+                        .put("investment_experience_years", f.getInvestmentExperienceYears())
+                        .put("financial_goal", f.getFinancialGoal())
+                        .put("predicted_risk_category", predictions.get(i).getPredictedRiskCategory())
+                        .put("confidence_score", predictions.get(i).getConfidenceScore())
+                        .toString());
+                writer.newLine();
+            }
+        }
+        System.out.println("Recorded " + grid.size() + " predictions to " + outFile);
+    }
+
+    private static boolean verify(String modelFile, String recordedFile) throws IOException {
+        LocalModelRiskPredictor local = LocalModelRiskPredictor.load(modelFile);
+        List<RiskFeatures> inputs = new ArrayList<>();
+        int checked = 0;
+        int mismatches = 0;
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(recordedFile), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                JSONObject row = new JSONObject(line);
+                RiskFeatures features = new RiskFeatures(row.getInt("age"), row.getBigDecimal("income_lakhs"),
+                        row.getInt("investment_experience_years"), row.getString("financial_goal"));
+                inputs.add(features);
+                RiskPrediction expected = new RiskPrediction(row.getString("predicted_risk_category"), row.getBigDecimal("confidence_score"));
+                RiskPrediction actual = local.predict(features);
+                checked++;
+                double confidenceDelta = Math.abs(expected.getConfidenceScore().doubleValue() - actual.getConfidenceScore().doubleValue());
+                if (!expected.getPredictedRiskCategory().equals(actual.getPredictedRiskCategory()) || confidenceDelta > CONFIDENCE_TOLERANCE) {
+                    mismatches++;
+                    if (mismatches <= 20) {
+                        System.out.println("Mismatch for " + features + ": expected " + expected + ", got " + actual);
+                    }
+                }
+            }
+        }
+        System.out.println("Checked " + checked + " recorded predictions against model " + local.getVersion() + ": " + mismatches + " mismatches.");
+        if (!inputs.isEmpty()) {
+            reportTiming(local, inputs);
+        }
+        return mismatches == 0;
+    }
+
+    // Times the primitive scoring core on the recorded inputs (after a warm-up round).
+    private static void reportTiming(LocalModelRiskPredictor local, List<RiskFeatures> inputs) {
+        int n = inputs.size();
+        int[] ages = new int[n];
+        double[] incomes = new double[n];
+        int[] experience = new int[n];
+        int[] goals = new int[n];
+        for (int i = 0; i < n; i++) {
+            RiskFeatures f = inputs.get(i);
+            ages[i] = f.getAge();
+            incomes[i] = f.getIncomeLakhs().doubleValue();
+            experience[i] = f.getInvestmentExperienceYears();
+            goals[i] = local.goalIndexOf(f.getFinancialGoal());
+        }
+        double[] probabilities = new double[local.getClasses().length];
+        long checksum = 0;
+        long elapsed = 0;
+        for (int round = 0; round < 2; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < TIMING_ROUNDS; i++) {
+                int k = i % n;
+                checksum += local.score(ages[k], incomes[k], experience[k], goals[k], probabilities);
+            }
+            elapsed = System.nanoTime() - start;
+        }
+        System.out.printf("In-process scoring: %.1f ns/prediction (checksum %d)%n", (double) elapsed / TIMING_ROUNDS, checksum);
+    }
+}
@@ -0,0 +1,48 @@
+package com.faizan.portfolioadvisor.ml;
+
+// src/main/java/com/faizan/portfolioadvisor/ml/PredictionClientStats.java
+
+/**
+ * Point-in-time counters of the HTTP prediction client's retries and hedged requests.
+ */
+public class PredictionClientStats {
+    private final long calls;
+    private final long retries;
+    private final long hedgesSent;
+    private final long hedgeWins;
+    private final long p95Millis;
+
+    public PredictionClientStats(long calls, long retries, long hedgesSent, long hedgeWins, long p95Millis) {
+        this.calls = calls;
+        this.retries = retries;
+        this.hedgesSent = hedgesSent;
+        this.hedgeWins = hedgeWins;
+        this.p95Millis = p95Millis;
+    }
+
+    // --- Getters ---
+    public long getCalls() { return calls; }
+    public long getRetries() { return retries; }
+    public long getHedgesSent() { return hedgesSent; }
+    public long getHedgeWins() { return hedgeWins; }
+    public long getP95Millis() { return p95Millis; }
+
+    /**
+     * @return The fraction of hedged requests that answered before the original, or 0 if none were sent.
+     */
+    public double getHedgeWinRate() {
+        return hedgesSent == 0 ? 0.0 : (double) hedgeWins / hedgesSent;
+    }
+
+    @Override
+    public String toString() {
+        return "PredictionClientStats{" +
+                "calls=" + calls +
+                ", retries=" + retries +
+                ", hedgesSent=" + hedgesSent +
+                ", hedgeWins=" + hedgeWins +
+                ", hedgeWinRate=" + String.format("%.3f", getHedgeWinRate()) +
+                ", p95Millis=" + p95Millis +
+                '}';
+    }
+}
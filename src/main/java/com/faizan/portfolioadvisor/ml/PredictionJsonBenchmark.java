@@ -0,0 +1,61 @@
+package com.faizan.portfolioadvisor.ml;
+
+// src/main/java/com/faizan/portfolioadvisor/ml/PredictionJsonBenchmark.java
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.function.IntSupplier;
+
+import org.json.JSONObject;
+
+/**
+ * Compares the org.json / String.format payload path with PredictionJsonCodec: time and heap bytes allocated
+ * per operation, measured on the current thread after a warm-up pass.
+ * <pre>java com.faizan.portfolioadvisor.ml.PredictionJsonBenchmark [iterations]</pre>
+ */
+public class PredictionJsonBenchmark {
+    private static final RiskFeatures FEATURES = new RiskFeatures(34, new BigDecimal("18.50"), 6, "Wealth Growth");
+    private static final String RESPONSE = "{\"confidence_score\": 0.87, \"model_version\": \"2024-06-01\", \"predicted_risk_category\": \"Moderate\"}";
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        System.out.printf("%-28s %12s %14s%n", "operation", "ns/op", "bytes/op");
+
+        run("encode: String.format", iterations, () -> String.format(
+                "{\"age\":%d, \"income_lakhs\":%s, \"investment_experience_years\":%d, \"financial_goal\":\"%s\"}",
+                FEATURES.getAge(), FEATURES.getIncomeLakhs().toString(), FEATURES.getInvestmentExperienceYears(), FEATURES.getFinancialGoal()
+        ).length());
+        run("encode: org.json", iterations, () -> new JSONObject()
+                .put("age", FEATURES.getAge())
+                .put("income_lakhs", FEATURES.getIncomeLakhs())
+                .put("investment_experience_years", FEATURES.getInvestmentExperienceYears())
+                .put("financial_goal", FEATURES.getFinancialGoal())
+                .toString().length());
+        run("encode: codec", iterations, () -> PredictionJsonCodec.encodeRequest(FEATURES).length());
+
+        run("decode: org.json", iterations, () -> {
+            JSONObject json = new JSONObject(RESPONSE);
+            return new RiskPrediction(json.getString("predicted_risk_category"), json.getBigDecimal("confidence_score"))
+                    .getPredictedRiskCategory().length();
+        });
+        run("decode: codec", iterations, () -> PredictionJsonCodec.decodePrediction(RESPONSE).getPredictedRiskCategory().length());
+    }
+
+    private static void run(String name, int iterations, IntSupplier operation) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long sink = 0;
+        // Warm-up so the JIT has compiled the operation before it is measured.
+        for (int i = 0; i < iterations; i++) {
+            sink += operation.getAsInt();
+        }
+        long bytesBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += operation.getAsInt();
+        }
+        long elapsed = System.nanoTime() - start;
+        long bytes = threads.getThreadAllocatedBytes(threadId) - bytesBefore;
+        System.out.printf("%-28s %12.1f %14.1f   (sink %d)%n", name, (double) elapsed / iterations, (double) bytes / iterations, sink);
+    }
+}
@@ -0,0 +1,368 @@
+package com.faizan.portfolioadvisor.ml;
+
+// src/main/java/com/faizan/portfolioadvisor/ml/PredictionJsonCodec.java
+
+import com.faizan.portfolioadvisor.exception.PredictionException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Purpose-built JSON writer and reader for the /predict_risk and /predict_risk_batch payloads.
+ * <ul>
+ *   <li>Requests are written into a per-thread StringBuilder that is reused between calls; the only allocation
+ *       is the final body String handed to the HttpClient. Strings are escaped per RFC 8259.</li>
+ *   <li>Responses are scanned in place: only predicted_risk_category and confidence_score are read, every other
+ *       member is skipped, and no DOM is built. Known categories are returned as shared constants and short
+ *       decimals are converted straight to BigDecimal without an intermediate String.</li>
+ * </ul>
+ */
+final class PredictionJsonCodec {
+    private static final String CATEGORY_KEY = "predicted_risk_category";
+    private static final String CONFIDENCE_KEY = "confidence_score";
+    private static final String[] KNOWN_CATEGORIES = {"Conservative", "Moderate", "Aggressive"};
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    // Buffers larger than this (from a huge batch) are not kept for reuse.
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+    private PredictionJsonCodec() {
+    }
+
+    /**
+     * @return The /predict_risk request body for the features.
+     */
+    static String encodeRequest(RiskFeatures features) {
+        StringBuilder sb = borrowBuffer();
+        appendRequest(sb, features);
+        return releaseBuffer(sb);
+    }
+
+    /**
+     * @return The /predict_risk_batch request body: a JSON array of request objects in list order.
+     */
+    static String encodeBatchRequest(List<RiskFeatures> features) {
+        StringBuilder sb = borrowBuffer();
+        sb.append('[');
+        for (int i = 0; i < features.size(); i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            appendRequest(sb, features.get(i));
+        }
+        sb.append(']');
+        return releaseBuffer(sb);
+    }
+
+    static void appendRequest(StringBuilder sb, RiskFeatures features) {
+        sb.append("{\"age\":").append(features.getAge())
+                // BigDecimal.toString() is cached by BigDecimal and is always a valid JSON number.
+                .append(",\"income_lakhs\":").append(features.getIncomeLakhs().toString())
+                .append(",\"investment_experience_years\":").append(features.getInvestmentExperienceYears())
+                .append(",\"financial_goal\":");
+        appendString(sb, features.getFinancialGoal());
+        sb.append('}');
+    }
+
+    /**
+     * Appends a quoted JSON string, escaping quotes, backslashes and control characters.
+     */
+    static void appendString(StringBuilder sb, String value) {
+        sb.append('"');
+        int runStart = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\' && c != '\u2028' && c != '\u2029') {
+                continue;
+            }
+            sb.append(value, runStart, i);
+            runStart = i + 1;
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                case '\b': sb.append("\\b"); break;
+                case '\f': sb.append("\\f"); break;
+                default:
+                    // Other control characters, plus U+2028/U+2029 which break JavaScript-based parsers.
+                    sb.append("\\u").append(HEX[(c >> 12) & 0xF]).append(HEX[(c >> 8) & 0xF])
+                            .append(HEX[(c >> 4) & 0xF]).append(HEX[c & 0xF]);
+            }
+        }
+        sb.append(value, runStart, value.length()).append('"');
+    }
+
+    /**
+     * Reads a /predict_risk response object.
+     * @throws PredictionException If the body is not a JSON object with both fields.
+     */
+    static RiskPrediction decodePrediction(String body) {
+        Scanner scanner = new Scanner(body);
+        scanner.skipWhitespace();
+        RiskPrediction prediction = scanner.readPrediction();
+        scanner.skipWhitespace();
+        scanner.expectEnd();
+        return prediction;
+    }
+
+    /**
+     * Reads a /predict_risk_batch response: a JSON array of prediction objects.
+     * @throws PredictionException If the body is malformed.
+     */
+    static List<RiskPrediction> decodeBatch(String body, int expectedCount) {
+        Scanner scanner = new Scanner(body);
+        List<RiskPrediction> predictions = new ArrayList<>(expectedCount);
+        scanner.skipWhitespace();
+        scanner.expect('[');
+        scanner.skipWhitespace();
+        if (!scanner.tryConsume(']')) {
+            do {
+                scanner.skipWhitespace();
+                predictions.add(scanner.readPrediction());
+                scanner.skipWhitespace();
+            } while (scanner.tryConsume(','));
+            scanner.expect(']');
+        }
+        scanner.skipWhitespace();
+        scanner.expectEnd();
+        return predictions;
+    }
+
+    private static StringBuilder borrowBuffer() {
+        StringBuilder sb = BUFFER.get();
+        sb.setLength(0);
+        return sb;
+    }
+
+    private static String releaseBuffer(StringBuilder sb) {
+        String result = sb.toString();
+        if (sb.capacity() > MAX_RETAINED_BUFFER) {
+            BUFFER.set(new StringBuilder(256));
+        }
+        return result;
+    }
+
+    /**
+     * A cursor over a JSON text. Only what the prediction payloads need is implemented.
+     */
+    private static final class Scanner {
+        private final String s;
+        private int pos;
+
+        private Scanner(String s) {
+            this.s = s;
+        }
+
+        RiskPrediction readPrediction() {
+            expect('{');
+            String category = null;
+            BigDecimal confidence = null;
+            skipWhitespace();
+            if (!tryConsume('}')) {
+                do {
+                    skipWhitespace();
+                    int keyStart = pos + 1;
+                    int keyEnd = skipString();
+                    skipWhitespace();
+                    expect(':');
+                    skipWhitespace();
+                    if (keyEquals(keyStart, keyEnd, CATEGORY_KEY)) {
+                        category = readString();
+                    } else if (keyEquals(keyStart, keyEnd, CONFIDENCE_KEY)) {
+                        confidence = readDecimal();
+                    } else {
+                        skipValue();
+                    }
+                    skipWhitespace();
+                } while (tryConsume(','));
+                expect('}');
+            }
+            if (category == null || confidence == null) {
+                throw error("missing " + (category == null ? CATEGORY_KEY : CONFIDENCE_KEY));
+            }
+            return new RiskPrediction(category, confidence);
+        }
+
+        // Keys are compared in place; escaped keys never match, which is fine for the fixed ASCII field names.
+        private boolean keyEquals(int start, int end, String key) {
+            return end - start == key.length() && s.regionMatches(start, key, 0, key.length());
+        }
+
+        private String readString() {
+            if (peek() != '"') {
+                throw error("expected a string");
+            }
+            int start = pos + 1;
+            int end = skipString();
+            int backslash = s.indexOf('\\', start);
+            if (backslash < 0 || backslash >= end) {
+                for (String known : KNOWN_CATEGORIES) {
+                    if (end - start == known.length() && s.regionMatches(start, known, 0, known.length())) {
+                        return known;
+                    }
+                }
+                return s.substring(start, end);
+            }
+            return unescape(start, end);
+        }
+
+        private String unescape(int start, int end) {
+            StringBuilder sb = new StringBuilder(end - start);
+            for (int i = start; i < end; i++) {
+                char c = s.charAt(i);
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+                char e = s.charAt(++i);
+                switch (e) {
+                    case 'n': sb.append('\n'); break;
+                    case 'r': sb.append('\r'); break;
+                    case 't': sb.append('\t'); break;
+                    case 'b': sb.append('\b'); break;
+                    case 'f': sb.append('\f'); break;
+                    case 'u':
+                        if (i + 4 >= end) {
+                            throw error("truncated \\u escape");
+                        }
+                        sb.append((char) Integer.parseInt(s.substring(i + 1, i + 5), 16));
+                        i += 4;
+                        break;
+                    default: sb.append(e); // \" \\ \/
+                }
+            }
+            return sb.toString();
+        }
+
+        private BigDecimal readDecimal() {
+            int start = pos;
+            boolean negative = tryConsume('-');
+            long unscaled = 0;
+            int digits = 0;
+            int scale = 0;
+            boolean fraction = false;
+            boolean simple = true;
+            while (pos < s.length()) {
+                char c = s.charAt(pos);
+                if (c >= '0' && c <= '9') {
+                    unscaled = unscaled * 10 + (c - '0');
+                    digits++;
+                    if (fraction) {
+                        scale++;
+                    }
+                } else if (c == '.' && !fraction) {
+                    fraction = true;
+                } else if (c == 'e' || c == 'E' || c == '+' || c == '-') {
+                    simple = false;
+                } else {
+                    break;
+                }
+                pos++;
+            }
+            if (digits == 0) {
+                throw error("expected a number");
+            }
+            if (simple && digits <= 18) {
+                return BigDecimal.valueOf(negative ? -unscaled : unscaled, scale);
+            }
+            try {
+                return new BigDecimal(s.substring(start, pos));
+            } catch (NumberFormatException e) {
+                throw error("invalid number");
+            }
+        }
+
+        // Returns the index of the closing quote's position (exclusive end of the content) and moves past it.
+        private int skipString() {
+            expect('"');
+            while (pos < s.length()) {
+                char c = s.charAt(pos);
+                if (c == '"') {
+                    return pos++;
+                }
+                pos += c == '\\' ? 2 : 1;
+            }
+            throw error("unterminated string");
+        }
+
+        private void skipValue() {
+            char c = peek();
+            if (c == '"') {
+                skipString();
+            } else if (c == '{' || c == '[') {
+                char close = c == '{' ? '}' : ']';
+                pos++;
+                skipWhitespace();
+                if (tryConsume(close)) {
+                    return;
+                }
+                do {
+                    skipWhitespace();
+                    if (close == '}') {
+                        skipString();
+                        skipWhitespace();
+                        expect(':');
+                        skipWhitespace();
+                    }
+                    skipValue();
+                    skipWhitespace();
+                } while (tryConsume(','));
+                expect(close);
+            } else {
+                // number, true, false or null
+                int start = pos;
+                while (pos < s.length() && ",}] \t\r\n".indexOf(s.charAt(pos)) < 0) {
+                    pos++;
+                }
+                if (pos == start) {
+                    throw error("expected a value");
+                }
+            }
+        }
+
+        void skipWhitespace() {
+            while (pos < s.length()) {
+                char c = s.charAt(pos);
+                if (c != ' ' && c != '\t' && c != '\n' && c != '\r') {
+                    return;
+                }
+                pos++;
+            }
+        }
+
+        boolean tryConsume(char c) {
+            if (pos < s.length() && s.charAt(pos) == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        void expect(char c) {
+            if (!tryConsume(c)) {
+                throw error("expected '" + c + "'");
+            }
+        }
+
+        void expectEnd() {
+            if (pos != s.length()) {
+                throw error("unexpected trailing content");
+            }
+        }
+
+        private char peek() {
+            if (pos >= s.length()) {
+                throw error("unexpected end of input");
+            }
+            return s.charAt(pos);
+        }
+
+        private PredictionException error(String message) {
+            return new PredictionException("ML service returned an unreadable response (" + message + " at offset " + pos + ").");
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.faizan.portfolioadvisor.ml;
+
+// src/main/java/com/faizan/portfolioadvisor/ml/PredictionServiceConfig.java
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Settings for talking to the risk prediction service.
+ * Defaults can be overridden in ml-service.properties on the classpath, or with the setters before the
+ * config is handed to PortfolioAdvisorService.
+ */
+public class PredictionServiceConfig {
+    private static final String ML_PROPERTIES_FILE = "ml-service.properties";
+
+    private String engine = "http";
+    private String localModelPath = "risk-model.json";
+    private String baseUrl = "http://localhost:5000";
+    private long connectTimeoutMillis = 10_000;
+    private long requestTimeoutMillis = 10_000;
+    private int maxInFlight = 64;
+    private int maxQueued = 10_000;
+    private int clientThreads = 4;
+    private int persistenceThreads = 4;
+    private int batchSize = 100;
+    private int retryMaxAttempts = 3;
+    private long retryBackoffMillis = 50;
+    private long retryMaxBackoffMillis = 1_000;
+    private boolean hedgeEnabled = false;
+    private int hedgeMinSamples = 100;
+    private long hedgeMinDelayMillis = 5;
+    private double hedgeMaxRatio = 0.1;
+    private String modelVersion = "1";
+    private int cacheMaxSize = 10_000;
+    private long cacheTtlMillis = 86_400_000;
+    private int cacheIncomeScale = 1;
+    private int breakerWindowSize = 50;
+    private int breakerMinimumCalls = 10;
+    private double breakerFailureRateThreshold = 0.5;
+    private long breakerSlowCallMillis = 2_000;
+    private double breakerSlowCallRateThreshold = 0.8;
+    private long breakerOpenMillis = 30_000;
+    private int breakerHalfOpenProbes = 3;
+    private double fallbackMaxConfidence = 0.40;
+
+    /**
+     * Loads ml-service.properties from the classpath. Missing keys (or a missing file) keep their defaults.
+     * @return The loaded configuration.
+     */
+    public static PredictionServiceConfig load() {
+        Properties properties = new Properties();
+        try (InputStream input = PredictionServiceConfig.class.getClassLoader().getResourceAsStream(ML_PROPERTIES_FILE)) {
+            if (input != null) {
+                properties.load(input);
+            }
+        } catch (IOException ex) {
+            throw new RuntimeException("Failed to load ML service properties: " + ex.getMessage(), ex);
+        }
+        return fromProperties(properties);
+    }
+
+    /**
+     * Builds a configuration from ml.* properties; missing keys keep their defaults.
+     */
+    public static PredictionServiceConfig fromProperties(Properties properties) {
+        PredictionServiceConfig config = new PredictionServiceConfig();
+        config.engine = properties.getProperty("ml.engine", config.engine).trim();
+        config.localModelPath = properties.getProperty("ml.local.modelPath", config.localModelPath).trim();
+        config.baseUrl = properties.getProperty("ml.baseUrl", config.baseUrl).trim();
+        config.connectTimeoutMillis = getLong(properties, "ml.connectTimeoutMs", config.connectTimeoutMillis);
+        config.requestTimeoutMillis = getLong(properties, "ml.requestTimeoutMs", config.requestTimeoutMillis);
+        config.maxInFlight = (int) getLong(properties, "ml.maxInFlight", config.maxInFlight);
+        config.maxQueued = (int) getLong(properties, "ml.maxQueued", config.maxQueued);
+        config.clientThreads = (int) getLong(properties, "ml.clientThreads", config.clientThreads);
+        config.persistenceThreads = (int) getLong(properties, "ml.persistenceThreads", config.persistenceThreads);
+        config.batchSize = (int) getLong(properties, "ml.batchSize", config.batchSize);
+        config.retryMaxAttempts = (int) getLong(properties, "ml.retry.maxAttempts", config.retryMaxAttempts);
+        config.retryBackoffMillis = getLong(properties, "ml.retry.backoffMs", config.retryBackoffMillis);
+        config.retryMaxBackoffMillis = getLong(properties, "ml.retry.maxBackoffMs", config.retryMaxBackoffMillis);
+        config.hedgeEnabled = Boolean.parseBoolean(properties.getProperty("ml.hedge.enabled", String.valueOf(config.hedgeEnabled)).trim());
+        config.hedgeMinSamples = (int) getLong(properties, "ml.hedge.minSamples", config.hedgeMinSamples);
+        config.hedgeMinDelayMillis = getLong(properties, "ml.hedge.minDelayMs", config.hedgeMinDelayMillis);
+        config.hedgeMaxRatio = getDouble(properties, "ml.hedge.maxRatio", config.hedgeMaxRatio);
+        config.modelVersion = properties.getProperty("ml.modelVersion", config.modelVersion).trim();
+        config.cacheMaxSize = (int) getLong(properties, "ml.cache.maxSize", config.cacheMaxSize);
+        config.cacheTtlMillis = getLong(properties, "ml.cache.ttlMs", config.cacheTtlMillis);
+        config.cacheIncomeScale = (int) getLong(properties, "ml.cache.incomeScale", config.cacheIncomeScale);
+        config.breakerWindowSize = (int) getLong(properties, "ml.breaker.windowSize", config.breakerWindowSize);
+        config.breakerMinimumCalls = (int) getLong(properties, "ml.breaker.minimumCalls", config.breakerMinimumCalls);
+        config.breakerFailureRateThreshold = getDouble(properties, "ml.breaker.failureRateThreshold", config.breakerFailureRateThreshold);
+        config.breakerSlowCallMillis = getLong(properties, "ml.breaker.slowCallMs", config.breakerSlowCallMillis);
+        config.breakerSlowCallRateThreshold = getDouble(properties, "ml.breaker.slowCallRateThreshold", config.breakerSlowCallRateThreshold);
+        config.breakerOpenMillis = getLong(properties, "ml.breaker.openMs", config.breakerOpenMillis);
+        config.breakerHalfOpenProbes = (int) getLong(properties, "ml.breaker.halfOpenProbes", config.breakerHalfOpenProbes);
+        config.fallbackMaxConfidence = getDouble(properties, "ml.fallback.maxConfidence", config.fallbackMaxConfidence);
+        return config;
+    }
+
+    private static double getDouble(Properties properties, String key, double defaultValue) {
+        String value = properties.getProperty(key);
+        return value == null ? defaultValue : Double.parseDouble(value.trim());
+    }
+
+    private static long getLong(Properties properties, String key, long defaultValue) {
+        String value = properties.getProperty(key);
+        return value == null ? defaultValue : Long.parseLong(value.trim());
+    }
+
+    // --- Getters ---
+    public String getEngine() { return engine; }
+    public String getLocalModelPath() { return localModelPath; }
+    public String getBaseUrl() { return baseUrl; }
+    public long getConnectTimeoutMillis() { return connectTimeoutMillis; }
+    public long getRequestTimeoutMillis() { return requestTimeoutMillis; }
+    public int getMaxInFlight() { return maxInFlight; }
+    public int getMaxQueued() { return maxQueued; }
+    public int getClientThreads() { return clientThreads; }
+    public int getPersistenceThreads() { return persistenceThreads; }
+    public int getBatchSize() { return batchSize; }
+    public int getRetryMaxAttempts() { return retryMaxAttempts; }
+    public long getRetryBackoffMillis() { return retryBackoffMillis; }
+    public long getRetryMaxBackoffMillis() { return retryMaxBackoffMillis; }
+    public boolean isHedgeEnabled() { return hedgeEnabled; }
+    public int getHedgeMinSamples() { return hedgeMinSamples; }
+    public long getHedgeMinDelayMillis() { return hedgeMinDelayMillis; }
+    public double getHedgeMaxRatio() { return hedgeMaxRatio; }
+    public String getModelVersion() { return modelVersion; }
+    public int getCacheMaxSize() { return cacheMaxSize; }
+    public long getCacheTtlMillis() { return cacheTtlMillis; }
+    public int getCacheIncomeScale() { return cacheIncomeScale; }
+    public int getBreakerWindowSize() { return breakerWindowSize; }
+    public int getBreakerMinimumCalls() { return breakerMinimumCalls; }
+    public double getBreakerFailureRateThreshold() { return breakerFailureRateThreshold; }
+    public long getBreakerSlowCallMillis() { return breakerSlowCallMillis; }
+    public double getBreakerSlowCallRateThreshold() { return breakerSlowCallRateThreshold; }
+    public long getBreakerOpenMillis() { return breakerOpenMillis; }
+    public int getBreakerHalfOpenProbes() { return breakerHalfOpenProbes; }
+    public double getFallbackMaxConfidence() { return fallbackMaxConfidence; }
+
+    // --- Setters ---
+    public void setEngine(String engine) { this.engine = engine; }
+    public void setLocalModelPath(String localModelPath) { this.localModelPath = localModelPath; }
+    public void setBaseUrl(String baseUrl) { this.baseUrl = baseUrl; }
+    public void setConnectTimeoutMillis(long connectTimeoutMillis) { this.connectTimeoutMillis = connectTimeoutMillis; }
+    public void setRequestTimeoutMillis(long requestTimeoutMillis) { this.requestTimeoutMillis = requestTimeoutMillis; }
+    public void setMaxInFlight(int maxInFlight) { this.maxInFlight = maxInFlight; }
+    public void setMaxQueued(int maxQueued) { this.maxQueued = maxQueued; }
+    public void setClientThreads(int clientThreads) { this.clientThreads = clientThreads; }
+    public void setPersistenceThreads(int persistenceThreads) { this.persistenceThreads = persistenceThreads; }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+    public void setRetryMaxAttempts(int retryMaxAttempts) { this.retryMaxAttempts = retryMaxAttempts; }
+    public void setRetryBackoffMillis(long retryBackoffMillis) { this.retryBackoffMillis = retryBackoffMillis; }
+    public void setRetryMaxBackoffMillis(long retryMaxBackoffMillis) { this.retryMaxBackoffMillis = retryMaxBackoffMillis; }
+    public void setHedgeEnabled(boolean hedgeEnabled) { this.hedgeEnabled = hedgeEnabled; }
+    public void setHedgeMinSamples(int hedgeMinSamples) { this.hedgeMinSamples = hedgeMinSamples; }
+    public void setHedgeMinDelayMillis(long hedgeMinDelayMillis) { this.hedgeMinDelayMillis = hedgeMinDelayMillis; }
+    public void setHedgeMaxRatio(double hedgeMaxRatio) { this.hedgeMaxRatio = hedgeMaxRatio; }
+    public void setModelVersion(String modelVersion) { this.modelVersion = modelVersion; }
+    public void setCacheMaxSize(int cacheMaxSize) { this.cacheMaxSize = cacheMaxSize; }
+    public void setCacheTtlMillis(long cacheTtlMillis) { this.cacheTtlMillis = cacheTtlMillis; }
+    public void setCacheIncomeScale(int cacheIncomeScale) { this.cacheIncomeScale = cacheIncomeScale; }
+    public void setBreakerWindowSize(int breakerWindowSize) { this.breakerWindowSize = breakerWindowSize; }
+    public void setBreakerMinimumCalls(int breakerMinimumCalls) { this.breakerMinimumCalls = breakerMinimumCalls; }
+    public void setBreakerFailureRateThreshold(double breakerFailureRateThreshold) { this.breakerFailureRateThreshold = breakerFailureRateThreshold; }
+    public void setBreakerSlowCallMillis(long breakerSlowCallMillis) { this.breakerSlowCallMillis = breakerSlowCallMillis; }
+    public void setBreakerSlowCallRateThreshold(double breakerSlowCallRateThreshold) { this.breakerSlowCallRateThreshold = breakerSlowCallRateThreshold; }
+    public void setBreakerOpenMillis(long breakerOpenMillis) { this.breakerOpenMillis = breakerOpenMillis; }
+    public void setBreakerHalfOpenProbes(int breakerHalfOpenProbes) { this.breakerHalfOpenProbes = breakerHalfOpenProbes; }
+    public void setFallbackMaxConfidence(double fallbackMaxConfidence) { this.fallbackMaxConfidence = fallbackMaxConfidence; }
+
+    @Override
+    public String toString() {
+        return "PredictionServiceConfig{" +
+                "engine='" + engine + '\'' +
+                ", localModelPath='" + localModelPath + '\'' +
+                ", baseUrl='" + baseUrl + '\'' +
+                ", connectTimeoutMillis=" + connectTimeoutMillis +
+                ", requestTimeoutMillis=" + requestTimeoutMillis +
+                ", maxInFlight=" + maxInFlight +
+                ", maxQueued=" + maxQueued +
+                ", clientThreads=" + clientThreads +
+                ", persistenceThreads=" + persistenceThreads +
+                ", batchSize=" + batchSize +
+                ", retryMaxAttempts=" + retryMaxAttempts +
+                ", retryBackoffMillis=" + retryBackoffMillis +
+                ", retryMaxBackoffMillis=" + retryMaxBackoffMillis +
+                ", hedgeEnabled=" + hedgeEnabled +
+                ", hedgeMinSamples=" + hedgeMinSamples +
+                ", hedgeMinDelayMillis=" + hedgeMinDelayMillis +
+                ", hedgeMaxRatio=" + hedgeMaxRatio +
+                ", modelVersion='" + modelVersion + '\'' +
+                ", cacheMaxSize=" + cacheMaxSize +
+                ", cacheTtlMillis=" + cacheTtlMillis +
+                ", cacheIncomeScale=" + cacheIncomeScale +
+                ", breakerWindowSize=" + breakerWindowSize +
+                ", breakerMinimumCalls=" + breakerMinimumCalls +
+                ", breakerFailureRateThreshold=" + breakerFailureRateThreshold +
+                ", breakerSlowCallMillis=" + breakerSlowCallMillis +
+                ", breakerSlowCallRateThreshold=" + breakerSlowCallRateThreshold +
+                ", breakerOpenMillis=" + breakerOpenMillis +
+                ", breakerHalfOpenProbes=" + breakerHalfOpenProbes +
+                ", fallbackMaxConfidence=" + fallbackMaxConfidence +
+                '}';
+    }
+}
@@ -0,0 +1,55 @@
+package com.faizan.portfolioadvisor.ml;
+
+// src/main/java/com/faizan/portfolioadvisor/ml/RiskFeatures.java
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * The inputs of the risk model for one user: exactly what is sent to /predict_risk.
+ * Immutable, so it can be shared between threads and used as a map key.
+ */
+public final class RiskFeatures {
+    private final int age;
+    private final BigDecimal incomeLakhs;
+    private final int investmentExperienceYears;
+    private final String financialGoal;
+
+    public RiskFeatures(int age, BigDecimal incomeLakhs, int investmentExperienceYears, String financialGoal) {
+        this.age = age;
+        this.incomeLakhs = Objects.requireNonNull(incomeLakhs, "incomeLakhs");
+        this.investmentExperienceYears = investmentExperienceYears;
+        this.financialGoal = Objects.requireNonNull(financialGoal, "financialGoal");
+    }
+
+    // --- Getters ---
+    public int getAge() { return age; }
+    public BigDecimal getIncomeLakhs() { return incomeLakhs; }
+    public int getInvestmentExperienceYears() { return investmentExperienceYears; }
+    public String getFinancialGoal() { return financialGoal; }
+
+    @Override
+    public String toString() {
+        return "RiskFeatures{" +
+                "age=" + age +
+                ", incomeLakhs=" + incomeLakhs +
+                ", investmentExperienceYears=" + investmentExperienceYears +
+                ", financialGoal='" + financialGoal + '\'' +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RiskFeatures that = (RiskFeatures) o;
+        // compareTo so that 12.5 and 12.50 are the same input.
+        return age == that.age && investmentExperienceYears == that.investmentExperienceYears
+                && incomeLakhs.compareTo(that.incomeLakhs) == 0 && financialGoal.equals(that.financialGoal);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(age, incomeLakhs.stripTrailingZeros(), investmentExperienceYears, financialGoal);
+    }
+}
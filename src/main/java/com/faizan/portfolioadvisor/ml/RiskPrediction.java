@@ -0,0 +1,39 @@
+package com.faizan.portfolioadvisor.ml;
+
+// src/main/java/com/faizan/portfolioadvisor/ml/RiskPrediction.java
+
+import java.math.BigDecimal;
+
+/**
+ * The risk model's answer for one set of RiskFeatures. Immutable.
+ */
+public final class RiskPrediction {
+    private final String predictedRiskCategory; // e.g., 'Conservative', 'Moderate', 'Aggressive'
+    private final BigDecimal confidenceScore;
+    // True when the answer came from the local fallback scorer rather than the ML model.
+    private final boolean fallback;
+
+    public RiskPrediction(String predictedRiskCategory, BigDecimal confidenceScore) {
+        this(predictedRiskCategory, confidenceScore, false);
+    }
+
+    public RiskPrediction(String predictedRiskCategory, BigDecimal confidenceScore, boolean fallback) {
+        this.predictedRiskCategory = predictedRiskCategory;
+        this.confidenceScore = confidenceScore;
+        this.fallback = fallback;
+    }
+
+    // --- Getters ---
+    public String getPredictedRiskCategory() { return predictedRiskCategory; }
+    public BigDecimal getConfidenceScore() { return confidenceScore; }
+    public boolean isFallback() { return fallback; }
+
+    @Override
+    public String toString() {
+        return "RiskPrediction{" +
+                "predictedRiskCategory='" + predictedRiskCategory + '\'' +
+                ", confidenceScore=" + confidenceScore +
+                ", fallback=" + fallback +
+                '}';
+    }
+}
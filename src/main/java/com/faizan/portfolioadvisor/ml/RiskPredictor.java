@@ -0,0 +1,83 @@
+package com.faizan.portfolioadvisor.ml;
+
+// src/main/java/com/faizan/portfolioadvisor/ml/RiskPredictor.java
+
+import com.faizan.portfolioadvisor.exception.PredictionException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Something that can turn RiskFeatures into a RiskPrediction: the remote ML service, or a
+ * decorator around another RiskPredictor. Implementations must be thread-safe.
+ */
+public interface RiskPredictor {
+
+    /**
+     * Starts a prediction without blocking the caller.
+     * @param features The model inputs.
+     * @return A future completed with the prediction, or exceptionally with a PredictionException.
+     */
+    CompletableFuture<RiskPrediction> predictAsync(RiskFeatures features);
+
+    /**
+     * Predicts many feature sets at once. The default simply issues one predictAsync per element;
+     * implementations that can talk to a batch endpoint override this.
+     * @param features The model inputs.
+     * @return A future completed with one prediction per input, in the same order.
+     */
+    default CompletableFuture<List<RiskPrediction>> predictBatchAsync(List<RiskFeatures> features) {
+        List<CompletableFuture<RiskPrediction>> futures = new ArrayList<>(features.size());
+        for (RiskFeatures f : features) {
+            futures.add(predictAsync(f));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignored -> {
+                    List<RiskPrediction> results = new ArrayList<>(futures.size());
+                    for (CompletableFuture<RiskPrediction> future : futures) {
+                        results.add(future.join());
+                    }
+                    return results;
+                });
+    }
+
+    /**
+     * Blocking variant of predictAsync.
+     * @throws PredictionException If the prediction failed.
+     */
+    default RiskPrediction predict(RiskFeatures features) {
+        return await(predictAsync(features));
+    }
+
+    /**
+     * Waits for a prediction future and rethrows its failure as the original PredictionException
+     * (or another unchecked exception) rather than a wrapped CompletionException.
+     */
+    static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PredictionException("Interrupted while waiting for the ML prediction service.", e);
+        } catch (ExecutionException e) {
+            throw toPredictionException(e.getCause());
+        }
+    }
+
+    /**
+     * Unwraps CompletionException layers and converts the failure into a PredictionException.
+     */
+    static RuntimeException toPredictionException(Throwable failure) {
+        Throwable cause = failure;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        return new PredictionException("Failed to connect to the ML prediction service.", cause);
+    }
+}
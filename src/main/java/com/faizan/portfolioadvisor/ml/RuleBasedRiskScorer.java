@@ -0,0 +1,78 @@
+package com.faizan.portfolioadvisor.ml;
+
+// src/main/java/com/faizan/portfolioadvisor/ml/RuleBasedRiskScorer.java
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Locale;
+
+/**
+ * A deterministic, in-JVM approximation of the risk model: the same features always give the same answer.
+ * Used by the offline stub server so the Java side can be exercised without the Python service, and as the
+ * fallback while the circuit breaker around the ML service is open.
+ */
+public class RuleBasedRiskScorer {
+    // Scores below CONSERVATIVE_MAX are Conservative, below MODERATE_MAX Moderate, the rest Aggressive.
+    private static final double CONSERVATIVE_MAX = 0.40;
+    private static final double MODERATE_MAX = 0.70;
+
+    /**
+     * @return A risk appetite score between 0 (most conservative) and 1 (most aggressive).
+     */
+    public double score(RiskFeatures features) {
+        // Younger investors have a longer horizon to recover from drawdowns.
+        double ageScore = clamp((65.0 - features.getAge()) / 45.0);
+        // Experience saturates after ~15 years.
+        double experienceScore = clamp(features.getInvestmentExperienceYears() / 15.0);
+        // Capacity for loss grows with income; saturates at 50 lakhs.
+        double incomeScore = clamp(features.getIncomeLakhs().doubleValue() / 50.0);
+        double goalScore = goalScore(features.getFinancialGoal());
+        return clamp(0.35 * ageScore + 0.25 * experienceScore + 0.15 * incomeScore + 0.25 * goalScore);
+    }
+
+    /**
+     * @return The category for the score, with a confidence that is lower near the category boundaries.
+     */
+    public RiskPrediction predict(RiskFeatures features) {
+        double score = score(features);
+        String category = categoryFor(score);
+        double distanceToBoundary = Math.min(Math.abs(score - CONSERVATIVE_MAX), Math.abs(score - MODERATE_MAX));
+        double confidence = Math.min(0.95, 0.55 + distanceToBoundary * 2.0);
+        return new RiskPrediction(category, BigDecimal.valueOf(confidence).setScale(2, RoundingMode.HALF_UP));
+    }
+
+    /**
+     * The same category as predict(), but with the confidence capped and the prediction flagged as a fallback,
+     * so callers (and anyone reading the saved profile) can tell it did not come from the model.
+     * @param maxConfidence The highest confidence a fallback prediction may report.
+     */
+    public RiskPrediction fallbackPrediction(RiskFeatures features, BigDecimal maxConfidence) {
+        RiskPrediction prediction = predict(features);
+        return new RiskPrediction(prediction.getPredictedRiskCategory(), prediction.getConfidenceScore().min(maxConfidence), true);
+    }
+
+    public static String categoryFor(double score) {
+        if (score < CONSERVATIVE_MAX) {
+            return "Conservative";
+        }
+        return score < MODERATE_MAX ? "Moderate" : "Aggressive";
+    }
+
+    private static double goalScore(String goal) {
+        String g = goal.toLowerCase(Locale.ROOT);
+        if (g.contains("retire") || g.contains("emergency") || g.contains("preserv") || g.contains("education")) {
+            return 0.2;
+        }
+        if (g.contains("growth") || g.contains("wealth") || g.contains("speculat")) {
+            return 0.9;
+        }
+        if (g.contains("home") || g.contains("house") || g.contains("car")) {
+            return 0.4;
+        }
+        return 0.5;
+    }
+
+    private static double clamp(double value) {
+        return Math.max(0.0, Math.min(1.0, value));
+    }
+}
@@ -0,0 +1,222 @@
+package com.faizan.portfolioadvisor.ml;
+
+// src/main/java/com/faizan/portfolioadvisor/ml/StubPredictionServer.java
+
+import com.faizan.portfolioadvisor.util.NamedThreadFactory;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * An in-JVM stand-in for the Python ML service, implementing /predict_risk and /predict_risk_batch with the
+ * deterministic RuleBasedRiskScorer. Latency and failures are injected according to StubServerOptions, so the
+ * Java side can be load-tested (and tail-latency problems reproduced) on a laptop. Point the client at it with
+ * ml.baseUrl, or from code with {@code config.setBaseUrl(stub.getBaseUrl())}:
+ * <pre>java com.faizan.portfolioadvisor.ml.StubPredictionServer port=5000 latency=lognormal latencyMs=20 latencySigma=0.6 tailProbability=0.01 tailLatencyMs=800 errorRate=0.02</pre>
+ * Delayed responses are sent from a scheduler, so a slow answer does not hold a handler thread.
+ */
+public class StubPredictionServer implements AutoCloseable {
+    private final RuleBasedRiskScorer scorer = new RuleBasedRiskScorer();
+    private final StubServerOptions options;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final ScheduledExecutorService delayer;
+    // java.util.Random is thread-safe; seeded so a single-threaded run injects the same latencies every time.
+    private final Random random;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder injectedErrors = new LongAdder();
+
+    /**
+     * Starts a stub that answers immediately and never fails.
+     * @param port The port to listen on; 0 picks a free port (see getPort()).
+     * @throws IOException If the port cannot be bound.
+     */
+    public StubPredictionServer(int port) throws IOException {
+        this(withPort(new StubServerOptions(), port));
+    }
+
+    /**
+     * Starts the stub on localhost.
+     * @param options Port, latency distribution and error rate.
+     * @throws IOException If the port cannot be bound.
+     */
+    public StubPredictionServer(StubServerOptions options) throws IOException {
+        this.options = options;
+        this.random = new Random(options.getSeed());
+        this.server = HttpServer.create(new InetSocketAddress("localhost", options.getPort()), 0);
+        this.executor = Executors.newCachedThreadPool(new NamedThreadFactory("stub-ml-handler"));
+        this.delayer = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("stub-ml-delay"));
+        server.setExecutor(executor);
+        server.createContext("/predict_risk", this::handleSingle);
+        server.createContext("/predict_risk_batch", this::handleBatch);
+        server.start();
+    }
+
+    private static StubServerOptions withPort(StubServerOptions options, int port) {
+        options.setPort(port);
+        return options;
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /** @return The value to use as ml.baseUrl. */
+    public String getBaseUrl() {
+        return "http://localhost:" + getPort();
+    }
+
+    public StubServerOptions getOptions() {
+        return options;
+    }
+
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    public long getInjectedErrorCount() {
+        return injectedErrors.sum();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        delayer.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    private void handleSingle(HttpExchange exchange) throws IOException {
+        requests.increment();
+        try {
+            JSONObject request = new JSONObject(readBody(exchange));
+            answer(exchange, 1, toJson(scorer.predict(toFeatures(request))).toString());
+        } catch (JSONException e) {
+            respond(exchange, 400, new JSONObject().put("error", e.getMessage()).toString());
+        }
+    }
+
+    private void handleBatch(HttpExchange exchange) throws IOException {
+        requests.increment();
+        try {
+            JSONArray items = new JSONArray(readBody(exchange));
+            JSONArray results = new JSONArray();
+            for (int i = 0; i < items.length(); i++) {
+                results.put(toJson(scorer.predict(toFeatures(items.getJSONObject(i)))));
+            }
+            answer(exchange, items.length(), results.toString());
+        } catch (JSONException e) {
+            respond(exchange, 400, new JSONObject().put("error", e.getMessage()).toString());
+        }
+    }
+
+    // Sends the answer (or an injected 500) after the simulated latency.
+    private void answer(HttpExchange exchange, int items, String body) throws IOException {
+        boolean fail = random.nextDouble() < options.getErrorRate();
+        String responseBody = body;
+        int status = 200;
+        if (fail) {
+            injectedErrors.increment();
+            status = 500;
+            responseBody = new JSONObject().put("error", "Injected failure from the stub ML service").toString();
+        }
+        long delayMicros = Math.round(sampleLatencyMillis(items) * 1000.0);
+        if (delayMicros <= 0) {
+            respond(exchange, status, responseBody);
+            return;
+        }
+        int finalStatus = status;
+        String finalBody = responseBody;
+        delayer.schedule(() -> {
+            try {
+                respond(exchange, finalStatus, finalBody);
+            } catch (IOException e) {
+                // The client gave up (e.g. its deadline passed) and closed the connection.
+                exchange.close();
+            }
+        }, delayMicros, TimeUnit.MICROSECONDS);
+    }
+
+    private double sampleLatencyMillis(int items) {
+        double latency;
+        switch (options.getLatencyModel()) {
+            case UNIFORM:
+                double min = options.getLatencyMillis();
+                latency = min + random.nextDouble() * Math.max(0, options.getLatencyMaxMillis() - min);
+                break;
+            case LOGNORMAL:
+                latency = options.getLatencyMillis() * Math.exp(options.getLatencySigma() * random.nextGaussian());
+                break;
+            default:
+                latency = options.getLatencyMillis();
+        }
+        if (options.getTailProbability() > 0 && random.nextDouble() < options.getTailProbability()) {
+            latency += options.getTailLatencyMillis();
+        }
+        return latency + options.getBatchItemLatencyMillis() * (items - 1);
+    }
+
+    private static RiskFeatures toFeatures(JSONObject json) {
+        return new RiskFeatures(
+                json.getInt("age"),
+                json.getBigDecimal("income_lakhs"),
+                json.getInt("investment_experience_years"),
+                json.getString("financial_goal"));
+    }
+
+    private static JSONObject toJson(RiskPrediction prediction) {
+        return new JSONObject()
+                .put("predicted_risk_category", prediction.getPredictedRiskCategory())
+                .put("confidence_score", prediction.getConfidenceScore());
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * @param args key=value options (see StubServerOptions.fromProperties); a bare number is taken as the port.
+     */
+    public static void main(String[] args) throws IOException {
+        Properties properties = new Properties();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                properties.setProperty("port", arg);
+            } else {
+                properties.setProperty(arg.substring(0, eq), arg.substring(eq + 1));
+            }
+        }
+        StubPredictionServer stub = new StubPredictionServer(StubServerOptions.fromProperties(properties));
+        System.out.println("Stub ML prediction service listening on " + stub.getBaseUrl()
+                + " (/predict_risk, /predict_risk_batch) with " + stub.getOptions() + ". Sample: "
+                + new RuleBasedRiskScorer().predict(new RiskFeatures(30, new BigDecimal("12.5"), 3, "Wealth Growth")));
+    }
+}
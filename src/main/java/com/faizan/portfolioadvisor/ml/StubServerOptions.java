@@ -0,0 +1,96 @@
+package com.faizan.portfolioadvisor.ml;
+
+// src/main/java/com/faizan/portfolioadvisor/ml/StubServerOptions.java
+
+import java.util.Properties;
+
+/**
+ * Behaviour of the StubPredictionServer: how long it takes to answer and how often it fails.
+ * Latency models:
+ * <ul>
+ *   <li>fixed: always latencyMs.</li>
+ *   <li>uniform: uniformly between latencyMs and latencyMaxMs.</li>
+ *   <li>lognormal: median latencyMs, shape latencySigma (0.5 gives p99 of about 3.2x the median).</li>
+ * </ul>
+ * On top of the model, a fraction tailProbability of requests is delayed by a further tailLatencyMs, to
+ * reproduce the occasional GC pause or cold worker; batches add batchItemLatencyMs per element.
+ * A fraction errorRate of requests is answered with HTTP 500. Answers themselves are always deterministic.
+ */
+public class StubServerOptions {
+    public enum LatencyModel { FIXED, UNIFORM, LOGNORMAL }
+
+    private int port = 5000;
+    private LatencyModel latencyModel = LatencyModel.FIXED;
+    private double latencyMillis = 0;
+    private double latencyMaxMillis = 0;
+    private double latencySigma = 0.5;
+    private double tailProbability = 0;
+    private double tailLatencyMillis = 0;
+    private double batchItemLatencyMillis = 0;
+    private double errorRate = 0;
+    private long seed = 42;
+
+    /**
+     * Builds options from keys without a prefix (port, latency, latencyMs, latencyMaxMs, latencySigma,
+     * tailProbability, tailLatencyMs, batchItemLatencyMs, errorRate, seed); missing keys keep their defaults.
+     */
+    public static StubServerOptions fromProperties(Properties properties) {
+        StubServerOptions options = new StubServerOptions();
+        options.port = Integer.parseInt(properties.getProperty("port", String.valueOf(options.port)).trim());
+        options.latencyModel = LatencyModel.valueOf(properties.getProperty("latency", options.latencyModel.name()).trim().toUpperCase());
+        options.latencyMillis = getDouble(properties, "latencyMs", options.latencyMillis);
+        options.latencyMaxMillis = getDouble(properties, "latencyMaxMs", options.latencyMaxMillis);
+        options.latencySigma = getDouble(properties, "latencySigma", options.latencySigma);
+        options.tailProbability = getDouble(properties, "tailProbability", options.tailProbability);
+        options.tailLatencyMillis = getDouble(properties, "tailLatencyMs", options.tailLatencyMillis);
+        options.batchItemLatencyMillis = getDouble(properties, "batchItemLatencyMs", options.batchItemLatencyMillis);
+        options.errorRate = getDouble(properties, "errorRate", options.errorRate);
+        options.seed = Long.parseLong(properties.getProperty("seed", String.valueOf(options.seed)).trim());
+        return options;
+    }
+
+    private static double getDouble(Properties properties, String key, double defaultValue) {
+        String value = properties.getProperty(key);
+        return value == null ? defaultValue : Double.parseDouble(value.trim());
+    }
+
+    // --- Getters ---
+    public int getPort() { return port; }
+    public LatencyModel getLatencyModel() { return latencyModel; }
+    public double getLatencyMillis() { return latencyMillis; }
+    public double getLatencyMaxMillis() { return latencyMaxMillis; }
+    public double getLatencySigma() { return latencySigma; }
+    public double getTailProbability() { return tailProbability; }
+    public double getTailLatencyMillis() { return tailLatencyMillis; }
+    public double getBatchItemLatencyMillis() { return batchItemLatencyMillis; }
+    public double getErrorRate() { return errorRate; }
+    public long getSeed() { return seed; }
+
+    // --- Setters ---
+    public void setPort(int port) { this.port = port; }
+    public void setLatencyModel(LatencyModel latencyModel) { this.latencyModel = latencyModel; }
+    public void setLatencyMillis(double latencyMillis) { this.latencyMillis = latencyMillis; }
+    public void setLatencyMaxMillis(double latencyMaxMillis) { this.latencyMaxMillis = latencyMaxMillis; }
+    public void setLatencySigma(double latencySigma) { this.latencySigma = latencySigma; }
+    public void setTailProbability(double tailProbability) { this.tailProbability = tailProbability; }
+    public void setTailLatencyMillis(double tailLatencyMillis) { this.tailLatencyMillis = tailLatencyMillis; }
+    public void setBatchItemLatencyMillis(double batchItemLatencyMillis) { this.batchItemLatencyMillis = batchItemLatencyMillis; }
+    public void setErrorRate(double errorRate) { this.errorRate = errorRate; }
+    public void setSeed(long seed) { this.seed = seed; }
+
+    @Override
+    public String toString() {
+        return "StubServerOptions{" +
+                "port=" + port +
+                ", latencyModel=" + latencyModel +
+                ", latencyMillis=" + latencyMillis +
+                ", latencyMaxMillis=" + latencyMaxMillis +
+                ", latencySigma=" + latencySigma +
+                ", tailProbability=" + tailProbability +
+                ", tailLatencyMillis=" + tailLatencyMillis +
+                ", batchItemLatencyMillis=" + batchItemLatencyMillis +
+                ", errorRate=" + errorRate +
+                ", seed=" + seed +
+                '}';
+    }
+}
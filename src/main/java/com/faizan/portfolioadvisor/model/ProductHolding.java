@@ -0,0 +1,50 @@
+// src/main/java/com/faizan/portfolioadvisor/model/ProductHolding.java
+package com.faizan.portfolioadvisor.model;
+
+import java.math.BigDecimal;
+
+// One product position in an optimized ProductPortfolio.
+public class ProductHolding {
+    private int productId;
+    private String productName;
+    private String assetClass; // 'Equity', 'Debt' or 'Alternative'
+    private BigDecimal weight; // Fraction of the invested amount, e.g. 0.1250
+    private BigDecimal amount; // Amount to invest in this product
+
+    // Default constructor
+    public ProductHolding() {
+    }
+
+    public ProductHolding(int productId, String productName, String assetClass, BigDecimal weight, BigDecimal amount) {
+        this.productId = productId;
+        this.productName = productName;
+        this.assetClass = assetClass;
+        this.weight = weight;
+        this.amount = amount;
+    }
+
+    // --- Getters ---
+    public int getProductId() { return productId; }
+    public String getProductName() { return productName; }
+    public String getAssetClass() { return assetClass; }
+    public BigDecimal getWeight() { return weight; }
+    public BigDecimal getAmount() { return amount; }
+
+    // --- Setters ---
+    public void setProductId(int productId) { this.productId = productId; }
+    public void setProductName(String productName) { this.productName = productName; }
+    public void setAssetClass(String assetClass) { this.assetClass = assetClass; }
+    public void setWeight(BigDecimal weight) { this.weight = weight; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+    @Override
+    public String toString() {
+        return "ProductHolding{" +
+                "productId=" + productId +
+                ", productName='" + productName + '\'' +
+                ", assetClass='" + assetClass + '\'' +
+                ", weight=" + weight +
+                ", amount=" + amount +
+                '}';
+    }
+}
@@ -0,0 +1,58 @@
+// src/main/java/com/faizan/portfolioadvisor/model/ProductPortfolio.java
+package com.faizan.portfolioadvisor.model;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+// A concrete, product-level portfolio built by the optimizer for one user.
+public class ProductPortfolio {
+    private int userId;
+    private BigDecimal investmentAmount;
+    private List<ProductHolding> holdings = new ArrayList<>();
+    private BigDecimal uninvestedAmount; // Left over when no product could take it (e.g. minimum investments too high)
+    private BigDecimal expectedReturnRate; // Weighted expected return, in percent like FinancialProduct
+    private BigDecimal expectedVolatility; // Estimated annual volatility, in percent
+
+    // Default constructor
+    public ProductPortfolio() {
+    }
+
+    public ProductPortfolio(int userId, BigDecimal investmentAmount, List<ProductHolding> holdings, BigDecimal uninvestedAmount,
+                            BigDecimal expectedReturnRate, BigDecimal expectedVolatility) {
+        this.userId = userId;
+        this.investmentAmount = investmentAmount;
+        this.holdings = holdings;
+        this.uninvestedAmount = uninvestedAmount;
+        this.expectedReturnRate = expectedReturnRate;
+        this.expectedVolatility = expectedVolatility;
+    }
+
+    // --- Getters ---
+    public int getUserId() { return userId; }
+    public BigDecimal getInvestmentAmount() { return investmentAmount; }
+    public List<ProductHolding> getHoldings() { return holdings; }
+    public BigDecimal getUninvestedAmount() { return uninvestedAmount; }
+    public BigDecimal getExpectedReturnRate() { return expectedReturnRate; }
+    public BigDecimal getExpectedVolatility() { return expectedVolatility; }
+
+    // --- Setters ---
+    public void setUserId(int userId) { this.userId = userId; }
+    public void setInvestmentAmount(BigDecimal investmentAmount) { this.investmentAmount = investmentAmount; }
+    public void setHoldings(List<ProductHolding> holdings) { this.holdings = holdings; }
+    public void setUninvestedAmount(BigDecimal uninvestedAmount) { this.uninvestedAmount = uninvestedAmount; }
+    public void setExpectedReturnRate(BigDecimal expectedReturnRate) { this.expectedReturnRate = expectedReturnRate; }
+    public void setExpectedVolatility(BigDecimal expectedVolatility) { this.expectedVolatility = expectedVolatility; }
+
+    @Override
+    public String toString() {
+        return "ProductPortfolio{" +
+                "userId=" + userId +
+                ", investmentAmount=" + investmentAmount +
+                ", holdings=" + holdings.size() +
+                ", uninvestedAmount=" + uninvestedAmount +
+                ", expectedReturnRate=" + expectedReturnRate +
+                ", expectedVolatility=" + expectedVolatility +
+                '}';
+    }
+}
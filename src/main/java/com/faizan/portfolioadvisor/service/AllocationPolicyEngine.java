@@ -0,0 +1,328 @@
+package com.faizan.portfolioadvisor.service;
+
+// src/main/java/com/faizan/portfolioadvisor/service/AllocationPolicyEngine.java
+
+import com.faizan.portfolioadvisor.exception.InvalidInputException;
+import com.faizan.portfolioadvisor.model.PortfolioAllocation;
+import com.faizan.portfolioadvisor.model.UserRiskProfile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Turns a risk profile into a recommended asset split using a table loaded from allocation-policy.properties
+ * (see that file for the format) instead of hard-coded rules.
+ * <p>
+ * Loading parses and validates everything up front into an immutable table: one AllocationTemplate per
+ * category plus the refinement rules that can apply to it, already in evaluation order. A recommendation is
+ * then a HashMap lookup on the category and a scan of a few primitive comparisons; nothing is parsed and no
+ * BigDecimal is created. reload() builds a new table and swaps it in with a single volatile write, so callers
+ * see either the old or the new policy, never a mix; a table that fails validation is rejected and the old
+ * one stays in place.
+ */
+public class AllocationPolicyEngine {
+    public static final String DEFAULT_POLICY_FILE = "allocation-policy.properties";
+    private static final String DEFAULT_CATEGORY = "default";
+    private static final BigDecimal ONE = BigDecimal.ONE;
+
+    private final String location;
+    private volatile PolicyTable table;
+
+    /**
+     * Loads the policy from allocation-policy.properties on the classpath.
+     */
+    public static AllocationPolicyEngine load() {
+        return new AllocationPolicyEngine(DEFAULT_POLICY_FILE);
+    }
+
+    /**
+     * @param location A file system path or, if no such file exists, a classpath resource name. It is
+     *                 read again on every reload(), so an edited file takes effect without a restart.
+     * @throws InvalidInputException If the policy cannot be read or is invalid.
+     */
+    public AllocationPolicyEngine(String location) {
+        this.location = location;
+        this.table = PolicyTable.parse(readProperties(location));
+    }
+
+    /**
+     * Builds a policy directly from properties (e.g. loaded from a database table by the caller).
+     */
+    public static AllocationPolicyEngine fromProperties(Properties properties) {
+        return new AllocationPolicyEngine(null, PolicyTable.parse(properties));
+    }
+
+    private AllocationPolicyEngine(String location, PolicyTable table) {
+        this.location = location;
+        this.table = table;
+    }
+
+    /**
+     * @param riskProfile The user's latest risk profile.
+     * @return A new, unsaved PortfolioAllocation for the profile's user.
+     */
+    public PortfolioAllocation recommend(UserRiskProfile riskProfile) {
+        return templateFor(riskProfile).toAllocation(riskProfile.getUserId());
+    }
+
+    /**
+     * @return The template the current policy picks for the profile.
+     */
+    public AllocationTemplate templateFor(UserRiskProfile riskProfile) {
+        PolicyTable current = table;
+        CategoryPolicy policy = current.lookup(riskProfile.getPredictedRiskCategory());
+        if (policy.rules.length > 0) {
+            Integer age = riskProfile.getAge();
+            BigDecimal confidence = riskProfile.getConfidenceScore();
+            String goal = riskProfile.getFinancialGoal();
+            double confidenceValue = confidence != null ? confidence.doubleValue() : Double.NaN;
+            int ageValue = age != null ? age : Integer.MIN_VALUE;
+            for (Rule rule : policy.rules) {
+                if (rule.matches(confidence != null, confidenceValue, age != null, ageValue, goal)) {
+                    return rule.template;
+                }
+            }
+        }
+        return policy.base;
+    }
+
+    /**
+     * Re-reads the policy from its location and atomically replaces the current one.
+     * @throws InvalidInputException If the new policy is invalid; the current policy is kept in that case.
+     */
+    public void reload() {
+        if (location == null) {
+            throw new IllegalStateException("This allocation policy was not loaded from a file.");
+        }
+        reload(readProperties(location));
+    }
+
+    /**
+     * Atomically replaces the current policy with one built from the given properties.
+     * @throws InvalidInputException If the new policy is invalid; the current policy is kept in that case.
+     */
+    public void reload(Properties properties) {
+        this.table = PolicyTable.parse(properties);
+    }
+
+    private static Properties readProperties(String location) {
+        Properties properties = new Properties();
+        try {
+            Path path = Paths.get(location);
+            if (Files.isRegularFile(path)) {
+                try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                    properties.load(reader);
+                }
+                return properties;
+            }
+            try (InputStream input = AllocationPolicyEngine.class.getClassLoader().getResourceAsStream(location)) {
+                if (input == null) {
+                    throw new InvalidInputException("Allocation policy not found: " + location);
+                }
+                properties.load(input);
+            }
+            return properties;
+        } catch (IOException e) {
+            throw new InvalidInputException("Failed to read allocation policy " + location + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * The immutable result of parsing one version of the policy.
+     */
+    private static final class PolicyTable {
+        // Exact-match index (with the usual spellings of each category precomputed), then a case-insensitive fallback.
+        private final Map<String, CategoryPolicy> byCategory;
+        private final TreeMap<String, CategoryPolicy> byCategoryIgnoreCase;
+        private final CategoryPolicy defaultPolicy;
+
+        private PolicyTable(Map<String, CategoryPolicy> byCategory, TreeMap<String, CategoryPolicy> byCategoryIgnoreCase,
+                            CategoryPolicy defaultPolicy) {
+            this.byCategory = byCategory;
+            this.byCategoryIgnoreCase = byCategoryIgnoreCase;
+            this.defaultPolicy = defaultPolicy;
+        }
+
+        CategoryPolicy lookup(String category) {
+            if (category == null) {
+                return defaultPolicy;
+            }
+            CategoryPolicy policy = byCategory.get(category);
+            if (policy == null) {
+                policy = byCategoryIgnoreCase.getOrDefault(category, defaultPolicy);
+            }
+            return policy;
+        }
+
+        static PolicyTable parse(Properties properties) {
+            Map<String, AllocationTemplate> baseTemplates = new HashMap<>();
+            TreeMap<Integer, Rule> rulesByNumber = new TreeMap<>();
+            for (String key : properties.stringPropertyNames()) {
+                String[] parts = key.split("\\.");
+                if (parts.length == 3 && parts[0].equals("allocation") && parts[2].equals("equity")) {
+                    String category = parts[1].toLowerCase(Locale.ROOT);
+                    baseTemplates.put(category, parseTemplate(properties, "allocation." + parts[1] + "."));
+                } else if (parts.length == 3 && parts[0].equals("rule") && parts[2].equals("equity")) {
+                    int number;
+                    try {
+                        number = Integer.parseInt(parts[1]);
+                    } catch (NumberFormatException e) {
+                        throw new InvalidInputException("Allocation rule number is not an integer: " + key);
+                    }
+                    rulesByNumber.put(number, parseRule(properties, "rule." + parts[1] + "."));
+                }
+            }
+            AllocationTemplate defaultTemplate = baseTemplates.get(DEFAULT_CATEGORY);
+            if (defaultTemplate == null) {
+                throw new InvalidInputException("Allocation policy has no allocation.default.* split.");
+            }
+
+            // Each category gets the rules that name it or no category, in rule-number order.
+            Map<String, CategoryPolicy> byCategory = new HashMap<>();
+            TreeMap<String, CategoryPolicy> byCategoryIgnoreCase = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            for (Map.Entry<String, AllocationTemplate> entry : baseTemplates.entrySet()) {
+                String category = entry.getKey();
+                CategoryPolicy policy = new CategoryPolicy(entry.getValue(), rulesFor(category, rulesByNumber));
+                byCategoryIgnoreCase.put(category, policy);
+                byCategory.put(category, policy);
+                byCategory.put(category.toUpperCase(Locale.ROOT), policy);
+                byCategory.put(Character.toUpperCase(category.charAt(0)) + category.substring(1), policy);
+            }
+            CategoryPolicy defaultPolicy = new CategoryPolicy(defaultTemplate, rulesFor(null, rulesByNumber));
+            // Rules for a category without its own base split still apply to it, on top of the default split.
+            for (Rule rule : rulesByNumber.values()) {
+                if (rule.category != null && !byCategoryIgnoreCase.containsKey(rule.category)) {
+                    CategoryPolicy policy = new CategoryPolicy(defaultTemplate, rulesFor(rule.category, rulesByNumber));
+                    byCategoryIgnoreCase.put(rule.category, policy);
+                }
+            }
+            return new PolicyTable(byCategory, byCategoryIgnoreCase, defaultPolicy);
+        }
+
+        private static Rule[] rulesFor(String category, TreeMap<Integer, Rule> rulesByNumber) {
+            List<Rule> rules = new ArrayList<>();
+            for (Rule rule : rulesByNumber.values()) {
+                if (rule.category == null || (category != null && rule.category.equalsIgnoreCase(category))) {
+                    rules.add(rule);
+                }
+            }
+            return rules.toArray(new Rule[0]);
+        }
+
+        private static AllocationTemplate parseTemplate(Properties properties, String prefix) {
+            BigDecimal equity = parsePct(properties, prefix + "equity");
+            BigDecimal debt = parsePct(properties, prefix + "debt");
+            BigDecimal alternative = parsePct(properties, prefix + "alternative");
+            if (equity.add(debt).add(alternative).compareTo(ONE) != 0) {
+                throw new InvalidInputException("Allocation " + prefix + "* does not add up to 1: "
+                        + equity + " + " + debt + " + " + alternative);
+            }
+            String details = properties.getProperty(prefix + "details", "").trim();
+            return new AllocationTemplate(equity, debt, alternative, details);
+        }
+
+        private static Rule parseRule(Properties properties, String prefix) {
+            String category = properties.getProperty(prefix + "category");
+            if (category != null && (category.trim().isEmpty() || category.trim().equals("*"))) {
+                category = null;
+            }
+            String goal = properties.getProperty(prefix + "goal");
+            return new Rule(
+                    category != null ? category.trim().toLowerCase(Locale.ROOT) : null,
+                    parseDouble(properties, prefix + "minConfidence", Double.NEGATIVE_INFINITY),
+                    parseDouble(properties, prefix + "maxConfidence", Double.POSITIVE_INFINITY),
+                    (int) parseDouble(properties, prefix + "minAge", Integer.MIN_VALUE),
+                    (int) parseDouble(properties, prefix + "maxAge", Integer.MAX_VALUE),
+                    properties.containsKey(prefix + "minConfidence") || properties.containsKey(prefix + "maxConfidence"),
+                    properties.containsKey(prefix + "minAge") || properties.containsKey(prefix + "maxAge"),
+                    goal != null && !goal.trim().isEmpty() ? goal.trim() : null,
+                    parseTemplate(properties, prefix));
+        }
+
+        private static BigDecimal parsePct(Properties properties, String key) {
+            String value = properties.getProperty(key);
+            if (value == null) {
+                throw new InvalidInputException("Allocation policy is missing " + key + ".");
+            }
+            try {
+                BigDecimal pct = new BigDecimal(value.trim());
+                if (pct.signum() < 0 || pct.compareTo(ONE) > 0) {
+                    throw new InvalidInputException("Allocation " + key + " must be between 0 and 1: " + value);
+                }
+                return pct;
+            } catch (NumberFormatException e) {
+                throw new InvalidInputException("Allocation " + key + " is not a number: " + value);
+            }
+        }
+
+        private static double parseDouble(Properties properties, String key, double defaultValue) {
+            String value = properties.getProperty(key);
+            if (value == null) {
+                return defaultValue;
+            }
+            try {
+                return Double.parseDouble(value.trim());
+            } catch (NumberFormatException e) {
+                throw new InvalidInputException("Allocation " + key + " is not a number: " + value);
+            }
+        }
+    }
+
+    private static final class CategoryPolicy {
+        private final AllocationTemplate base;
+        private final Rule[] rules;
+
+        private CategoryPolicy(AllocationTemplate base, Rule[] rules) {
+            this.base = base;
+            this.rules = rules;
+        }
+    }
+
+    private static final class Rule {
+        private final String category; // lower case, or null for any
+        private final double minConfidence;
+        private final double maxConfidence;
+        private final int minAge;
+        private final int maxAge;
+        private final boolean needsConfidence;
+        private final boolean needsAge;
+        private final String goal;
+        private final AllocationTemplate template;
+
+        private Rule(String category, double minConfidence, double maxConfidence, int minAge, int maxAge,
+                     boolean needsConfidence, boolean needsAge, String goal, AllocationTemplate template) {
+            this.category = category;
+            this.minConfidence = minConfidence;
+            this.maxConfidence = maxConfidence;
+            this.minAge = minAge;
+            this.maxAge = maxAge;
+            this.needsConfidence = needsConfidence;
+            this.needsAge = needsAge;
+            this.goal = goal;
+            this.template = template;
+        }
+
+        boolean matches(boolean hasConfidence, double confidence, boolean hasAge, int age, String profileGoal) {
+            if (needsConfidence && (!hasConfidence || confidence < minConfidence || confidence >= maxConfidence)) {
+                return false;
+            }
+            if (needsAge && (!hasAge || age < minAge || age > maxAge)) {
+                return false;
+            }
+            return goal == null || goal.equalsIgnoreCase(profileGoal);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.faizan.portfolioadvisor.service;
+
+// src/main/java/com/faizan/portfolioadvisor/service/AllocationTemplate.java
+
+import com.faizan.portfolioadvisor.model.PortfolioAllocation;
+
+import java.math.BigDecimal;
+
+/**
+ * A precomputed, immutable asset split from the allocation policy. The BigDecimal values are parsed once when
+ * the policy is loaded and shared by every PortfolioAllocation created from the template.
+ */
+public final class AllocationTemplate {
+    private final BigDecimal equityPct;
+    private final BigDecimal debtPct;
+    private final BigDecimal alternativePct;
+    private final String details;
+
+    AllocationTemplate(BigDecimal equityPct, BigDecimal debtPct, BigDecimal alternativePct, String details) {
+        this.equityPct = equityPct;
+        this.debtPct = debtPct;
+        this.alternativePct = alternativePct;
+        this.details = details;
+    }
+
+    /**
+     * @return A new (unsaved) PortfolioAllocation for the user with this template's split.
+     */
+    public PortfolioAllocation toAllocation(int userId) {
+        return new PortfolioAllocation(userId, equityPct, debtPct, alternativePct, details);
+    }
+
+    // --- Getters ---
+    public BigDecimal getEquityPct() { return equityPct; }
+    public BigDecimal getDebtPct() { return debtPct; }
+    public BigDecimal getAlternativePct() { return alternativePct; }
+    public String getDetails() { return details; }
+
+    @Override
+    public String toString() {
+        return "AllocationTemplate{" +
+                "equityPct=" + equityPct +
+                ", debtPct=" + debtPct +
+                ", alternativePct=" + alternativePct +
+                ", details='" + details + '\'' +
+                '}';
+    }
+}
@@ -1,15 +1,57 @@
 // src/main/java/com/faizan/portfolioadvisor/service/FinancialProductService.java
 package com.faizan.portfolioadvisor.service;
 
+import com.faizan.portfolioadvisor.dao.DaoChangeListener;
 import com.faizan.portfolioadvisor.dao.FinancialProductDAO;
+import com.faizan.portfolioadvisor.exception.DataAccessException;
+import com.faizan.portfolioadvisor.exception.InvalidInputException;
 import com.faizan.portfolioadvisor.model.FinancialProduct;
+
+import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class FinancialProductService {
     private final FinancialProductDAO financialProductDAO;
 
+    // Read-through catalog cache. Readers just read the volatile field; writers swap in a new snapshot.
+    private volatile ProductCatalogSnapshot catalog;
+    private final ReentrantLock catalogLock = new ReentrantLock();
+    // 0 = never reload on a timer; the snapshot is then only refreshed by writes made through the DAO.
+    private final long catalogTtlNanos;
+
     public FinancialProductService(FinancialProductDAO financialProductDAO) {
+        this(financialProductDAO, Duration.ZERO);
+    }
+
+    /**
+     * @param financialProductDAO The DAO used to load and modify the catalog.
+     * @param catalogTtl How long a loaded catalog may be served before it is reloaded from the database,
+     *                   to pick up changes made outside this process. Duration.ZERO disables the timed reload.
+     */
+    public FinancialProductService(FinancialProductDAO financialProductDAO, Duration catalogTtl) {
         this.financialProductDAO = financialProductDAO;
+        this.catalogTtlNanos = catalogTtl.toNanos();
+        // Keep the cached catalog in step with every write made through the DAO, not only through this service.
+        financialProductDAO.addChangeListener(new DaoChangeListener<FinancialProduct>() {
+            @Override
+            public void onAdded(FinancialProduct product) {
+                applyChange(product, 0);
+            }
+
+            @Override
+            public void onUpdated(FinancialProduct product) {
+                applyChange(product, 0);
+            }
+
+            @Override
+            public void onDeleted(int productId) {
+                applyChange(null, productId);
+            }
+        });
     }
 
     public void addProduct(FinancialProduct product) {
@@ -17,21 +59,137 @@ public class FinancialProductService {
         financialProductDAO.addFinancialProduct(product);
     }
 
+    public boolean updateProduct(FinancialProduct product) {
+        return financialProductDAO.updateFinancialProduct(product);
+    }
+
+    public boolean deleteProduct(int productId) {
+        return financialProductDAO.deleteFinancialProduct(productId);
+    }
+
+    /**
+     * @return A copy of the product from the in-memory catalog (changing it does not change the catalog;
+     *         use updateProduct), or null if there is no such product.
+     */
     public FinancialProduct getProductById(int id) {
-        return financialProductDAO.getFinancialProductById(id);
+        return ProductCatalogSnapshot.copyOf(catalog().getById(id));
     }
 
+    /**
+     * @return Copies of all products, served from the in-memory catalog. The list is read-only.
+     */
     public List<FinancialProduct> getAllProducts() {
-        return financialProductDAO.getAllFinancialProducts();
+        return ProductCatalogSnapshot.copyOf(catalog().getAll());
+    }
+
+    /**
+     * The current snapshot itself, for read-only use inside this package (e.g. PortfolioOptimizerService caches
+     * derived data per snapshot). Its products are shared and must not be modified or handed out.
+     */
+    ProductCatalogSnapshot catalogSnapshot() {
+        return catalog();
+    }
+
+    /**
+     * Streams the whole catalog in constant memory. The caller must close the stream.
+     */
+    public Stream<FinancialProduct> streamAllProducts() {
+        return financialProductDAO.streamAllFinancialProducts();
     }
 
+    /**
+     * @return Copies of the products with this risk level (case-insensitive), served from the catalog's risk-level index. The list is read-only.
+     */
     public List<FinancialProduct> getProductsByRiskLevel(String riskLevel) {
-        // You would need to add a new method in FinancialProductDAO for this,
-        // or filter the result of getAllProducts() here.
-        List<FinancialProduct> allProducts = financialProductDAO.getAllFinancialProducts();
-        // A quick filter using Java Streams
-        return allProducts.stream()
-                .filter(p -> p.getRiskLevel().equalsIgnoreCase(riskLevel))
-                .collect(java.util.stream.Collectors.toList());
-    }
-}
\ No newline at end of file
+        return ProductCatalogSnapshot.copyOf(catalog().getByRiskLevel(riskLevel));
+    }
+
+    /**
+     * Catalog filter. Any criterion may be null to ignore it.
+     * @param riskLevel Product risk level, e.g. 'Low'.
+     * @param type Product type, e.g. 'ETF'.
+     * @param minExpectedReturn Lowest acceptable expected return rate.
+     * @param maxExpectedReturn Highest acceptable expected return rate.
+     * @param maxMinimumInvestment Largest acceptable minimum investment (i.e. what the user can afford to start with).
+     * @return The matching products.
+     * @throws DataAccessException If the catalog could not be queried.
+     */
+    public List<FinancialProduct> searchProducts(String riskLevel, String type, BigDecimal minExpectedReturn,
+                                                 BigDecimal maxExpectedReturn, BigDecimal maxMinimumInvestment) {
+        if (minExpectedReturn != null && maxExpectedReturn != null && minExpectedReturn.compareTo(maxExpectedReturn) > 0) {
+            throw new InvalidInputException("Minimum expected return cannot be greater than the maximum.");
+        }
+        return financialProductDAO.searchFinancialProducts(riskLevel, type, minExpectedReturn, maxExpectedReturn, maxMinimumInvestment);
+    }
+
+    /**
+     * Discards the cached catalog and loads it again from the database.
+     */
+    public void refreshCatalog() {
+        catalogLock.lock();
+        try {
+            catalog = loadCatalog();
+        } finally {
+            catalogLock.unlock();
+        }
+    }
+
+    // Returns the current snapshot, loading it on first use and reloading it once the TTL has passed.
+    private ProductCatalogSnapshot catalog() {
+        ProductCatalogSnapshot current = catalog;
+        if (current != null && !isExpired(current)) {
+            return current;
+        }
+        if (current != null) {
+            // Stale but usable: one thread reloads while the others keep serving the old snapshot.
+            if (catalogLock.tryLock()) {
+                try {
+                    if (catalog == current) {
+                        catalog = loadCatalog();
+                    }
+                } catch (DataAccessException e) {
+                    System.err.println("Catalog reload failed, serving the previous snapshot: " + e.getMessage());
+                } finally {
+                    catalogLock.unlock();
+                }
+            }
+            return catalog;
+        }
+        catalogLock.lock();
+        try {
+            if (catalog == null) {
+                catalog = loadCatalog();
+            }
+            return catalog;
+        } finally {
+            catalogLock.unlock();
+        }
+    }
+
+    private boolean isExpired(ProductCatalogSnapshot snapshot) {
+        return catalogTtlNanos > 0 && System.nanoTime() - snapshot.getLoadedAtNanos() >= catalogTtlNanos;
+    }
+
+    // Uses the streaming query rather than getAllFinancialProducts(), which returns an empty list on
+    // errors; an empty catalog must never be cached because the database was unreachable.
+    private ProductCatalogSnapshot loadCatalog() {
+        long loadedAt = System.nanoTime();
+        try (Stream<FinancialProduct> products = financialProductDAO.streamAllFinancialProducts()) {
+            return new ProductCatalogSnapshot(products.collect(Collectors.toList()), loadedAt);
+        }
+    }
+
+    // Copy-on-write update after a write through the DAO: product != null adds/replaces it, otherwise deletedId is removed.
+    private void applyChange(FinancialProduct product, int deletedId) {
+        catalogLock.lock();
+        try {
+            ProductCatalogSnapshot current = catalog;
+            if (current == null) {
+                return; // Nothing cached yet; the first read will load the current state.
+            }
+            catalog = product != null ? current.withProduct(product) : current.withoutProduct(deletedId);
+        } finally {
+            catalogLock.unlock();
+        }
+    }
+}
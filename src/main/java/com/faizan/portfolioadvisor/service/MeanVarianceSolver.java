@@ -0,0 +1,387 @@
+package com.faizan.portfolioadvisor.service;
+
+// src/main/java/com/faizan/portfolioadvisor/service/MeanVarianceSolver.java
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Solves the constrained mean-variance problem behind PortfolioOptimizerService on primitive arrays:
+ * <pre>
+ *   maximize   sum(mu[i] * w[i]) - lambda/2 * sum(variance[i] * w[i]^2)
+ *   subject to sum of w[i] over each asset class = that class's budget
+ *              0 &lt;= w[i] &lt;= cap of its class
+ *              sum of w[i] over high-risk products &lt;= maxHighRiskWeight
+ *              w[i] = 0 or w[i] &gt;= minWeight[i]
+ * </pre>
+ * With a diagonal covariance the KKT conditions give every weight in closed form,
+ * w[i] = clip((mu[i] - nu[class] - eta * highRisk[i]) / (lambda * variance[i]), 0, cap), so the solve is a
+ * bisection on each class multiplier nu (the class sum is monotone in it) nested in a bisection on the
+ * high-risk multiplier eta. A weight is positive only if the product's return is above nu, so each step walks
+ * the class's products in return order and stops at the first zero: a step costs the number of products that
+ * are (nearly) held, not the catalog size, and nothing is allocated inside the loops. The minimum-investment
+ * condition is not convex; products that end up between 0 and their minimum are dropped and the problem is
+ * solved again with the rest.
+ * <p>
+ * Instances hold the catalog arrays and are immutable, so one solver is shared by all requests.
+ */
+final class MeanVarianceSolver {
+    static final int EQUITY = 0;
+    static final int DEBT = 1;
+    static final int ALTERNATIVE = 2;
+    static final int CLASS_COUNT = 3;
+
+    private static final double EPSILON = 1e-12;
+    // Floor for variance, so a product with zero assumed risk does not get an infinite weight.
+    private static final double MIN_VARIANCE = 1e-8;
+
+    private final double[] mu;
+    private final double[] variance;
+    // Product indexes per asset class, and the same split into normal and high-risk products sorted by expected
+    // return, best first. Weights are positive only above the class multiplier, so the bisections walk these
+    // lists from the top and stop early instead of scanning the whole catalog.
+    private final int[][] members;
+    private final int[][] byReturn;
+    private final int[][] highRiskByReturn;
+    private final double maxMu;
+    private final double minMu;
+    private final double maxVariance;
+
+    /**
+     * @param mu Expected annual return per product, as a fraction (0.08 = 8%).
+     * @param variance Annual return variance per product.
+     * @param assetClass EQUITY, DEBT or ALTERNATIVE per product.
+     * @param highRisk Whether the product counts toward the high-risk cap.
+     */
+    MeanVarianceSolver(double[] mu, double[] variance, int[] assetClass, boolean[] highRisk) {
+        int n = mu.length;
+        if (variance.length != n || assetClass.length != n || highRisk.length != n) {
+            throw new IllegalArgumentException("Product arrays must all have the same length.");
+        }
+        this.mu = mu;
+        this.variance = new double[n];
+        int[] counts = new int[CLASS_COUNT];
+        double max = 0;
+        double min = 0;
+        double maxVar = MIN_VARIANCE;
+        for (int i = 0; i < n; i++) {
+            this.variance[i] = Math.max(variance[i], MIN_VARIANCE);
+            counts[assetClass[i]]++;
+            max = i == 0 ? mu[i] : Math.max(max, mu[i]);
+            min = i == 0 ? mu[i] : Math.min(min, mu[i]);
+            maxVar = Math.max(maxVar, this.variance[i]);
+        }
+        this.members = new int[CLASS_COUNT][];
+        for (int c = 0; c < CLASS_COUNT; c++) {
+            members[c] = new int[counts[c]];
+            counts[c] = 0;
+        }
+        for (int i = 0; i < n; i++) {
+            members[assetClass[i]][counts[assetClass[i]]++] = i;
+        }
+        this.byReturn = new int[CLASS_COUNT][];
+        this.highRiskByReturn = new int[CLASS_COUNT][];
+        for (int c = 0; c < CLASS_COUNT; c++) {
+            List<Integer> normal = new ArrayList<>();
+            List<Integer> risky = new ArrayList<>();
+            for (int i : members[c]) {
+                (highRisk[i] ? risky : normal).add(i);
+            }
+            byReturn[c] = sortedByReturn(normal);
+            highRiskByReturn[c] = sortedByReturn(risky);
+        }
+        this.maxMu = max;
+        this.minMu = min;
+        this.maxVariance = maxVar;
+    }
+
+    private int[] sortedByReturn(List<Integer> indexes) {
+        indexes.sort((a, b) -> Double.compare(mu[b], mu[a]));
+        int[] sorted = new int[indexes.size()];
+        for (int k = 0; k < sorted.length; k++) {
+            sorted[k] = indexes.get(k);
+        }
+        return sorted;
+    }
+
+    int size() {
+        return mu.length;
+    }
+
+    /**
+     * @param lambda Risk aversion; must be positive.
+     * @param classBudget Target weight per asset class (index EQUITY, DEBT, ALTERNATIVE), summing to at most 1.
+     *                    The budget of a class without eligible products moves to the other classes.
+     * @param maxProductWeight Cap per product; raised for a class whose products could not reach its budget otherwise.
+     * @param maxHighRiskWeight Cap on the total weight of high-risk products. If the budgets cannot be met
+     *                          without exceeding it (e.g. every equity product is high risk) the smallest
+     *                          achievable high-risk weight is used instead.
+     * @param minWeight Minimum investment per product as a fraction of the invested amount; a value above 1
+     *                  excludes the product.
+     * @param iterations Bisection steps per multiplier.
+     * @param maxPruneRounds How many times products below their minimum are dropped and the problem re-solved.
+     * @param weights Output, one weight per product. Weights of products that still violate their minimum after
+     *                the last round are set to 0, so the weights may sum to less than 1 (the rest stays uninvested).
+     */
+    void solve(double lambda, double[] classBudget, double maxProductWeight, double maxHighRiskWeight,
+               double[] minWeight, int iterations, int maxPruneRounds, double[] weights) {
+        int n = mu.length;
+        if (lambda <= 0) {
+            throw new IllegalArgumentException("Risk aversion must be positive: " + lambda);
+        }
+        if (minWeight.length != n || weights.length != n) {
+            throw new IllegalArgumentException("minWeight and weights must have one entry per product.");
+        }
+        boolean[] active = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            active[i] = minWeight[i] <= 1.0;
+        }
+        double[] inverseRisk = new double[n];
+        for (int i = 0; i < n; i++) {
+            inverseRisk[i] = 1.0 / (lambda * variance[i]);
+        }
+        double[] budget = new double[CLASS_COUNT];
+        double[] cap = new double[CLASS_COUNT];
+        double[] nu = new double[CLASS_COUNT];
+
+        for (int round = 0; ; round++) {
+            if (!prepareClasses(classBudget, maxProductWeight, minWeight, active, budget, cap)) {
+                Arrays.fill(weights, 0.0);
+                return;
+            }
+            solveHighRiskCap(lambda, budget, cap, maxHighRiskWeight, inverseRisk, active, iterations, nu, weights);
+
+            boolean violated = false;
+            for (int i = 0; i < n; i++) {
+                if (active[i] && weights[i] > EPSILON && weights[i] < minWeight[i] - EPSILON) {
+                    violated = true;
+                    if (round < maxPruneRounds) {
+                        active[i] = false;
+                    } else {
+                        weights[i] = 0.0; // Out of rounds: leave this part uninvested rather than break the minimum.
+                    }
+                }
+            }
+            if (!violated || round >= maxPruneRounds) {
+                return;
+            }
+        }
+    }
+
+    // Works out the effective budget and per-product cap of each class for the active products, dropping
+    // products whose minimum is above the cap. Returns false if nothing at all can be bought.
+    private boolean prepareClasses(double[] classBudget, double maxProductWeight, double[] minWeight,
+                                   boolean[] active, double[] budget, double[] cap) {
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            int[] counts = new int[CLASS_COUNT];
+            for (int c = 0; c < CLASS_COUNT; c++) {
+                for (int i : members[c]) {
+                    if (active[i]) {
+                        counts[c]++;
+                    }
+                }
+            }
+            double covered = 0;
+            double total = 0;
+            for (int c = 0; c < CLASS_COUNT; c++) {
+                total += classBudget[c];
+                if (counts[c] > 0) {
+                    covered += classBudget[c];
+                }
+            }
+            if (covered <= EPSILON) {
+                return false;
+            }
+            for (int c = 0; c < CLASS_COUNT; c++) {
+                budget[c] = counts[c] > 0 ? classBudget[c] * total / covered : 0.0;
+                cap[c] = counts[c] > 0 ? Math.min(1.0, Math.max(maxProductWeight, budget[c] / counts[c])) : 0.0;
+                for (int i : members[c]) {
+                    if (active[i] && minWeight[i] > cap[c] + EPSILON) {
+                        active[i] = false;
+                        changed = true;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    // Outer bisection on eta, the price of high-risk weight, until the high-risk total fits under the cap.
+    private void solveHighRiskCap(double lambda, double[] budget, double[] cap, double maxHighRiskWeight,
+                                  double[] inverseRisk, boolean[] active, int iterations, double[] nu, double[] weights) {
+        double[] scale = new double[CLASS_COUNT];
+        double eta = 0.0;
+        if (fillClasses(0.0, budget, cap, inverseRisk, active, iterations, nu, scale) > maxHighRiskWeight + EPSILON) {
+            // At hi every high-risk weight is pushed to 0 wherever the class can be filled without it.
+            double lo = 0.0;
+            double hi = (maxMu - minMu) + lambda * maxVariance + 1.0;
+            for (int k = 0; k < iterations; k++) {
+                double mid = 0.5 * (lo + hi);
+                if (fillClasses(mid, budget, cap, inverseRisk, active, iterations, nu, scale) > maxHighRiskWeight + EPSILON) {
+                    lo = mid;
+                } else {
+                    hi = mid;
+                }
+            }
+            eta = hi;
+            fillClasses(eta, budget, cap, inverseRisk, active, iterations, nu, scale);
+        }
+        Arrays.fill(weights, 0.0);
+        for (int c = 0; c < CLASS_COUNT; c++) {
+            if (budget[c] <= EPSILON) {
+                continue;
+            }
+            for (int i : byReturn[c]) {
+                if (mu[i] <= nu[c]) {
+                    break;
+                }
+                if (active[i]) {
+                    weights[i] = scale[c] * weightOf(mu[i], nu[c], cap[c], inverseRisk[i]);
+                }
+            }
+            for (int i : highRiskByReturn[c]) {
+                if (mu[i] - eta <= nu[c]) {
+                    break;
+                }
+                if (active[i]) {
+                    weights[i] = scale[c] * weightOf(mu[i] - eta, nu[c], cap[c], inverseRisk[i]);
+                }
+            }
+        }
+    }
+
+    // For a fixed eta, bisects each class multiplier nu so the class sums to its budget, and records the factor
+    // that trims the (tiny) surplus left by the bisection. Returns the resulting high-risk total.
+    private double fillClasses(double eta, double[] budget, double[] cap, double[] inverseRisk, boolean[] active,
+                               int iterations, double[] nu, double[] scale) {
+        double highRiskTotal = 0;
+        for (int c = 0; c < CLASS_COUNT; c++) {
+            if (budget[c] <= EPSILON) {
+                continue;
+            }
+            int[] normal = byReturn[c];
+            int[] risky = highRiskByReturn[c];
+            // The sum is 0 at nu >= the best return. Going down the list in return order, once the first m
+            // active products could all sit at their cap (m * cap >= budget), any nu below their lowest
+            // "a - cap / inverseRisk" reaches the budget.
+            int needed = (int) Math.ceil(budget[c] / cap[c] - 1e-9);
+            double hi = Double.NEGATIVE_INFINITY;
+            double lo = Double.POSITIVE_INFINITY;
+            int p = 0;
+            int q = 0;
+            for (int taken = 0; taken < needed; ) {
+                while (p < normal.length && !active[normal[p]]) {
+                    p++;
+                }
+                while (q < risky.length && !active[risky[q]]) {
+                    q++;
+                }
+                int i;
+                double a;
+                if (q >= risky.length || (p < normal.length && mu[normal[p]] >= mu[risky[q]] - eta)) {
+                    if (p >= normal.length) {
+                        break;
+                    }
+                    i = normal[p++];
+                    a = mu[i];
+                } else {
+                    i = risky[q++];
+                    a = mu[i] - eta;
+                }
+                hi = Math.max(hi, a);
+                lo = Math.min(lo, a - cap[c] / inverseRisk[i]);
+                taken++;
+            }
+            for (int k = 0; k < iterations; k++) {
+                double mid = 0.5 * (lo + hi);
+                if (reachesBudget(c, mid, eta, budget[c], cap[c], inverseRisk, active)) {
+                    lo = mid;
+                } else {
+                    hi = mid;
+                }
+            }
+            nu[c] = lo; // The side whose sum is >= the budget.
+            double sum = 0;
+            double highRiskSum = 0;
+            for (int i : normal) {
+                if (mu[i] <= lo) {
+                    break;
+                }
+                if (active[i]) {
+                    sum += weightOf(mu[i], lo, cap[c], inverseRisk[i]);
+                }
+            }
+            for (int i : risky) {
+                if (mu[i] - eta <= lo) {
+                    break;
+                }
+                if (active[i]) {
+                    highRiskSum += weightOf(mu[i] - eta, lo, cap[c], inverseRisk[i]);
+                }
+            }
+            sum += highRiskSum;
+            scale[c] = sum > budget[c] ? budget[c] / sum : 1.0;
+            highRiskTotal += scale[c] * highRiskSum;
+        }
+        return highRiskTotal;
+    }
+
+    // Whether the class weights at this nu add up to more than the budget. Walks each list in return order and
+    // stops at the first product with a non-positive weight (all later ones are 0 too) or once the budget is passed.
+    private boolean reachesBudget(int c, double nu, double eta, double budget, double cap, double[] inverseRisk, boolean[] active) {
+        double sum = 0;
+        for (int i : byReturn[c]) {
+            if (mu[i] <= nu) {
+                break;
+            }
+            if (active[i]) {
+                sum += weightOf(mu[i], nu, cap, inverseRisk[i]);
+                if (sum > budget) {
+                    return true;
+                }
+            }
+        }
+        for (int i : highRiskByReturn[c]) {
+            if (mu[i] - eta <= nu) {
+                break;
+            }
+            if (active[i]) {
+                sum += weightOf(mu[i] - eta, nu, cap, inverseRisk[i]);
+                if (sum > budget) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static double weightOf(double a, double nu, double cap, double inverseRisk) {
+        double w = (a - nu) * inverseRisk;
+        return w <= 0 ? 0.0 : Math.min(w, cap);
+    }
+
+    /**
+     * @return The expected return of the weights, as a fraction.
+     */
+    double expectedReturn(double[] weights) {
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            sum += mu[i] * weights[i];
+        }
+        return sum;
+    }
+
+    /**
+     * @return The volatility (standard deviation) of the weights under the diagonal covariance.
+     */
+    double volatility(double[] weights) {
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            sum += variance[i] * weights[i] * weights[i];
+        }
+        return Math.sqrt(sum);
+    }
+}
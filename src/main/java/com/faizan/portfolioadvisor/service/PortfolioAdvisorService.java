@@ -1,42 +1,85 @@
 // src/main/java/com/faizan/portfolioadvisor/service/PortfolioAdvisorService.java
 package com.faizan.portfolioadvisor.service;
 
+import com.faizan.portfolioadvisor.analytics.MonteCarloProjector;
+import com.faizan.portfolioadvisor.analytics.ProjectionAssumptions;
+import com.faizan.portfolioadvisor.analytics.ProjectionRequest;
+import com.faizan.portfolioadvisor.analytics.ProjectionResult;
 import com.faizan.portfolioadvisor.dao.PortfolioAllocationDAO;
 import com.faizan.portfolioadvisor.dao.UserRiskProfileDAO;
+import com.faizan.portfolioadvisor.exception.InvalidInputException;
 import com.faizan.portfolioadvisor.exception.PredictionException;
+import com.faizan.portfolioadvisor.ml.CachingRiskPredictor;
+import com.faizan.portfolioadvisor.ml.CircuitBreakingRiskPredictor;
+import com.faizan.portfolioadvisor.ml.CoalescingRiskPredictor;
+import com.faizan.portfolioadvisor.ml.HttpRiskPredictor;
+import com.faizan.portfolioadvisor.ml.LocalModelRiskPredictor;
+import com.faizan.portfolioadvisor.ml.PredictionClientStats;
+import com.faizan.portfolioadvisor.ml.PredictionServiceConfig;
+import com.faizan.portfolioadvisor.ml.RiskFeatures;
+import com.faizan.portfolioadvisor.ml.RiskPrediction;
+import com.faizan.portfolioadvisor.ml.RiskPredictor;
 import com.faizan.portfolioadvisor.model.PortfolioAllocation;
 import com.faizan.portfolioadvisor.model.User;
 import com.faizan.portfolioadvisor.model.UserRiskProfile;
+import com.faizan.portfolioadvisor.util.CacheStats;
+import com.faizan.portfolioadvisor.util.NamedThreadFactory;
 
-import java.io.IOException;
 import java.math.BigDecimal;
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
-import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
-
-import org.json.JSONObject; // <-- IMPORTANT: Requires Maven dependency
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class PortfolioAdvisorService {
     private final UserRiskProfileDAO userRiskProfileDAO;
     private final PortfolioAllocationDAO portfolioAllocationDAO;
-    private final HttpClient httpClient;
+    private final RiskPredictor riskPredictor;
+    private final AllocationPolicyEngine allocationPolicy;
+    private final MonteCarloProjector projector;
+    // The decorators below are null with ml.engine=local; the cache is also null when ml.cache.maxSize is 0.
+    private final HttpRiskPredictor httpPredictor;
+    private final CircuitBreakingRiskPredictor circuitBreaker;
+    private final CoalescingRiskPredictor coalescingPredictor;
+    private final CachingRiskPredictor predictionCache;
+    // Blocking JDBC work for the async path runs here, never on the HTTP client's threads.
+    private final ExecutorService persistenceExecutor;
 
     // Constructor-based Dependency Injection
     public PortfolioAdvisorService(UserRiskProfileDAO userRiskProfileDAO, PortfolioAllocationDAO portfolioAllocationDAO) {
+        this(userRiskProfileDAO, portfolioAllocationDAO, PredictionServiceConfig.load());
+    }
+
+    public PortfolioAdvisorService(UserRiskProfileDAO userRiskProfileDAO, PortfolioAllocationDAO portfolioAllocationDAO,
+                                   PredictionServiceConfig config) {
         this.userRiskProfileDAO = userRiskProfileDAO;
         this.portfolioAllocationDAO = portfolioAllocationDAO;
-        // Use the Java 11+ HttpClient
-        this.httpClient = HttpClient.newBuilder()
-                .version(HttpClient.Version.HTTP_2)
-                .connectTimeout(Duration.ofSeconds(10))
-                .build();
+        if ("local".equalsIgnoreCase(config.getEngine())) {
+            // Scoring in-process takes well under a microsecond, so there is nothing to cache, coalesce or guard.
+            this.httpPredictor = null;
+            this.circuitBreaker = null;
+            this.coalescingPredictor = null;
+            this.predictionCache = null;
+            this.riskPredictor = LocalModelRiskPredictor.load(config.getLocalModelPath());
+        } else {
+            // cache -> coalesce identical in-flight calls -> circuit breaker (with fallback scorer) -> HTTP
+            this.httpPredictor = new HttpRiskPredictor(config);
+            this.circuitBreaker = new CircuitBreakingRiskPredictor(httpPredictor, config);
+            this.coalescingPredictor = new CoalescingRiskPredictor(circuitBreaker);
+            this.predictionCache = config.getCacheMaxSize() > 0 ? new CachingRiskPredictor(coalescingPredictor, config) : null;
+            this.riskPredictor = predictionCache != null ? predictionCache : coalescingPredictor;
+        }
+        this.allocationPolicy = AllocationPolicyEngine.load();
+        this.projector = new MonteCarloProjector(ProjectionAssumptions.load());
+        this.persistenceExecutor = Executors.newFixedThreadPool(config.getPersistenceThreads(), new NamedThreadFactory("risk-profile-writer"));
     }
 
     /**
-     * Gets a risk prediction from the Python ML service and saves it to the database.
+     * Gets a risk prediction (from the Python ML service, the prediction cache, or the in-process model with
+     * ml.engine=local) and saves it to the database.
+     * While the ML service is unavailable the circuit breaker answers with the local fallback scorer instead;
+     * such profiles have a low confidence score.
      * @param user The user object for whom to predict risk.
      * @param age The user's age.
      * @param incomeLakhs The user's income in lakhs.
@@ -45,42 +88,96 @@ public class PortfolioAdvisorService {
      * @return The newly created UserRiskProfile object.
      */
     public UserRiskProfile getAndSaveRiskPrediction(User user, int age, BigDecimal incomeLakhs, int investmentExperienceYears, String financialGoal) {
-        String jsonInput = String.format(
-                "{\"age\":%d, \"income_lakhs\":%s, \"investment_experience_years\":%d, \"financial_goal\":\"%s\"}",
-                age, incomeLakhs.toString(), investmentExperienceYears, financialGoal
-        );
+        RiskFeatures features = new RiskFeatures(age, incomeLakhs, investmentExperienceYears, financialGoal);
+        RiskPrediction prediction = riskPredictor.predict(features);
+        return saveRiskProfile(user, features, prediction);
+    }
+
+    /**
+     * Non-blocking variant of getAndSaveRiskPrediction. The HTTP call does not hold a thread while
+     * waiting, the number of concurrent calls is capped (ml.maxInFlight), and each call has an overall
+     * deadline (ml.requestTimeoutMs). The database insert then runs on a dedicated executor.
+     * @return A future completed with the saved UserRiskProfile, or exceptionally with a PredictionException.
+     */
+    public CompletableFuture<UserRiskProfile> getAndSaveRiskPredictionAsync(User user, int age, BigDecimal incomeLakhs,
+                                                                            int investmentExperienceYears, String financialGoal) {
+        RiskFeatures features = new RiskFeatures(age, incomeLakhs, investmentExperienceYears, financialGoal);
+        return riskPredictor.predictAsync(features)
+                .thenApplyAsync(prediction -> saveRiskProfile(user, features, prediction), persistenceExecutor);
+    }
+
+    /**
+     * Scores many users at once (e.g. the nightly re-scoring of the whole book). The features are sent
+     * to the ML service's batch endpoint in chunks, and all resulting profiles are saved in one batched insert.
+     * @param requests The users and their questionnaire answers.
+     * @return The saved UserRiskProfile objects, in the same order as the requests.
+     * @throws PredictionException If any chunk could not be scored; nothing is saved in that case.
+     */
+    public List<UserRiskProfile> getAndSaveRiskPredictions(List<RiskAssessmentRequest> requests) {
+        List<RiskFeatures> features = new ArrayList<>(requests.size());
+        for (RiskAssessmentRequest request : requests) {
+            features.add(request.getFeatures());
+        }
+        List<RiskPrediction> predictions = RiskPredictor.await(riskPredictor.predictBatchAsync(features));
 
-        // Build the HTTP POST request
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create("http://localhost:5000/predict_risk"))
-                .header("Content-Type", "application/json")
-                .POST(HttpRequest.BodyPublishers.ofString(jsonInput))
-                .build();
-        try {
-            // Send the request and get the response
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-            String responseBody = response.body();
-
-            if (response.statusCode() != 200) {
-                throw new PredictionException("ML service returned an error. Status code: " + response.statusCode() + " | Body: " + responseBody);
-            }
-
-            // Parse the JSON response from the Python API
-            JSONObject jsonResponse = new JSONObject(responseBody);
-            String predictedRiskCategory = jsonResponse.getString("predicted_risk_category");
-            BigDecimal confidenceScore = jsonResponse.getBigDecimal("confidence_score");
-
-            // Create the UserRiskProfile object and save it to the DB
-            UserRiskProfile newProfile = new UserRiskProfile(
-                    user.getUserId(), predictedRiskCategory, confidenceScore, age, incomeLakhs, investmentExperienceYears, financialGoal
-            );
-            userRiskProfileDAO.addUserRiskProfile(newProfile);
-            return newProfile;
-
-        } catch (IOException | InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new PredictionException("Failed to connect to the ML prediction service.", e);
+        List<UserRiskProfile> profiles = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            profiles.add(toRiskProfile(requests.get(i).getUser(), features.get(i), predictions.get(i)));
         }
+        userRiskProfileDAO.addAllUserRiskProfiles(profiles);
+        return profiles;
+    }
+
+    /**
+     * Tells the prediction cache that a new model version is being served, so predictions of the old model are dropped.
+     * @param modelVersion The new model version (see ml.modelVersion).
+     */
+    public void setModelVersion(String modelVersion) {
+        if (predictionCache != null) {
+            predictionCache.setModelVersion(modelVersion);
+        }
+    }
+
+    /**
+     * @return Hit/miss/eviction counters of the prediction cache, or null if the cache is disabled.
+     */
+    public CacheStats getPredictionCacheStats() {
+        return predictionCache != null ? predictionCache.getStats() : null;
+    }
+
+    /**
+     * @return How many predictions shared an identical call already in flight instead of making their own.
+     */
+    public long getCoalescedPredictionCount() {
+        return coalescingPredictor != null ? coalescingPredictor.getCoalescedCount() : 0;
+    }
+
+    /**
+     * @return How many predictions were answered by the local fallback scorer because the ML service was unavailable.
+     */
+    public long getFallbackPredictionCount() {
+        return circuitBreaker != null ? circuitBreaker.getFallbackCount() : 0;
+    }
+
+    /**
+     * @return Retry and hedging counters of the HTTP client, or null with ml.engine=local.
+     */
+    public PredictionClientStats getPredictionClientStats() {
+        return httpPredictor != null ? httpPredictor.getStats() : null;
+    }
+
+    // Create the UserRiskProfile object and save it to the DB
+    private UserRiskProfile saveRiskProfile(User user, RiskFeatures features, RiskPrediction prediction) {
+        UserRiskProfile newProfile = toRiskProfile(user, features, prediction);
+        userRiskProfileDAO.addUserRiskProfile(newProfile);
+        return newProfile;
+    }
+
+    private static UserRiskProfile toRiskProfile(User user, RiskFeatures features, RiskPrediction prediction) {
+        return new UserRiskProfile(
+                user.getUserId(), prediction.getPredictedRiskCategory(), prediction.getConfidenceScore(),
+                features.getAge(), features.getIncomeLakhs(), features.getInvestmentExperienceYears(), features.getFinancialGoal()
+        );
     }
 
     /**
@@ -89,41 +186,34 @@ public class PortfolioAdvisorService {
      * @return A PortfolioAllocation object.
      */
     public PortfolioAllocation getRecommendedAllocation(UserRiskProfile riskProfile) {
-        // Apply business rules based on the predicted risk category
-        String riskCategory = riskProfile.getPredictedRiskCategory();
-        BigDecimal equityPct, debtPct, alternativePct;
-        String details;
-
-        switch (riskCategory.toLowerCase()) {
-            case "conservative":
-                equityPct = new BigDecimal("0.20"); // 20%
-                debtPct = new BigDecimal("0.70"); // 70%
-                alternativePct = new BigDecimal("0.10"); // 10%
-                details = "Conservative portfolio for low-risk, stable returns.";
-                break;
-            case "moderate":
-                equityPct = new BigDecimal("0.50"); // 50%
-                debtPct = new BigDecimal("0.40"); // 40%
-                alternativePct = new BigDecimal("0.10"); // 10%
-                details = "Moderate portfolio for balanced growth and risk.";
-                break;
-            case "aggressive":
-                equityPct = new BigDecimal("0.80"); // 80%
-                debtPct = new BigDecimal("0.10"); // 10%
-                alternativePct = new BigDecimal("0.10"); // 10%
-                details = "Aggressive portfolio for high growth potential.";
-                break;
-            default:
-                // Fallback to a default if the category is unknown
-                equityPct = new BigDecimal("0.30");
-                debtPct = new BigDecimal("0.60");
-                alternativePct = new BigDecimal("0.10");
-                details = "Default portfolio recommendation.";
-                break;
-        }
+        // Apply the allocation policy (allocation-policy.properties); the allocation is not saved to the DB here
+        return allocationPolicy.recommend(riskProfile);
+    }
+
+    /**
+     * Re-reads allocation-policy.properties and swaps the new policy in atomically, without a restart.
+     * @throws InvalidInputException If the edited policy is invalid; the current policy stays in effect.
+     */
+    public void reloadAllocationPolicy() {
+        allocationPolicy.reload();
+    }
 
-        // Create and return the allocation object (doesn't save to DB here)
-        return new PortfolioAllocation(riskProfile.getUserId(), equityPct, debtPct, alternativePct, details);
+    /**
+     * Simulates how an allocation could grow (see projection.properties for the return assumptions).
+     * @param allocation The allocation to project, e.g. from getRecommendedAllocation().
+     * @param request Initial amount, monthly contribution, horizon and optional goal.
+     * @return Percentile outcomes and the probability of reaching the goal.
+     * @throws InvalidInputException If the allocation or request is invalid.
+     */
+    public ProjectionResult projectAllocation(PortfolioAllocation allocation, ProjectionRequest request) {
+        return projector.project(allocation, request);
+    }
+
+    /**
+     * @return The allocation policy in use, e.g. to share it with PortfolioOptimizerService.
+     */
+    public AllocationPolicyEngine getAllocationPolicy() {
+        return allocationPolicy;
     }
 
     public void savePortfolioAllocation(PortfolioAllocation allocation) {
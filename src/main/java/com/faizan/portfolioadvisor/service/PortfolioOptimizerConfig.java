@@ -0,0 +1,147 @@
+package com.faizan.portfolioadvisor.service;
+
+// src/main/java/com/faizan/portfolioadvisor/service/PortfolioOptimizerConfig.java
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Settings for PortfolioOptimizerService.
+ * Defaults can be overridden in portfolio-optimizer.properties on the classpath, or with the setters before
+ * the config is handed to the service.
+ */
+public class PortfolioOptimizerConfig {
+    private static final String OPTIMIZER_PROPERTIES_FILE = "portfolio-optimizer.properties";
+    private static final String DEFAULT_CATEGORY = "default";
+
+    private double maxProductWeight = 0.25;
+    private double lowRiskVolatility = 0.05;
+    private double mediumRiskVolatility = 0.12;
+    private double highRiskVolatility = 0.25;
+    private int bisectionIterations = 60;
+    private int maxPruneRounds = 10;
+    // Keyed by predicted risk category, case-insensitively; "default" covers the rest.
+    private final Map<String, Double> riskAversion = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final Map<String, Double> maxHighRiskWeight = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+    public PortfolioOptimizerConfig() {
+        riskAversion.put("Conservative", 8.0);
+        riskAversion.put("Moderate", 4.0);
+        riskAversion.put("Aggressive", 2.0);
+        riskAversion.put(DEFAULT_CATEGORY, 5.0);
+        maxHighRiskWeight.put("Conservative", 0.05);
+        maxHighRiskWeight.put("Moderate", 0.30);
+        maxHighRiskWeight.put("Aggressive", 0.70);
+        maxHighRiskWeight.put(DEFAULT_CATEGORY, 0.20);
+    }
+
+    /**
+     * Loads portfolio-optimizer.properties from the classpath. Missing keys (or a missing file) keep their defaults.
+     * @return The loaded configuration.
+     */
+    public static PortfolioOptimizerConfig load() {
+        Properties properties = new Properties();
+        try (InputStream input = PortfolioOptimizerConfig.class.getClassLoader().getResourceAsStream(OPTIMIZER_PROPERTIES_FILE)) {
+            if (input != null) {
+                properties.load(input);
+            }
+        } catch (IOException ex) {
+            throw new RuntimeException("Failed to load portfolio optimizer properties: " + ex.getMessage(), ex);
+        }
+        return fromProperties(properties);
+    }
+
+    /**
+     * Builds a configuration from optimizer.* properties; missing keys keep their defaults.
+     */
+    public static PortfolioOptimizerConfig fromProperties(Properties properties) {
+        PortfolioOptimizerConfig config = new PortfolioOptimizerConfig();
+        config.maxProductWeight = getDouble(properties, "optimizer.maxProductWeight", config.maxProductWeight);
+        config.lowRiskVolatility = getDouble(properties, "optimizer.volatility.low", config.lowRiskVolatility);
+        config.mediumRiskVolatility = getDouble(properties, "optimizer.volatility.medium", config.mediumRiskVolatility);
+        config.highRiskVolatility = getDouble(properties, "optimizer.volatility.high", config.highRiskVolatility);
+        config.bisectionIterations = (int) getDouble(properties, "optimizer.bisectionIterations", config.bisectionIterations);
+        config.maxPruneRounds = (int) getDouble(properties, "optimizer.maxPruneRounds", config.maxPruneRounds);
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith("optimizer.riskAversion.")) {
+                config.setRiskAversion(key.substring("optimizer.riskAversion.".length()), getDouble(properties, key, 0));
+            } else if (key.startsWith("optimizer.maxHighRiskWeight.")) {
+                config.setMaxHighRiskWeight(key.substring("optimizer.maxHighRiskWeight.".length()), getDouble(properties, key, 0));
+            }
+        }
+        return config;
+    }
+
+    private static double getDouble(Properties properties, String key, double defaultValue) {
+        String value = properties.getProperty(key);
+        return value == null ? defaultValue : Double.parseDouble(value.trim());
+    }
+
+    /**
+     * @param riskCategory The predicted risk category, e.g. 'Moderate'; null or unknown categories use "default".
+     * @return The risk aversion (lambda) to optimize with.
+     */
+    public double getRiskAversion(String riskCategory) {
+        return lookup(riskAversion, riskCategory);
+    }
+
+    /**
+     * @param riskCategory The predicted risk category, e.g. 'Moderate'; null or unknown categories use "default".
+     * @return The largest total weight of 'High' risk-level products.
+     */
+    public double getMaxHighRiskWeight(String riskCategory) {
+        return lookup(maxHighRiskWeight, riskCategory);
+    }
+
+    /**
+     * @param productRiskLevel A FinancialProduct risk level ('Low', 'Medium', 'High').
+     * @return The annual volatility assumed for products of that risk level.
+     */
+    public double getVolatility(String productRiskLevel) {
+        if ("Low".equalsIgnoreCase(productRiskLevel)) {
+            return lowRiskVolatility;
+        }
+        if ("High".equalsIgnoreCase(productRiskLevel)) {
+            return highRiskVolatility;
+        }
+        return mediumRiskVolatility;
+    }
+
+    private static double lookup(Map<String, Double> values, String riskCategory) {
+        Double value = riskCategory == null ? null : values.get(riskCategory.trim());
+        return value != null ? value : values.get(DEFAULT_CATEGORY);
+    }
+
+    // --- Getters ---
+    public double getMaxProductWeight() { return maxProductWeight; }
+    public double getLowRiskVolatility() { return lowRiskVolatility; }
+    public double getMediumRiskVolatility() { return mediumRiskVolatility; }
+    public double getHighRiskVolatility() { return highRiskVolatility; }
+    public int getBisectionIterations() { return bisectionIterations; }
+    public int getMaxPruneRounds() { return maxPruneRounds; }
+
+    // --- Setters ---
+    public void setMaxProductWeight(double maxProductWeight) { this.maxProductWeight = maxProductWeight; }
+    public void setLowRiskVolatility(double lowRiskVolatility) { this.lowRiskVolatility = lowRiskVolatility; }
+    public void setMediumRiskVolatility(double mediumRiskVolatility) { this.mediumRiskVolatility = mediumRiskVolatility; }
+    public void setHighRiskVolatility(double highRiskVolatility) { this.highRiskVolatility = highRiskVolatility; }
+    public void setBisectionIterations(int bisectionIterations) { this.bisectionIterations = bisectionIterations; }
+    public void setMaxPruneRounds(int maxPruneRounds) { this.maxPruneRounds = maxPruneRounds; }
+    public void setRiskAversion(String riskCategory, double lambda) { riskAversion.put(riskCategory.trim(), lambda); }
+    public void setMaxHighRiskWeight(String riskCategory, double weight) { maxHighRiskWeight.put(riskCategory.trim(), weight); }
+
+    @Override
+    public String toString() {
+        return "PortfolioOptimizerConfig{" +
+                "maxProductWeight=" + maxProductWeight +
+                ", volatility(low/medium/high)=" + lowRiskVolatility + "/" + mediumRiskVolatility + "/" + highRiskVolatility +
+                ", riskAversion=" + riskAversion +
+                ", maxHighRiskWeight=" + maxHighRiskWeight +
+                ", bisectionIterations=" + bisectionIterations +
+                ", maxPruneRounds=" + maxPruneRounds +
+                '}';
+    }
+}
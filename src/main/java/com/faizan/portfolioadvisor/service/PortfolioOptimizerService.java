@@ -0,0 +1,182 @@
+package com.faizan.portfolioadvisor.service;
+
+// src/main/java/com/faizan/portfolioadvisor/service/PortfolioOptimizerService.java
+
+import com.faizan.portfolioadvisor.exception.InvalidInputException;
+import com.faizan.portfolioadvisor.model.FinancialProduct;
+import com.faizan.portfolioadvisor.model.ProductHolding;
+import com.faizan.portfolioadvisor.model.ProductPortfolio;
+import com.faizan.portfolioadvisor.model.UserRiskProfile;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Builds a concrete, product-level portfolio for a risk profile from the FinancialProduct catalog.
+ * <p>
+ * The asset-class split comes from the allocation policy (the same template getRecommendedAllocation uses),
+ * and MeanVarianceSolver picks the products and weights inside each class, trading expected return against
+ * risk with the risk aversion configured for the profile's category. It also caps the weight per product and
+ * of 'High' risk-level products in total, and only buys a product if at least its minimumInvestment goes in.
+ * <p>
+ * The catalog is converted to primitive arrays once per catalog snapshot (FinancialProductService keeps the
+ * same snapshot until the catalog changes), so a request only allocates its own weight arrays.
+ * Until price histories are available, products are treated as uncorrelated with a volatility assumed from
+ * their risk level (see portfolio-optimizer.properties).
+ */
+public class PortfolioOptimizerService {
+    private static final String[] ASSET_CLASS_NAMES = {"Equity", "Debt", "Alternative"};
+
+    private final FinancialProductService financialProductService;
+    private final AllocationPolicyEngine allocationPolicy;
+    private final PortfolioOptimizerConfig config;
+    private volatile CatalogArrays catalogArrays;
+
+    public PortfolioOptimizerService(FinancialProductService financialProductService, AllocationPolicyEngine allocationPolicy) {
+        this(financialProductService, allocationPolicy, PortfolioOptimizerConfig.load());
+    }
+
+    /**
+     * @param financialProductService The product catalog.
+     * @param allocationPolicy The asset-class split per risk profile; pass PortfolioAdvisorService.getAllocationPolicy()
+     *                         so policy reloads apply here too.
+     * @param config Optimizer settings. Changes made after construction apply from the next catalog change.
+     */
+    public PortfolioOptimizerService(FinancialProductService financialProductService, AllocationPolicyEngine allocationPolicy,
+                                     PortfolioOptimizerConfig config) {
+        this.financialProductService = financialProductService;
+        this.allocationPolicy = allocationPolicy;
+        this.config = config;
+    }
+
+    /**
+     * @param riskProfile The user's latest risk profile.
+     * @param investmentAmount The amount to invest.
+     * @return The optimized portfolio. Holdings are ordered by weight, largest first; whatever could not be
+     *         placed (e.g. the amount is below every product's minimum investment) is reported as uninvested.
+     * @throws InvalidInputException If the profile is missing or the amount is not positive.
+     */
+    public ProductPortfolio optimize(UserRiskProfile riskProfile, BigDecimal investmentAmount) {
+        if (riskProfile == null) {
+            throw new InvalidInputException("A risk profile is required to build a portfolio.");
+        }
+        if (investmentAmount == null || investmentAmount.signum() <= 0) {
+            throw new InvalidInputException("Investment amount must be positive.");
+        }
+        CatalogArrays catalog = catalogArrays();
+        int n = catalog.products.length;
+        double amount = investmentAmount.doubleValue();
+
+        AllocationTemplate template = allocationPolicy.templateFor(riskProfile);
+        double[] classBudget = new double[MeanVarianceSolver.CLASS_COUNT];
+        classBudget[MeanVarianceSolver.EQUITY] = template.getEquityPct().doubleValue();
+        classBudget[MeanVarianceSolver.DEBT] = template.getDebtPct().doubleValue();
+        classBudget[MeanVarianceSolver.ALTERNATIVE] = template.getAlternativePct().doubleValue();
+
+        double[] minWeight = new double[n];
+        for (int i = 0; i < n; i++) {
+            minWeight[i] = catalog.minimumInvestment[i] / amount;
+        }
+        double[] weights = new double[n];
+        String category = riskProfile.getPredictedRiskCategory();
+        catalog.solver.solve(config.getRiskAversion(category), classBudget, config.getMaxProductWeight(),
+                config.getMaxHighRiskWeight(category), minWeight, config.getBisectionIterations(),
+                config.getMaxPruneRounds(), weights);
+        return toPortfolio(riskProfile.getUserId(), investmentAmount, catalog, weights);
+    }
+
+    private ProductPortfolio toPortfolio(int userId, BigDecimal investmentAmount, CatalogArrays catalog, double[] weights) {
+        List<ProductHolding> holdings = new ArrayList<>();
+        List<Integer> held = new ArrayList<>();
+        for (int i = 0; i < weights.length; i++) {
+            if (weights[i] > 1e-9) {
+                held.add(i);
+            }
+        }
+        held.sort((a, b) -> Double.compare(weights[b], weights[a]));
+        BigDecimal invested = BigDecimal.ZERO;
+        for (int i : held) {
+            FinancialProduct product = catalog.products[i];
+            BigDecimal weight = BigDecimal.valueOf(weights[i]);
+            BigDecimal amount = investmentAmount.multiply(weight).setScale(2, RoundingMode.DOWN);
+            invested = invested.add(amount);
+            holdings.add(new ProductHolding(product.getProductId(), product.getName(),
+                    ASSET_CLASS_NAMES[catalog.assetClass[i]], weight.setScale(4, RoundingMode.HALF_UP), amount));
+        }
+        BigDecimal expectedReturn = BigDecimal.valueOf(catalog.solver.expectedReturn(weights) * 100).setScale(2, RoundingMode.HALF_UP);
+        BigDecimal volatility = BigDecimal.valueOf(catalog.solver.volatility(weights) * 100).setScale(2, RoundingMode.HALF_UP);
+        return new ProductPortfolio(userId, investmentAmount, holdings, investmentAmount.subtract(invested),
+                expectedReturn, volatility);
+    }
+
+    // Rebuilds the arrays only when the catalog service hands out a different snapshot.
+    private CatalogArrays catalogArrays() {
+        ProductCatalogSnapshot snapshot = financialProductService.catalogSnapshot();
+        CatalogArrays current = catalogArrays;
+        if (current != null && current.source == snapshot) {
+            return current;
+        }
+        CatalogArrays rebuilt = new CatalogArrays(snapshot, config);
+        catalogArrays = rebuilt;
+        return rebuilt;
+    }
+
+    /**
+     * Maps a product to MeanVarianceSolver.EQUITY, DEBT or ALTERNATIVE from its type, falling back to its risk level.
+     */
+    static int assetClassOf(FinancialProduct product) {
+        String type = product.getType() == null ? "" : product.getType().toLowerCase(Locale.ROOT);
+        if (type.contains("bond") || type.contains("debt") || type.contains("deposit") || type.contains("gilt")
+                || type.contains("treasury") || type.contains("liquid") || type.contains("money market")) {
+            return MeanVarianceSolver.DEBT;
+        }
+        if (type.contains("gold") || type.contains("reit") || type.contains("commodit")
+                || type.contains("real estate") || type.contains("crypto")) {
+            return MeanVarianceSolver.ALTERNATIVE;
+        }
+        if (type.contains("stock") || type.contains("equity") || type.contains("share")) {
+            return MeanVarianceSolver.EQUITY;
+        }
+        // Mutual funds, ETFs etc. without a hint in the type: low-risk ones behave like debt.
+        return "Low".equalsIgnoreCase(product.getRiskLevel()) ? MeanVarianceSolver.DEBT : MeanVarianceSolver.EQUITY;
+    }
+
+    // The catalog as primitive arrays plus the solver over them. Products without an expected return are left out.
+    private static final class CatalogArrays {
+        final ProductCatalogSnapshot source;
+        final FinancialProduct[] products;
+        final int[] assetClass;
+        final double[] minimumInvestment;
+        final MeanVarianceSolver solver;
+
+        CatalogArrays(ProductCatalogSnapshot source, PortfolioOptimizerConfig config) {
+            this.source = source;
+            List<FinancialProduct> usable = new ArrayList<>(source.getAll().size());
+            for (FinancialProduct product : source.getAll()) {
+                if (product.getExpectedReturnRate() != null) {
+                    usable.add(product);
+                }
+            }
+            int n = usable.size();
+            this.products = usable.toArray(new FinancialProduct[0]);
+            this.assetClass = new int[n];
+            this.minimumInvestment = new double[n];
+            double[] mu = new double[n];
+            double[] variance = new double[n];
+            boolean[] highRisk = new boolean[n];
+            for (int i = 0; i < n; i++) {
+                FinancialProduct product = products[i];
+                mu[i] = product.getExpectedReturnRate().doubleValue() / 100.0; // Stored as a percentage.
+                double volatility = config.getVolatility(product.getRiskLevel());
+                variance[i] = volatility * volatility;
+                highRisk[i] = "High".equalsIgnoreCase(product.getRiskLevel());
+                assetClass[i] = assetClassOf(product);
+                minimumInvestment[i] = product.getMinimumInvestment() == null ? 0.0 : product.getMinimumInvestment().doubleValue();
+            }
+            this.solver = new MeanVarianceSolver(mu, variance, assetClass, highRisk);
+        }
+    }
+}
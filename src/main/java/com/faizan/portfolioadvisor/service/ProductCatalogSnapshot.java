@@ -0,0 +1,106 @@
+package com.faizan.portfolioadvisor.service;
+
+// src/main/java/com/faizan/portfolioadvisor/service/ProductCatalogSnapshot.java
+
+import com.faizan.portfolioadvisor.model.FinancialProduct;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * An immutable, fully indexed copy of the product catalog.
+ * Snapshots are never modified after construction; a change produces a new snapshot (copy-on-write),
+ * so readers can use whichever snapshot they picked up without any locking.
+ * FinancialProduct is mutable, so the snapshot only holds objects nobody else references: products entering
+ * through withProduct() are copied, and FinancialProductService copies them again before handing them out.
+ */
+final class ProductCatalogSnapshot {
+    private final List<FinancialProduct> products;
+    private final Map<Integer, FinancialProduct> byId;
+    // Risk levels compare case-insensitively, matching the old equalsIgnoreCase filter and MySQL's collation.
+    private final Map<String, List<FinancialProduct>> byRiskLevel;
+    private final long loadedAtNanos;
+
+    ProductCatalogSnapshot(List<FinancialProduct> products, long loadedAtNanos) {
+        Map<Integer, FinancialProduct> ids = new HashMap<>(products.size() * 2);
+        Map<String, List<FinancialProduct>> levels = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (FinancialProduct product : products) {
+            ids.put(product.getProductId(), product);
+            if (product.getRiskLevel() != null) {
+                levels.computeIfAbsent(product.getRiskLevel(), k -> new ArrayList<>()).add(product);
+            }
+        }
+        levels.replaceAll((level, list) -> Collections.unmodifiableList(list));
+        this.products = Collections.unmodifiableList(new ArrayList<>(products));
+        this.byId = Collections.unmodifiableMap(ids);
+        this.byRiskLevel = Collections.unmodifiableMap(levels);
+        this.loadedAtNanos = loadedAtNanos;
+    }
+
+    List<FinancialProduct> getAll() {
+        return products;
+    }
+
+    FinancialProduct getById(int productId) {
+        return byId.get(productId);
+    }
+
+    List<FinancialProduct> getByRiskLevel(String riskLevel) {
+        List<FinancialProduct> matches = riskLevel == null ? null : byRiskLevel.get(riskLevel);
+        return matches == null ? Collections.emptyList() : matches;
+    }
+
+    long getLoadedAtNanos() {
+        return loadedAtNanos;
+    }
+
+    /** @return A new snapshot with a copy of the product added, or replacing the product with the same ID. */
+    ProductCatalogSnapshot withProduct(FinancialProduct changed) {
+        FinancialProduct product = copyOf(changed);
+        List<FinancialProduct> copy = new ArrayList<>(products.size() + 1);
+        boolean replaced = false;
+        for (FinancialProduct existing : products) {
+            if (existing.getProductId() == product.getProductId()) {
+                copy.add(product);
+                replaced = true;
+            } else {
+                copy.add(existing);
+            }
+        }
+        if (!replaced) {
+            copy.add(product);
+        }
+        return new ProductCatalogSnapshot(copy, loadedAtNanos);
+    }
+
+    /** @return A detached copy of the product, safe to hand out or to keep. */
+    static FinancialProduct copyOf(FinancialProduct product) {
+        return product == null ? null : new FinancialProduct(product.getProductId(), product.getName(), product.getType(),
+                product.getDescription(), product.getRiskLevel(), product.getExpectedReturnRate(),
+                product.getMinimumInvestment(), product.getCreatedAt());
+    }
+
+    /** @return Detached copies of the products, as a read-only list. */
+    static List<FinancialProduct> copyOf(List<FinancialProduct> products) {
+        List<FinancialProduct> copies = new ArrayList<>(products.size());
+        for (FinancialProduct product : products) {
+            copies.add(copyOf(product));
+        }
+        return Collections.unmodifiableList(copies);
+    }
+
+    /** @return A new snapshot without the product with this ID. */
+    ProductCatalogSnapshot withoutProduct(int productId) {
+        List<FinancialProduct> copy = new ArrayList<>(products.size());
+        for (FinancialProduct existing : products) {
+            if (existing.getProductId() != productId) {
+                copy.add(existing);
+            }
+        }
+        return new ProductCatalogSnapshot(copy, loadedAtNanos);
+    }
+}
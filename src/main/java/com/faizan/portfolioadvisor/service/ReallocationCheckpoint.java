@@ -0,0 +1,86 @@
+package com.faizan.portfolioadvisor.service;
+
+// src/main/java/com/faizan/portfolioadvisor/service/ReallocationCheckpoint.java
+
+import com.faizan.portfolioadvisor.exception.DataAccessException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.Properties;
+
+/**
+ * Progress of a ReallocationJob run, kept in a small properties file: when the run started, and the user ID
+ * up to which every user has been handled. Counters are totals over all resumes of the same run.
+ */
+final class ReallocationCheckpoint {
+    final LocalDateTime runStartedAt;
+    int lastUserId;
+    long processed;
+    long saved;
+    long failed;
+
+    ReallocationCheckpoint(LocalDateTime runStartedAt) {
+        this.runStartedAt = runStartedAt;
+    }
+
+    /**
+     * @return The checkpoint in the file, or null if there is none.
+     * @throws DataAccessException If the file exists but cannot be read.
+     */
+    static ReallocationCheckpoint load(Path file) {
+        Properties properties = new Properties();
+        try (InputStream input = Files.newInputStream(file)) {
+            properties.load(input);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new DataAccessException("Error reading reallocation checkpoint " + file + ": " + e.getMessage(), e);
+        }
+        try {
+            ReallocationCheckpoint checkpoint = new ReallocationCheckpoint(LocalDateTime.parse(properties.getProperty("runStartedAt")));
+            checkpoint.lastUserId = Integer.parseInt(properties.getProperty("lastUserId", "0"));
+            checkpoint.processed = Long.parseLong(properties.getProperty("processed", "0"));
+            checkpoint.saved = Long.parseLong(properties.getProperty("saved", "0"));
+            checkpoint.failed = Long.parseLong(properties.getProperty("failed", "0"));
+            return checkpoint;
+        } catch (RuntimeException e) {
+            throw new DataAccessException("Invalid reallocation checkpoint " + file + " (delete it to start over): " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Replaces the file atomically, so a crash leaves either the previous or the new checkpoint.
+     * @throws DataAccessException If the file cannot be written.
+     */
+    void save(Path file) {
+        Properties properties = new Properties();
+        properties.setProperty("runStartedAt", runStartedAt.toString());
+        properties.setProperty("lastUserId", Integer.toString(lastUserId));
+        properties.setProperty("processed", Long.toString(processed));
+        properties.setProperty("saved", Long.toString(saved));
+        properties.setProperty("failed", Long.toString(failed));
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            try (OutputStream output = Files.newOutputStream(tmp)) {
+                properties.store(output, "ReallocationJob progress");
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new DataAccessException("Error writing reallocation checkpoint " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            throw new DataAccessException("Error deleting reallocation checkpoint " + file + ": " + e.getMessage(), e);
+        }
+    }
+}
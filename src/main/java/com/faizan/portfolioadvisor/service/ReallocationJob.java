@@ -0,0 +1,222 @@
+package com.faizan.portfolioadvisor.service;
+
+// src/main/java/com/faizan/portfolioadvisor/service/ReallocationJob.java
+
+import com.faizan.portfolioadvisor.dao.PortfolioAllocationDAO;
+import com.faizan.portfolioadvisor.dao.UserRiskProfileDAO;
+import com.faizan.portfolioadvisor.exception.DataAccessException;
+import com.faizan.portfolioadvisor.exception.InvalidInputException;
+import com.faizan.portfolioadvisor.model.PortfolioAllocation;
+import com.faizan.portfolioadvisor.model.UserRiskProfile;
+import com.faizan.portfolioadvisor.util.NamedThreadFactory;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Recomputes every user's recommended allocation from their latest risk profile, e.g. after the allocation
+ * rules changed, and saves the new PortfolioAllocation rows.
+ * <p>
+ * The latest profiles are streamed in user ID order by one query. The stream is cut into batches of
+ * reallocation.batchSize users; each batch is computed and saved (one batched insert, one transaction) by a
+ * fixed pool of workers. At most reallocation.maxInFlightBatches batches are read ahead of the oldest unfinished
+ * one, so memory stays bounded however many users there are.
+ * <p>
+ * Batches finish out of order, so the checkpoint file records the user ID up to which every batch is saved.
+ * A run that finds a checkpoint resumes after that user, and also skips users that already have an allocation
+ * dated at or after the original run's start (batches that were saved beyond the checkpoint before a crash),
+ * so no user gets two allocations from the same run. The checkpoint is deleted once a run completes.
+ */
+public class ReallocationJob {
+    private final UserRiskProfileDAO userRiskProfileDAO;
+    private final PortfolioAllocationDAO portfolioAllocationDAO;
+    private final AllocationPolicyEngine allocationPolicy;
+    private final ReallocationJobConfig config;
+
+    /**
+     * @param allocationPolicy The policy to apply, e.g. PortfolioAdvisorService.getAllocationPolicy() after a reload.
+     */
+    public ReallocationJob(UserRiskProfileDAO userRiskProfileDAO, PortfolioAllocationDAO portfolioAllocationDAO,
+                           AllocationPolicyEngine allocationPolicy, ReallocationJobConfig config) {
+        this.userRiskProfileDAO = userRiskProfileDAO;
+        this.portfolioAllocationDAO = portfolioAllocationDAO;
+        this.allocationPolicy = allocationPolicy;
+        this.config = config;
+    }
+
+    /**
+     * Runs the job to completion, resuming from the checkpoint file if one exists.
+     * Users whose allocation cannot be computed are logged and counted, and do not stop the run.
+     * @return The totals of the run.
+     * @throws InvalidInputException If the configuration is invalid.
+     * @throws DataAccessException If reading profiles or saving a batch fails; the checkpoint is kept, so running
+     *         the job again continues from there.
+     */
+    public ReallocationJobResult run() {
+        if (config.getWorkers() < 1 || config.getBatchSize() < 1 || config.getMaxInFlightBatches() < 1) {
+            throw new InvalidInputException("Reallocation workers, batch size and in-flight batches must be positive: " + config);
+        }
+        long start = System.nanoTime();
+        Path checkpointFile = config.getCheckpointFile();
+        ReallocationCheckpoint checkpoint = ReallocationCheckpoint.load(checkpointFile);
+        boolean resumed = checkpoint != null;
+        if (resumed) {
+            System.out.println("Resuming reallocation run of " + checkpoint.runStartedAt + " after user ID " + checkpoint.lastUserId
+                    + " (" + checkpoint.processed + " users done).");
+        } else {
+            // Whole seconds, so the DATETIME comparison on resume cannot be thrown off by rounding.
+            checkpoint = new ReallocationCheckpoint(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+            // Saved before any allocation is, so a crash at any point resumes with the same run start.
+            checkpoint.save(checkpointFile);
+        }
+        LocalDateTime notAllocatedSince = resumed ? checkpoint.runStartedAt : null;
+        Progress progress = new Progress(userRiskProfileDAO.countLatestUserRiskProfiles(checkpoint.lastUserId, notAllocatedSince));
+
+        ExecutorService workers = Executors.newFixedThreadPool(config.getWorkers(), new NamedThreadFactory("reallocation-worker"));
+        ScheduledExecutorService reporter = null;
+        if (config.getProgressIntervalSeconds() > 0) {
+            reporter = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("reallocation-progress"));
+            reporter.scheduleAtFixedRate(progress::report, config.getProgressIntervalSeconds(),
+                    config.getProgressIntervalSeconds(), TimeUnit.SECONDS);
+        }
+        ArrayDeque<Batch> inFlight = new ArrayDeque<>();
+        try {
+            try (Stream<UserRiskProfile> profiles = userRiskProfileDAO.streamLatestUserRiskProfiles(checkpoint.lastUserId, notAllocatedSince)) {
+                Iterator<UserRiskProfile> iterator = profiles.iterator();
+                List<UserRiskProfile> pending = new ArrayList<>(config.getBatchSize());
+                while (iterator.hasNext()) {
+                    pending.add(iterator.next());
+                    if (pending.size() == config.getBatchSize() || !iterator.hasNext()) {
+                        while (inFlight.size() >= config.getMaxInFlightBatches()) {
+                            commit(inFlight.poll(), checkpoint);
+                        }
+                        Batch batch = new Batch(pending);
+                        batch.future = CompletableFuture.runAsync(() -> process(batch, progress), workers);
+                        inFlight.add(batch);
+                        pending = new ArrayList<>(config.getBatchSize());
+                        // Record batches that are already done without waiting for any.
+                        while (!inFlight.isEmpty() && inFlight.peek().future.isDone()) {
+                            commit(inFlight.poll(), checkpoint);
+                        }
+                    }
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                commit(inFlight.poll(), checkpoint);
+            }
+        } finally {
+            workers.shutdown();
+            try {
+                // On failure, let batches already being saved finish before returning, so none is left half-done.
+                workers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (reporter != null) {
+                reporter.shutdownNow();
+            }
+        }
+
+        ReallocationCheckpoint.delete(checkpointFile);
+        progress.report();
+        return new ReallocationJobResult(checkpoint.runStartedAt, resumed, checkpoint.processed, checkpoint.saved,
+                checkpoint.failed, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    // Runs on a worker: computes the batch's allocations and saves them in one transaction.
+    private void process(Batch batch, Progress progress) {
+        List<PortfolioAllocation> allocations = new ArrayList<>(batch.profiles.size());
+        for (UserRiskProfile profile : batch.profiles) {
+            try {
+                allocations.add(allocationPolicy.recommend(profile));
+            } catch (RuntimeException e) {
+                System.err.println("Error computing allocation for User ID " + profile.getUserId() + ": " + e.getMessage());
+                batch.failed++;
+            }
+        }
+        if (!allocations.isEmpty()) {
+            portfolioAllocationDAO.addAllPortfolioAllocations(allocations, config.getBatchSize());
+        }
+        batch.saved = allocations.size();
+        progress.done.addAndGet(batch.profiles.size());
+    }
+
+    // Waits for the oldest batch and moves the checkpoint past it.
+    private void commit(Batch batch, ReallocationCheckpoint checkpoint) {
+        try {
+            batch.future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            System.err.println("Reallocation stopped after user ID " + checkpoint.lastUserId + ": " + cause.getMessage());
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new DataAccessException("Reallocation batch failed: " + cause.getMessage(), cause);
+        }
+        checkpoint.lastUserId = batch.lastUserId;
+        checkpoint.processed += batch.profiles.size();
+        checkpoint.saved += batch.saved;
+        checkpoint.failed += batch.failed;
+        checkpoint.save(config.getCheckpointFile());
+    }
+
+    /**
+     * Runs the job with reallocation-job.properties and allocation-policy.properties from the classpath.
+     */
+    public static void main(String[] args) {
+        ReallocationJob job = new ReallocationJob(new UserRiskProfileDAO(), new PortfolioAllocationDAO(),
+                AllocationPolicyEngine.load(), ReallocationJobConfig.load());
+        System.out.println(job.run());
+    }
+
+    // A slice of the profile stream; saved and failed are written by the worker and read after its future completes.
+    private static final class Batch {
+        final List<UserRiskProfile> profiles;
+        final int lastUserId;
+        CompletableFuture<Void> future;
+        int saved;
+        int failed;
+
+        Batch(List<UserRiskProfile> profiles) {
+            this.profiles = profiles;
+            this.lastUserId = profiles.get(profiles.size() - 1).getUserId();
+        }
+    }
+
+    // Users done in this call (computed and saved), against the number the count query expected.
+    private static final class Progress {
+        final long total;
+        final AtomicLong done = new AtomicLong();
+        final long startNanos = System.nanoTime();
+
+        Progress(long total) {
+            this.total = total;
+        }
+
+        void report() {
+            long users = done.get();
+            double seconds = (System.nanoTime() - startNanos) / 1e9;
+            double rate = seconds > 0 ? users / seconds : 0;
+            String eta = rate > 0 && users < total ? formatSeconds((long) ((total - users) / rate)) : "-";
+            System.out.println(String.format("Reallocation: %,d/%,d users (%.1f%%), %,.0f users/s, ETA %s",
+                    users, total, total > 0 ? 100.0 * users / total : 100.0, rate, eta));
+        }
+
+        private static String formatSeconds(long seconds) {
+            return String.format("%d:%02d:%02d", seconds / 3600, seconds / 60 % 60, seconds % 60);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.faizan.portfolioadvisor.service;
+
+// src/main/java/com/faizan/portfolioadvisor/service/ReallocationJobConfig.java
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+
+/**
+ * Settings for ReallocationJob.
+ * Defaults can be overridden in reallocation-job.properties on the classpath, or with the setters before
+ * the config is handed to the job.
+ */
+public class ReallocationJobConfig {
+    private static final String REALLOCATION_PROPERTIES_FILE = "reallocation-job.properties";
+
+    private int workers = 4;
+    private int batchSize = 500;
+    private int maxInFlightBatches = 8;
+    private Path checkpointFile = Paths.get("reallocation-job.checkpoint");
+    private int progressIntervalSeconds = 10;
+
+    /**
+     * Loads reallocation-job.properties from the classpath. Missing keys (or a missing file) keep their defaults.
+     * @return The loaded configuration.
+     */
+    public static ReallocationJobConfig load() {
+        Properties properties = new Properties();
+        try (InputStream input = ReallocationJobConfig.class.getClassLoader().getResourceAsStream(REALLOCATION_PROPERTIES_FILE)) {
+            if (input != null) {
+                properties.load(input);
+            }
+        } catch (IOException ex) {
+            throw new RuntimeException("Failed to load reallocation job properties: " + ex.getMessage(), ex);
+        }
+        return fromProperties(properties);
+    }
+
+    /**
+     * Builds a configuration from reallocation.* properties; missing keys keep their defaults.
+     */
+    public static ReallocationJobConfig fromProperties(Properties properties) {
+        ReallocationJobConfig config = new ReallocationJobConfig();
+        config.workers = getInt(properties, "reallocation.workers", config.workers);
+        config.batchSize = getInt(properties, "reallocation.batchSize", config.batchSize);
+        config.maxInFlightBatches = getInt(properties, "reallocation.maxInFlightBatches", config.maxInFlightBatches);
+        String checkpoint = properties.getProperty("reallocation.checkpointFile");
+        if (checkpoint != null && !checkpoint.trim().isEmpty()) {
+            config.checkpointFile = Paths.get(checkpoint.trim());
+        }
+        config.progressIntervalSeconds = getInt(properties, "reallocation.progressIntervalSeconds", config.progressIntervalSeconds);
+        return config;
+    }
+
+    private static int getInt(Properties properties, String key, int defaultValue) {
+        String value = properties.getProperty(key);
+        return value == null ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    // --- Getters ---
+    public int getWorkers() { return workers; }
+    public int getBatchSize() { return batchSize; }
+    public int getMaxInFlightBatches() { return maxInFlightBatches; }
+    public Path getCheckpointFile() { return checkpointFile; }
+    public int getProgressIntervalSeconds() { return progressIntervalSeconds; }
+
+    // --- Setters ---
+    public void setWorkers(int workers) { this.workers = workers; }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+    public void setMaxInFlightBatches(int maxInFlightBatches) { this.maxInFlightBatches = maxInFlightBatches; }
+    public void setCheckpointFile(Path checkpointFile) { this.checkpointFile = checkpointFile; }
+    public void setProgressIntervalSeconds(int progressIntervalSeconds) { this.progressIntervalSeconds = progressIntervalSeconds; }
+
+    @Override
+    public String toString() {
+        return "ReallocationJobConfig{" +
+                "workers=" + workers +
+                ", batchSize=" + batchSize +
+                ", maxInFlightBatches=" + maxInFlightBatches +
+                ", checkpointFile=" + checkpointFile +
+                ", progressIntervalSeconds=" + progressIntervalSeconds +
+                '}';
+    }
+}
@@ -0,0 +1,52 @@
+package com.faizan.portfolioadvisor.service;
+
+// src/main/java/com/faizan/portfolioadvisor/service/ReallocationJobResult.java
+
+import java.time.LocalDateTime;
+
+/**
+ * Outcome of a completed ReallocationJob run. Counts include the users handled before a resume, up to the
+ * checkpoint; batches saved beyond it before a crash are skipped on resume and not counted.
+ */
+public class ReallocationJobResult {
+    private final LocalDateTime runStartedAt;
+    private final boolean resumed;
+    private final long usersProcessed;
+    private final long allocationsSaved;
+    private final long usersFailed;
+    private final long elapsedMillis;
+
+    public ReallocationJobResult(LocalDateTime runStartedAt, boolean resumed, long usersProcessed,
+                                 long allocationsSaved, long usersFailed, long elapsedMillis) {
+        this.runStartedAt = runStartedAt;
+        this.resumed = resumed;
+        this.usersProcessed = usersProcessed;
+        this.allocationsSaved = allocationsSaved;
+        this.usersFailed = usersFailed;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    // --- Getters ---
+    /** @return When the run first started; every allocation it saved is dated at or after this. */
+    public LocalDateTime getRunStartedAt() { return runStartedAt; }
+    /** @return true if this call continued a run that had been interrupted. */
+    public boolean isResumed() { return resumed; }
+    public long getUsersProcessed() { return usersProcessed; }
+    public long getAllocationsSaved() { return allocationsSaved; }
+    /** @return Users whose allocation could not be computed (see the error log); nothing was saved for them. */
+    public long getUsersFailed() { return usersFailed; }
+    /** @return Time spent by this call only. */
+    public long getElapsedMillis() { return elapsedMillis; }
+
+    @Override
+    public String toString() {
+        return "ReallocationJobResult{" +
+                "runStartedAt=" + runStartedAt +
+                ", resumed=" + resumed +
+                ", usersProcessed=" + usersProcessed +
+                ", allocationsSaved=" + allocationsSaved +
+                ", usersFailed=" + usersFailed +
+                ", elapsedMillis=" + elapsedMillis +
+                '}';
+    }
+}
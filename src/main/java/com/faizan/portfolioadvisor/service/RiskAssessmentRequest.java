@@ -0,0 +1,33 @@
+package com.faizan.portfolioadvisor.service;
+
+// src/main/java/com/faizan/portfolioadvisor/service/RiskAssessmentRequest.java
+
+import com.faizan.portfolioadvisor.ml.RiskFeatures;
+import com.faizan.portfolioadvisor.model.User;
+
+import java.math.BigDecimal;
+
+/**
+ * One entry of a batch re-scoring run: the user plus the questionnaire answers to score.
+ */
+public class RiskAssessmentRequest {
+    private final User user;
+    private final RiskFeatures features;
+
+    public RiskAssessmentRequest(User user, int age, BigDecimal incomeLakhs, int investmentExperienceYears, String financialGoal) {
+        this.user = user;
+        this.features = new RiskFeatures(age, incomeLakhs, investmentExperienceYears, financialGoal);
+    }
+
+    // --- Getters ---
+    public User getUser() { return user; }
+    public RiskFeatures getFeatures() { return features; }
+
+    @Override
+    public String toString() {
+        return "RiskAssessmentRequest{" +
+                "userId=" + user.getUserId() +
+                ", features=" + features +
+                '}';
+    }
+}
@@ -1,19 +1,151 @@
 // src/main/java/com/faizan/portfolioadvisor/service/UserService.java
 package com.faizan.portfolioadvisor.service;
 
+import com.faizan.portfolioadvisor.dao.DaoChangeListener;
 import com.faizan.portfolioadvisor.dao.UserDAO;
 import com.faizan.portfolioadvisor.exception.AuthenticationException;
 import com.faizan.portfolioadvisor.exception.InvalidInputException;
+import com.faizan.portfolioadvisor.exception.DataAccessException;
 import com.faizan.portfolioadvisor.model.User;
+import com.faizan.portfolioadvisor.util.BloomFilter;
+import com.faizan.portfolioadvisor.util.CacheStats;
+import com.faizan.portfolioadvisor.util.NamedThreadFactory;
+import com.faizan.portfolioadvisor.util.TtlLruCache;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
 
 public class UserService {
+    private static final int DEFAULT_LOGIN_CACHE_SIZE = 10_000;
+    private static final Duration DEFAULT_LOGIN_CACHE_TTL = Duration.ofMinutes(5);
+    private static final long DEFAULT_EXPECTED_USERS = 1_000_000L;
+    private static final double DEFAULT_EMAIL_FILTER_FPP = 0.01;
+    private static final Duration DEFAULT_EMAIL_FILTER_REBUILD_INTERVAL = Duration.ofMinutes(15);
+    // One loader thread for all UserService instances; the filter loads are full table scans, so they queue.
+    private static final ExecutorService EMAIL_FILTER_LOADER =
+            Executors.newSingleThreadExecutor(new NamedThreadFactory("email-filter-loader"));
+
     private final UserDAO userDAO;
+    // Users by normalized email, so login bursts and duplicate-email checks don't all go to MySQL.
+    private final TtlLruCache<String, User> userByEmailCache;
+
+    // Bloom filter of every registered email. A "definitely not present" answer lets registerUser skip
+    // the duplicate-email SELECT. Loaded on first use (see initializeEmailFilter); until then the database is asked.
+    // Writes through this process's UserDAO are added at once; emails registered by other instances or directly
+    // in SQL are only seen after the next rebuild, which registerUser starts once the filter is older than the
+    // rebuild interval. Within that window the unique index on Users.email rejects the duplicate insert.
+    private final long expectedUsers;
+    private final double emailFilterFpp;
+    // 0 = never rebuild on a timer.
+    private final long emailFilterRebuildNanos;
+    private volatile BloomFilter emailFilter;
+    private volatile long emailFilterLoadedAtNanos;
+    private final AtomicBoolean emailFilterRebuildQueued = new AtomicBoolean();
+    // The filter currently being rebuilt, so emails registered during a rebuild are not lost.
+    private volatile BloomFilter rebuildingEmailFilter;
+    private final LongAdder duplicateChecksSkipped = new LongAdder();
+    // The first (lazy) filter load, started by initializeEmailFilter(); null until then.
+    private final AtomicReference<CompletableFuture<Void>> emailFilterLoad = new AtomicReference<>();
+    // Bumped by every invalidation, so a lookup that raced with an update does not re-cache the old row.
+    private long cacheGeneration;
+    private final Object cacheLock = new Object();
 
     // Constructor-based Dependency Injection
     public UserService(UserDAO userDAO) {
+        this(userDAO, DEFAULT_LOGIN_CACHE_SIZE, DEFAULT_LOGIN_CACHE_TTL, DEFAULT_EXPECTED_USERS, DEFAULT_EMAIL_FILTER_FPP,
+                DEFAULT_EMAIL_FILTER_REBUILD_INTERVAL);
+    }
+
+    /**
+     * @param userDAO The user DAO.
+     * @param loginCacheSize The maximum number of users kept in the email lookup cache.
+     * @param loginCacheTtl How long a cached user is trusted; bounds staleness for changes made outside this process.
+     */
+    public UserService(UserDAO userDAO, int loginCacheSize, Duration loginCacheTtl) {
+        this(userDAO, loginCacheSize, loginCacheTtl, DEFAULT_EXPECTED_USERS, DEFAULT_EMAIL_FILTER_FPP,
+                DEFAULT_EMAIL_FILTER_REBUILD_INTERVAL);
+    }
+
+    /**
+     * @param userDAO The user DAO.
+     * @param loginCacheSize The maximum number of users kept in the email lookup cache.
+     * @param loginCacheTtl How long a cached user is trusted; bounds staleness for changes made outside this process.
+     * @param expectedUsers The number of registered emails the Bloom filter is sized for.
+     * @param emailFilterFpp The Bloom filter's target false-positive rate (a false positive only costs one extra SELECT).
+     */
+    public UserService(UserDAO userDAO, int loginCacheSize, Duration loginCacheTtl, long expectedUsers, double emailFilterFpp) {
+        this(userDAO, loginCacheSize, loginCacheTtl, expectedUsers, emailFilterFpp, DEFAULT_EMAIL_FILTER_REBUILD_INTERVAL);
+    }
+
+    /**
+     * @param userDAO The user DAO.
+     * @param loginCacheSize The maximum number of users kept in the email lookup cache.
+     * @param loginCacheTtl How long a cached user is trusted; bounds staleness for changes made outside this process.
+     * @param expectedUsers The number of registered emails the Bloom filter is sized for.
+     * @param emailFilterFpp The Bloom filter's target false-positive rate (a false positive only costs one extra SELECT).
+     * @param emailFilterRebuildInterval How old the Bloom filter may get before the next registration starts a rebuild
+     *                                   in the background, to pick up emails registered outside this process.
+     *                                   Duration.ZERO disables the timed rebuild.
+     */
+    public UserService(UserDAO userDAO, int loginCacheSize, Duration loginCacheTtl, long expectedUsers, double emailFilterFpp,
+                       Duration emailFilterRebuildInterval) {
         this.userDAO = userDAO;
+        this.userByEmailCache = new TtlLruCache<>(loginCacheSize, loginCacheTtl);
+        this.expectedUsers = expectedUsers;
+        this.emailFilterFpp = emailFilterFpp;
+        this.emailFilterRebuildNanos = emailFilterRebuildInterval.toNanos();
+        // Keep the login cache and the email filter in step with every write made through the DAO.
+        userDAO.addChangeListener(new DaoChangeListener<User>() {
+            @Override
+            public void onAdded(User user) {
+                addToEmailFilter(user.getEmail());
+            }
+
+            @Override
+            public void onUpdated(User user) {
+                invalidateCachedUser(user.getUserId());
+                addToEmailFilter(user.getEmail());
+            }
+
+            @Override
+            public void onDeleted(int userId) {
+                invalidateCachedUser(userId);
+                // The email stays in the Bloom filter; that only means one extra SELECT if it is registered again.
+            }
+        });
+    }
+
+    /**
+     * Starts loading the registered-email Bloom filter on a shared background thread, unless it is already
+     * loading or loaded. registerUser() calls this itself; call it at startup to have the filter ready sooner.
+     * @return A future completed when the load has finished (also if it failed; duplicate checks then keep
+     *         querying the database).
+     */
+    public CompletableFuture<Void> initializeEmailFilter() {
+        CompletableFuture<Void> load = emailFilterLoad.get();
+        if (load == null) {
+            CompletableFuture<Void> started = new CompletableFuture<>();
+            if (emailFilterLoad.compareAndSet(null, started)) {
+                EMAIL_FILTER_LOADER.execute(() -> {
+                    try {
+                        loadEmailFilterQuietly();
+                    } finally {
+                        started.complete(null);
+                    }
+                });
+                return started;
+            }
+            load = emailFilterLoad.get();
+        }
+        return load;
     }
 
     public User registerUser(String name, String email, String passwordHash, String phoneNumber, String address) {
@@ -25,18 +157,32 @@ public class UserService {
             throw new InvalidInputException("Password must be at least 6 characters.");
         }
 
-        // Check if user already exists
-        if (userDAO.getUserByEmail(email) != null) {
+        // Check if user already exists. The Bloom filter answers "definitely new" for most signups without a query.
+        BloomFilter filter = emailFilter;
+        if (filter == null) {
+            initializeEmailFilter(); // Not waited for; this signup falls back to the query.
+        } else if (emailFilterRebuildNanos > 0 && System.nanoTime() - emailFilterLoadedAtNanos >= emailFilterRebuildNanos) {
+            rebuildEmailFilterInBackground(); // The current filter keeps answering meanwhile.
+        }
+        if (filter != null && !filter.mightContain(normalizeEmail(email))) {
+            duplicateChecksSkipped.increment();
+        } else if (findUserByEmail(email) != null) {
             throw new InvalidInputException("User with this email already exists.");
         }
 
         User newUser = new User(name, email, passwordHash, phoneNumber, address);
-        userDAO.addUser(newUser); // This method call handles the DB insertion
+        try {
+            userDAO.addUser(newUser); // This method call handles the DB insertion
+        } catch (InvalidInputException e) {
+            // The unique index caught an email the filter had not seen yet; remember it for the next attempt.
+            addToEmailFilter(email);
+            throw e;
+        }
         return newUser;
     }
 
     public User userLogin(String email, String passwordHash) {
-        User user = userDAO.getUserByEmail(email);
+        User user = email == null ? null : findUserByEmail(email);
         if (user == null || !user.getPasswordHash().equals(passwordHash)) {
             throw new AuthenticationException("Invalid email or password.");
         }
@@ -47,5 +193,141 @@ public class UserService {
         return userDAO.getAllUsers();
     }
 
+    /**
+     * Streams every user in constant memory; intended for admin and batch jobs.
+     * The caller must close the stream (try-with-resources) to release its database connection.
+     */
+    public Stream<User> streamAllUsers() {
+        return userDAO.streamAllUsers();
+    }
+
+    public List<User> getUsersPage(int afterUserId, int limit) {
+        return userDAO.getUsersPage(afterUserId, limit);
+    }
+
+    /**
+     * @return Hit/miss/eviction counters of the email lookup cache used by login and registration.
+     */
+    public CacheStats getLoginCacheStats() {
+        return userByEmailCache.stats();
+    }
+
+    /**
+     * Rebuilds the registered-email Bloom filter by streaming the Users table.
+     * The current filter keeps answering until the new one is complete, and emails registered
+     * while the rebuild runs are added to both.
+     * @throws DataAccessException If the Users table could not be read; the previous filter stays in use.
+     */
+    public synchronized void rebuildEmailFilter() {
+        BloomFilter fresh = new BloomFilter(expectedUsers, emailFilterFpp);
+        rebuildingEmailFilter = fresh;
+        try (Stream<User> users = userDAO.streamAllUsers()) {
+            users.forEach(user -> fresh.put(normalizeEmail(user.getEmail())));
+            emailFilter = fresh;
+            emailFilterLoadedAtNanos = System.nanoTime();
+        } finally {
+            rebuildingEmailFilter = null;
+        }
+        System.out.println("Email filter loaded: " + fresh);
+    }
+
+    // Queues at most one rebuild at a time on the shared loader thread.
+    private void rebuildEmailFilterInBackground() {
+        if (emailFilterRebuildQueued.compareAndSet(false, true)) {
+            EMAIL_FILTER_LOADER.execute(() -> {
+                try {
+                    loadEmailFilterQuietly();
+                } finally {
+                    emailFilterRebuildQueued.set(false);
+                }
+            });
+        }
+    }
+
+    private void loadEmailFilterQuietly() {
+        try {
+            rebuildEmailFilter();
+        } catch (DataAccessException e) {
+            System.err.println("Email filter could not be loaded; duplicate checks will query the database: " + e.getMessage());
+        }
+    }
+
+    private void addToEmailFilter(String email) {
+        if (email == null) {
+            return;
+        }
+        String key = normalizeEmail(email);
+        // Read the rebuilding filter before the live one: if the rebuild has already swapped in its
+        // filter, the second read sees it; if it has not started yet, its table scan will see this row.
+        BloomFilter rebuilding = rebuildingEmailFilter;
+        BloomFilter live = emailFilter;
+        if (rebuilding != null) {
+            rebuilding.put(key);
+        }
+        if (live != null) {
+            live.put(key);
+        }
+    }
+
+    public boolean isEmailFilterReady() {
+        return emailFilter != null;
+    }
+
+    /**
+     * @return The heap used by the email Bloom filter in bytes, or 0 if it has not been loaded.
+     */
+    public long getEmailFilterMemoryBytes() {
+        BloomFilter filter = emailFilter;
+        return filter == null ? 0 : filter.getMemoryFootprintBytes();
+    }
+
+    /**
+     * @return How many registrations skipped the duplicate-email query thanks to the Bloom filter.
+     */
+    public long getDuplicateChecksSkipped() {
+        return duplicateChecksSkipped.sum();
+    }
+
+    // MySQL compares emails case-insensitively, so the cache and filter keys must too.
+    private static String normalizeEmail(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    // Read-through lookup: the cache first, then the database. Misses are not cached, so a
+    // freshly registered email is never hidden behind a cached "not found". The cache holds detached
+    // copies and every caller gets its own, so an unsaved edit to a returned user stays with that caller.
+    private User findUserByEmail(String email) {
+        String key = normalizeEmail(email);
+        User user = copyOf(userByEmailCache.get(key));
+        if (user == null) {
+            long generation;
+            synchronized (cacheLock) {
+                generation = cacheGeneration;
+            }
+            user = userDAO.getUserByEmail(email);
+            synchronized (cacheLock) {
+                // An update or delete since the lookup started may have been read before it committed;
+                // the row is still returned to this caller but not cached.
+                if (generation == cacheGeneration) {
+                    userByEmailCache.put(key, copyOf(user));
+                }
+            }
+        }
+        return user;
+    }
+
+    /** @return A detached copy of the user, safe to hand out or to keep. */
+    private static User copyOf(User user) {
+        return user == null ? null : new User(user.getUserId(), user.getName(), user.getEmail(), user.getPasswordHash(),
+                user.getPhoneNumber(), user.getAddress(), user.getCreatedAt());
+    }
+
+    private void invalidateCachedUser(int userId) {
+        synchronized (cacheLock) {
+            cacheGeneration++;
+            userByEmailCache.removeIf((email, cached) -> cached.getUserId() == userId);
+        }
+    }
+
     // More methods like updateUser, deleteUser, etc., can be added here
 }
\ No newline at end of file
@@ -0,0 +1,114 @@
+package com.faizan.portfolioadvisor.util;
+
+// src/main/java/com/faizan/portfolioadvisor/util/AsyncLimiter.java
+
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Caps the number of asynchronous operations in flight without blocking any thread.
+ * Operations beyond the limit wait in a bounded FIFO queue and are started as earlier ones complete.
+ * If the caller gives up on a queued operation (e.g. its future timed out), it is never started.
+ */
+public class AsyncLimiter {
+    private final int maxInFlight;
+    private final int maxQueued;
+    private final ArrayDeque<Pending<?>> queue = new ArrayDeque<>();
+    private int inFlight;
+
+    /**
+     * @param maxInFlight The maximum number of operations running at once.
+     * @param maxQueued The maximum number of operations waiting for a slot; further submissions are rejected.
+     */
+    public AsyncLimiter(int maxInFlight, int maxQueued) {
+        if (maxInFlight < 1 || maxQueued < 0) {
+            throw new IllegalArgumentException("Invalid limits: maxInFlight=" + maxInFlight + ", maxQueued=" + maxQueued);
+        }
+        this.maxInFlight = maxInFlight;
+        this.maxQueued = maxQueued;
+    }
+
+    /**
+     * Runs the operation now if a slot is free, otherwise queues it.
+     * @param operation Starts the operation and returns its future; called at most once.
+     * @return A future that completes like the operation's future. It completes exceptionally with
+     *         RejectedExecutionException if the queue is full.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> operation) {
+        Pending<T> pending = new Pending<>(operation);
+        boolean startNow;
+        synchronized (this) {
+            if (inFlight < maxInFlight) {
+                inFlight++;
+                startNow = true;
+            } else if (queue.size() < maxQueued) {
+                queue.addLast(pending);
+                startNow = false;
+            } else {
+                pending.result.completeExceptionally(new RejectedExecutionException(
+                        "Too many pending operations (in flight: " + inFlight + ", queued: " + queue.size() + ")."));
+                return pending.result;
+            }
+        }
+        if (startNow) {
+            start(pending);
+        }
+        return pending.result;
+    }
+
+    private <T> void start(Pending<T> pending) {
+        CompletableFuture<T> future;
+        try {
+            future = pending.operation.get();
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        future.whenComplete((value, failure) -> {
+            // Hand the slot on before completing, so callbacks on the result see the next operation started.
+            release();
+            if (failure != null) {
+                pending.result.completeExceptionally(failure);
+            } else {
+                pending.result.complete(value);
+            }
+        });
+    }
+
+    // The finished operation's slot passes directly to the next queued operation that is still wanted.
+    private void release() {
+        Pending<?> next;
+        synchronized (this) {
+            do {
+                next = queue.pollFirst();
+            } while (next != null && next.result.isDone());
+            if (next == null) {
+                inFlight--;
+                return;
+            }
+        }
+        start(next);
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized int getQueued() {
+        return queue.size();
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    private static final class Pending<T> {
+        private final Supplier<CompletableFuture<T>> operation;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        private Pending(Supplier<CompletableFuture<T>> operation) {
+            this.operation = operation;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.faizan.portfolioadvisor.util;
+
+// src/main/java/com/faizan/portfolioadvisor/util/BloomFilter.java
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A thread-safe Bloom filter over strings.
+ * mightContain() never returns false for a string that was put(), and returns true for a string that was
+ * not put() with roughly the configured false-positive probability (as long as no more than the expected
+ * number of strings were added). Strings cannot be removed.
+ */
+public class BloomFilter {
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray words;
+    private final long bitSize;
+    private final int hashCount;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final AtomicLong setBits = new AtomicLong();
+
+    /**
+     * @param expectedInsertions How many distinct strings the filter is sized for.
+     * @param falsePositiveRate The target false-positive probability at that size, e.g. 0.01.
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions < 1) {
+            throw new IllegalArgumentException("Expected insertions must be positive: " + expectedInsertions);
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False-positive rate must be between 0 and 1: " + falsePositiveRate);
+        }
+        // Optimal sizing: m = -n ln(p) / (ln 2)^2 bits, k = (m / n) ln 2 hash functions.
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (LN2 * LN2));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, (bits + 63) / 64);
+        this.words = new AtomicLongArray(wordCount);
+        this.bitSize = (long) wordCount * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * LN2));
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    /**
+     * Adds a string to the filter.
+     * @return true if the filter changed, i.e. the string was definitely not present before.
+     */
+    public boolean put(CharSequence value) {
+        long h1 = hash(value, 0x9E3779B97F4A7C15L);
+        long h2 = hash(value, 0xC2B2AE3D27D4EB4FL) | 1; // odd, so the probe sequence never repeats early
+        boolean changed = false;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitSize);
+            if (setBit(bit)) {
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * @return false if the string was definitely never added; true if it probably was.
+     */
+    public boolean mightContain(CharSequence value) {
+        long h1 = hash(value, 0x9E3779B97F4A7C15L);
+        long h2 = hash(value, 0xC2B2AE3D27D4EB4FL) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitSize);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean setBit(long bit) {
+        int index = (int) (bit >>> 6);
+        long mask = 1L << bit;
+        while (true) {
+            long word = words.get(index);
+            if ((word & mask) != 0) {
+                return false;
+            }
+            if (words.compareAndSet(index, word, word | mask)) {
+                setBits.incrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    // 64-bit hash of the characters, without allocating (FNV-1a style mixing plus a murmur3 finalizer).
+    private static long hash(CharSequence value, long seed) {
+        long h = seed;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        h ^= value.length();
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    // --- Getters ---
+    public long getBitSize() { return bitSize; }
+    public int getHashCount() { return hashCount; }
+    public long getExpectedInsertions() { return expectedInsertions; }
+    public double getConfiguredFalsePositiveRate() { return falsePositiveRate; }
+
+    /**
+     * @return The approximate heap used by the bit array, in bytes.
+     */
+    public long getMemoryFootprintBytes() {
+        return (long) words.length() * Long.BYTES;
+    }
+
+    /**
+     * @return The false-positive probability implied by the bits set so far: (fraction of bits set)^k.
+     */
+    public double getCurrentFalsePositiveRate() {
+        return Math.pow((double) setBits.get() / bitSize, hashCount);
+    }
+
+    /**
+     * @return An estimate of how many distinct strings have been added, derived from the number of set bits.
+     */
+    public long getApproximateElementCount() {
+        double fractionSet = (double) setBits.get() / bitSize;
+        if (fractionSet >= 1.0) {
+            return Long.MAX_VALUE;
+        }
+        return Math.round(-((double) bitSize / hashCount) * Math.log1p(-fractionSet));
+    }
+
+    @Override
+    public String toString() {
+        return "BloomFilter{" +
+                "bits=" + bitSize +
+                ", hashes=" + hashCount +
+                ", memoryBytes=" + getMemoryFootprintBytes() +
+                ", approxElements=" + getApproximateElementCount() +
+                ", currentFpp=" + String.format("%.5f", getCurrentFalsePositiveRate()) +
+                '}';
+    }
+}
@@ -0,0 +1,49 @@
+package com.faizan.portfolioadvisor.util;
+
+// src/main/java/com/faizan/portfolioadvisor/util/CacheStats.java
+
+/**
+ * Point-in-time counters of a cache, for logging and monitoring.
+ */
+public class CacheStats {
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final long expirationCount;
+    private final int size;
+
+    public CacheStats(long hitCount, long missCount, long evictionCount, long expirationCount, int size) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.expirationCount = expirationCount;
+        this.size = size;
+    }
+
+    // --- Getters ---
+    public long getHitCount() { return hitCount; }
+    public long getMissCount() { return missCount; }
+    public long getEvictionCount() { return evictionCount; }
+    public long getExpirationCount() { return expirationCount; }
+    public int getSize() { return size; }
+
+    /**
+     * @return hits / (hits + misses), or 0 if the cache has not been queried yet.
+     */
+    public double getHitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 0.0 : (double) hitCount / requests;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{" +
+                "hits=" + hitCount +
+                ", misses=" + missCount +
+                ", hitRate=" + String.format("%.3f", getHitRate()) +
+                ", evictions=" + evictionCount +
+                ", expirations=" + expirationCount +
+                ", size=" + size +
+                '}';
+    }
+}
@@ -0,0 +1,173 @@
+package com.faizan.portfolioadvisor.util;
+
+// src/main/java/com/faizan/portfolioadvisor/util/CircuitBreaker.java
+
+import java.time.Duration;
+
+/**
+ * A count-based circuit breaker for calls to a remote dependency.
+ * <ul>
+ *   <li>CLOSED: calls are allowed and their outcomes are recorded in a sliding window of the last windowSize
+ *       calls. Once at least minimumCalls are recorded, the breaker opens if the failure rate or the rate of
+ *       slow calls reaches its threshold.</li>
+ *   <li>OPEN: calls are refused (tryAcquire returns false) until openDuration has passed.</li>
+ *   <li>HALF_OPEN: up to halfOpenProbes trial calls are allowed. If they all succeed in time the breaker closes;
+ *       the first failed or slow probe opens it again.</li>
+ * </ul>
+ * All methods are synchronized; each one is O(1).
+ */
+public class CircuitBreaker {
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private static final byte FAILED = 1;
+    private static final byte SLOW = 2;
+
+    private final String name;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long slowCallNanos;
+    private final double slowCallRateThreshold;
+    private final long openNanos;
+    private final int halfOpenProbes;
+
+    // Ring buffer of call outcomes (FAILED/SLOW bits) while CLOSED.
+    private final byte[] window;
+    private int windowPosition;
+    private int recordedCalls;
+    private int failedCalls;
+    private int slowCalls;
+
+    private State state = State.CLOSED;
+    private long openedAtNanos;
+    private int probesStarted;
+    private int probesSucceeded;
+    private long rejectedCount;
+    private long openedCount;
+
+    /**
+     * @param name Used in log messages.
+     * @param windowSize Number of most recent calls the rates are computed over.
+     * @param minimumCalls Calls that must be recorded before the breaker may open.
+     * @param failureRateThreshold Failure rate (0..1) at which the breaker opens.
+     * @param slowCallDuration Calls taking at least this long count as slow.
+     * @param slowCallRateThreshold Slow-call rate (0..1) at which the breaker opens.
+     * @param openDuration How long the breaker stays open before allowing probes.
+     * @param halfOpenProbes Number of successful probes needed to close again.
+     */
+    public CircuitBreaker(String name, int windowSize, int minimumCalls, double failureRateThreshold, Duration slowCallDuration,
+                          double slowCallRateThreshold, Duration openDuration, int halfOpenProbes) {
+        if (windowSize < 1 || minimumCalls < 1 || halfOpenProbes < 1) {
+            throw new IllegalArgumentException("Invalid circuit breaker settings: windowSize=" + windowSize
+                    + ", minimumCalls=" + minimumCalls + ", halfOpenProbes=" + halfOpenProbes);
+        }
+        this.name = name;
+        this.window = new byte[windowSize];
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallNanos = slowCallDuration.toNanos();
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenProbes = halfOpenProbes;
+    }
+
+    /**
+     * Asks for permission to make a call. Every permitted call must be followed by exactly one onResult().
+     * @return true if the call may go ahead, false if the breaker is open (or all half-open probes are taken).
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAtNanos < openNanos) {
+                rejectedCount++;
+                return false;
+            }
+            state = State.HALF_OPEN;
+            probesStarted = 0;
+            probesSucceeded = 0;
+            System.out.println("Circuit breaker '" + name + "' is half-open, probing.");
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesStarted >= halfOpenProbes) {
+                rejectedCount++;
+                return false;
+            }
+            probesStarted++;
+        }
+        return true;
+    }
+
+    /**
+     * Records the outcome of a call permitted by tryAcquire().
+     * @param success Whether the call succeeded.
+     * @param durationNanos How long the call took; pass 0 if the call should not count towards the slow-call rate.
+     */
+    public synchronized void onResult(boolean success, long durationNanos) {
+        boolean slow = durationNanos >= slowCallNanos;
+        switch (state) {
+            case HALF_OPEN:
+                if (!success || slow) {
+                    open(success ? "slow probe" : "failed probe");
+                } else if (++probesSucceeded >= halfOpenProbes) {
+                    state = State.CLOSED;
+                    resetWindow();
+                    System.out.println("Circuit breaker '" + name + "' closed.");
+                }
+                return;
+            case OPEN:
+                // A call permitted before the breaker opened; the window has already been discarded.
+                return;
+            default:
+                record((byte) ((success ? 0 : FAILED) | (slow ? SLOW : 0)));
+        }
+    }
+
+    private void record(byte outcome) {
+        if (recordedCalls == window.length) {
+            byte evicted = window[windowPosition];
+            if ((evicted & FAILED) != 0) failedCalls--;
+            if ((evicted & SLOW) != 0) slowCalls--;
+        } else {
+            recordedCalls++;
+        }
+        window[windowPosition] = outcome;
+        windowPosition = (windowPosition + 1) % window.length;
+        if ((outcome & FAILED) != 0) failedCalls++;
+        if ((outcome & SLOW) != 0) slowCalls++;
+
+        if (recordedCalls >= minimumCalls) {
+            if ((double) failedCalls / recordedCalls >= failureRateThreshold) {
+                open("failure rate " + failedCalls + "/" + recordedCalls);
+            } else if ((double) slowCalls / recordedCalls >= slowCallRateThreshold) {
+                open("slow call rate " + slowCalls + "/" + recordedCalls);
+            }
+        }
+    }
+
+    private void open(String reason) {
+        state = State.OPEN;
+        openedAtNanos = System.nanoTime();
+        openedCount++;
+        resetWindow();
+        System.err.println("Circuit breaker '" + name + "' opened (" + reason + ").");
+    }
+
+    private void resetWindow() {
+        windowPosition = 0;
+        recordedCalls = 0;
+        failedCalls = 0;
+        slowCalls = 0;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /** @return Calls refused because the breaker was open. */
+    public synchronized long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    /** @return How many times the breaker has opened. */
+    public synchronized long getOpenedCount() {
+        return openedCount;
+    }
+}
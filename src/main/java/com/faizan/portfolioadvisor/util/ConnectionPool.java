@@ -0,0 +1,385 @@
+package com.faizan.portfolioadvisor.util;
+
+// src/main/java/com/faizan/portfolioadvisor/util/ConnectionPool.java
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A small, bounded JDBC connection pool.
+ * Physical connections are opened lazily up to maxSize and handed out wrapped in a proxy,
+ * so calling close() on a borrowed connection (e.g. at the end of a try-with-resources block)
+ * returns it to the pool instead of closing the socket to MySQL.
+ * Each physical connection also keeps an LRU cache of its PreparedStatements (see StatementCache).
+ */
+public class ConnectionPool implements AutoCloseable {
+    // Connections returned to the pool more recently than this are not re-validated on borrow.
+    private static final long VALIDATION_BYPASS_MILLIS = 500;
+    // How long a waiting borrower blocks on the idle deque before checking again for a free slot.
+    private static final long SLOT_RECHECK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final String url;
+    private final String username;
+    private final String password;
+    private final int minSize;
+    private final int maxSize;
+    private final long acquireTimeoutMillis;
+    private final long idleTimeoutMillis;
+    private final long maxLifetimeMillis;
+    private final int validationTimeoutSeconds;
+    private final int statementCacheSize;
+
+    // Idle connections, most recently returned first (LIFO keeps hot connections busy and lets the rest age out).
+    private final LinkedBlockingDeque<PooledConnection> idleConnections = new LinkedBlockingDeque<>();
+    // Physical connections that are open or currently being opened (idle + borrowed).
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final AtomicInteger borrowedConnections = new AtomicInteger();
+    // Statement cache counters, aggregated over all connections.
+    private final LongAdder statementCacheHits = new LongAdder();
+    private final LongAdder statementCacheMisses = new LongAdder();
+    private final LongAdder statementCacheEvictions = new LongAdder();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed;
+
+    public ConnectionPool(String url, String username, String password, int minSize, int maxSize,
+                          long acquireTimeoutMillis, long idleTimeoutMillis, long maxLifetimeMillis,
+                          int validationTimeoutSeconds, long housekeepingIntervalMillis, int statementCacheSize) {
+        if (minSize < 0 || maxSize < 1 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min=" + minSize + ", max=" + maxSize);
+        }
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.maxLifetimeMillis = maxLifetimeMillis;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.statementCacheSize = statementCacheSize;
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "db-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        this.housekeeper.scheduleWithFixedDelay(this::evictAndFill,
+                housekeepingIntervalMillis, housekeepingIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrows a connection from the pool, opening a new one if none is idle and the pool is below maxSize.
+     * Blocks for at most the configured acquire timeout.
+     *
+     * @return A pooled Connection. Closing it returns it to the pool.
+     * @throws SQLException If the pool is closed, no connection became available in time, or opening one failed.
+     */
+    public Connection getConnection() throws SQLException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(acquireTimeoutMillis);
+        while (true) {
+            if (closed) {
+                throw new SQLException("Connection pool has been shut down.");
+            }
+            PooledConnection pooled = idleConnections.pollFirst();
+            if (pooled == null) {
+                if (tryReserveSlot()) {
+                    pooled = openConnection();
+                } else {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        throw timeoutException();
+                    }
+                    try {
+                        // Wait in short slices: a slot freed by destroy() (broken/expired connection, failed open)
+                        // is never offered to the idle deque, so the waiter has to come back and reserve it itself.
+                        pooled = idleConnections.pollFirst(Math.min(remaining, SLOT_RECHECK_NANOS), TimeUnit.NANOSECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("Interrupted while waiting for a database connection.", e);
+                    }
+                    if (pooled == null) {
+                        continue;
+                    }
+                    if (!isUsable(pooled)) {
+                        destroy(pooled);
+                        continue;
+                    }
+                }
+            } else if (!isUsable(pooled)) {
+                destroy(pooled);
+                continue;
+            }
+            borrowedConnections.incrementAndGet();
+            return pooled.lease();
+        }
+    }
+
+    private SQLException timeoutException() {
+        return new SQLTransientConnectionException("Timed out after " + acquireTimeoutMillis
+                + " ms waiting for a database connection (active=" + getActiveConnections() + ", max=" + maxSize + ").");
+    }
+
+    // Reserves room for one more physical connection without ever exceeding maxSize.
+    private boolean tryReserveSlot() {
+        while (true) {
+            int current = totalConnections.get();
+            if (current >= maxSize) {
+                return false;
+            }
+            if (totalConnections.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private PooledConnection openConnection() throws SQLException {
+        try {
+            return new PooledConnection(DriverManager.getConnection(url, username, password));
+        } catch (SQLException | RuntimeException e) {
+            totalConnections.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private boolean isUsable(PooledConnection pooled) {
+        long now = System.currentTimeMillis();
+        if (isExpired(pooled, now)) {
+            return false;
+        }
+        if (now - pooled.lastReturnedAt < VALIDATION_BYPASS_MILLIS) {
+            return true;
+        }
+        try {
+            return pooled.physical.isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private boolean isExpired(PooledConnection pooled, long now) {
+        return maxLifetimeMillis > 0 && now - pooled.createdAt >= maxLifetimeMillis;
+    }
+
+    // Called when a borrower closes its connection handle.
+    private void release(PooledConnection pooled) {
+        borrowedConnections.decrementAndGet();
+        if (closed || pooled.broken || isExpired(pooled, System.currentTimeMillis())) {
+            destroy(pooled);
+            return;
+        }
+        try {
+            // Undo anything the borrower may have changed so the next borrower gets a clean connection.
+            if (!pooled.physical.getAutoCommit()) {
+                pooled.physical.rollback();
+                pooled.physical.setAutoCommit(true);
+            }
+            if (pooled.physical.isReadOnly()) {
+                pooled.physical.setReadOnly(false);
+            }
+            pooled.physical.clearWarnings();
+        } catch (SQLException e) {
+            destroy(pooled);
+            return;
+        }
+        pooled.lastReturnedAt = System.currentTimeMillis();
+        idleConnections.offerFirst(pooled);
+    }
+
+    private void destroy(PooledConnection pooled) {
+        totalConnections.decrementAndGet();
+        if (pooled.statementCache != null) {
+            pooled.statementCache.closeAll();
+        }
+        try {
+            pooled.physical.close();
+        } catch (SQLException e) {
+            System.err.println("Error closing pooled connection: " + e.getMessage());
+        }
+    }
+
+    // Housekeeping: drop connections that have idled too long or outlived maxLifetime, then top up to minSize.
+    private void evictAndFill() {
+        try {
+            long now = System.currentTimeMillis();
+            for (PooledConnection pooled : idleConnections) {
+                boolean idleTooLong = idleTimeoutMillis > 0 && now - pooled.lastReturnedAt >= idleTimeoutMillis
+                        && totalConnections.get() > minSize;
+                if ((idleTooLong || isExpired(pooled, now)) && idleConnections.remove(pooled)) {
+                    destroy(pooled);
+                }
+            }
+            while (!closed && totalConnections.get() < minSize && tryReserveSlot()) {
+                PooledConnection pooled = openConnection();
+                idleConnections.offerLast(pooled);
+                if (closed && idleConnections.remove(pooled)) {
+                    destroy(pooled);
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Connection pool could not open a connection: " + e.getMessage());
+        } catch (RuntimeException e) {
+            System.err.println("Connection pool housekeeping failed: " + e.getMessage());
+        }
+    }
+
+    /** Opens connections up to minSize immediately instead of waiting for the first housekeeping run. */
+    public void warmUp() {
+        housekeeper.execute(this::evictAndFill);
+    }
+
+    /**
+     * Shuts the pool down. Idle connections are closed immediately,
+     * borrowed ones are closed as soon as they are returned.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        housekeeper.shutdownNow();
+        PooledConnection pooled;
+        while ((pooled = idleConnections.pollFirst()) != null) {
+            destroy(pooled);
+        }
+    }
+
+    public boolean isClosed() { return closed; }
+    public int getTotalConnections() { return totalConnections.get(); }
+    public int getIdleConnections() { return idleConnections.size(); }
+    public int getActiveConnections() { return borrowedConnections.get(); }
+    public int getMinSize() { return minSize; }
+    public int getMaxSize() { return maxSize; }
+    public long getStatementCacheHits() { return statementCacheHits.sum(); }
+    public long getStatementCacheMisses() { return statementCacheMisses.sum(); }
+    public long getStatementCacheEvictions() { return statementCacheEvictions.sum(); }
+
+    /**
+     * @return The fraction of prepareStatement() calls served from a statement cache, or 0 if there were none.
+     */
+    public double getStatementCacheHitRate() {
+        long hits = getStatementCacheHits();
+        long total = hits + getStatementCacheMisses();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionPool{" +
+                "total=" + getTotalConnections() +
+                ", active=" + getActiveConnections() +
+                ", idle=" + getIdleConnections() +
+                ", min=" + minSize +
+                ", max=" + maxSize +
+                ", stmtCacheHits=" + getStatementCacheHits() +
+                ", stmtCacheMisses=" + getStatementCacheMisses() +
+                '}';
+    }
+
+    /**
+     * One physical connection owned by the pool, plus the bookkeeping needed for eviction.
+     */
+    private final class PooledConnection {
+        private final Connection physical;
+        private final long createdAt = System.currentTimeMillis();
+        private volatile long lastReturnedAt = createdAt;
+        // Set when the driver reports a connection-level failure; the connection is discarded on release.
+        private volatile boolean broken;
+        private final StatementCache statementCache;
+
+        private PooledConnection(Connection physical) {
+            this.physical = physical;
+            this.statementCache = statementCacheSize > 0
+                    ? new StatementCache(physical, statementCacheSize, statementCacheHits, statementCacheMisses, statementCacheEvictions)
+                    : null;
+        }
+
+        // Each borrow gets its own handle, so a stale reference kept after close() cannot touch the next borrower's work.
+        private Connection lease() {
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, new LeaseHandler(this));
+        }
+    }
+
+    private final class LeaseHandler implements InvocationHandler {
+        private final PooledConnection pooled;
+        private boolean released;
+
+        private LeaseHandler(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        // Only prepareStatement(sql) and prepareStatement(sql, autoGeneratedKeys) are cached;
+        // other overloads (result set type, column indexes, ...) go straight to the driver.
+        private PreparedStatement prepareCached(Object proxy, Method method, Object[] args) throws SQLException {
+            Class<?>[] types = method.getParameterTypes();
+            if (types.length == 1) {
+                return pooled.statementCache.prepare((String) args[0], Statement.NO_GENERATED_KEYS, (Connection) proxy);
+            }
+            if (types.length == 2 && types[1] == int.class) {
+                return pooled.statementCache.prepare((String) args[0], (Integer) args[1], (Connection) proxy);
+            }
+            return null;
+        }
+
+        @Override
+        public synchronized Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!released) {
+                        released = true;
+                        release(pooled);
+                    }
+                    return null;
+                case "isClosed":
+                    return released || pooled.physical.isClosed();
+                case "abort":
+                    pooled.broken = true;
+                    break;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + pooled.physical + (released ? ", released]" : "]");
+                default:
+                    if (released) {
+                        throw new SQLException("Connection has already been returned to the pool.");
+                    }
+                    if (pooled.statementCache != null && method.getName().equals("prepareStatement")) {
+                        PreparedStatement cached = prepareCached(proxy, method, args);
+                        if (cached != null) {
+                            return cached;
+                        }
+                    }
+            }
+            try {
+                return method.invoke(pooled.physical, args);
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof SQLException) {
+                    String sqlState = ((SQLException) cause).getSQLState();
+                    // SQLState class 08 = connection exception; never hand this connection out again.
+                    if (sqlState != null && sqlState.startsWith("08")) {
+                        pooled.broken = true;
+                    }
+                }
+                throw cause;
+            }
+        }
+    }
+}
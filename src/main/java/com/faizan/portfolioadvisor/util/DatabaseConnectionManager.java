@@ -5,7 +5,6 @@ package com.faizan.portfolioadvisor.util;
 import java.io.IOException;
 import java.io.InputStream;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.util.Properties;
 
@@ -31,15 +30,53 @@ public class DatabaseConnectionManager {
         }
     }
 
+    // The shared pool is created on first use, so merely loading this class never touches the database.
+    private static volatile ConnectionPool pool;
+
     /**
-     * Establishes and returns a new database connection.
-     * The connection parameters are loaded from database.properties.
+     * Borrows a connection from the shared connection pool.
+     * The connection parameters and pool limits are loaded from database.properties.
+     * Closing the returned connection (e.g. via try-with-resources) hands it back to the pool.
      *
-     * @return A new Connection object.
-     * @throws SQLException If a database access error occurs or the URL is null.
+     * @return A pooled Connection object.
+     * @throws SQLException If a database access error occurs or no connection became available in time.
      * @throws RuntimeException If database properties are incomplete.
      */
     public static Connection getConnection() throws SQLException {
+        return getPool().getConnection();
+    }
+
+    /**
+     * Returns the shared connection pool, creating it on first call.
+     * @return The application-wide ConnectionPool.
+     */
+    public static ConnectionPool getPool() {
+        ConnectionPool current = pool;
+        if (current == null) {
+            synchronized (DatabaseConnectionManager.class) {
+                current = pool;
+                if (current == null) {
+                    current = createPool();
+                    pool = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Closes the shared pool and all idle connections. Also runs automatically on JVM shutdown.
+     */
+    public static void shutdown() {
+        synchronized (DatabaseConnectionManager.class) {
+            if (pool != null) {
+                pool.close();
+                pool = null;
+            }
+        }
+    }
+
+    private static ConnectionPool createPool() {
         String url = properties.getProperty("db.url");
         String username = properties.getProperty("db.username");
         String password = properties.getProperty("db.password");
@@ -49,8 +86,40 @@ public class DatabaseConnectionManager {
             throw new RuntimeException("Database connection properties (url, username, password) are incomplete in " + DB_PROPERTIES_FILE);
         }
 
-        // DriverManager attempts to establish a connection to the given database URL.
-        return DriverManager.getConnection(url, username, password);
+        ConnectionPool newPool = new ConnectionPool(url, username, password,
+                getIntProperty("db.pool.minSize", 2),
+                getIntProperty("db.pool.maxSize", 10),
+                getLongProperty("db.pool.acquireTimeoutMs", 30_000L),
+                getLongProperty("db.pool.idleTimeoutMs", 600_000L),
+                getLongProperty("db.pool.maxLifetimeMs", 1_800_000L),
+                getIntProperty("db.pool.validationTimeoutSeconds", 5),
+                getLongProperty("db.pool.housekeepingIntervalMs", 30_000L),
+                getIntProperty("db.pool.statementCacheSize", 64));
+        newPool.warmUp();
+        Runtime.getRuntime().addShutdownHook(new Thread(newPool::close, "db-pool-shutdown"));
+        return newPool;
+    }
+
+    /**
+     * Reads an integer setting from database.properties.
+     * @param key The property name.
+     * @param defaultValue The value to use when the property is not set.
+     * @return The configured value, or defaultValue.
+     */
+    public static int getIntProperty(String key, int defaultValue) {
+        String value = properties.getProperty(key);
+        return value == null ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    /**
+     * Reads a long setting from database.properties.
+     * @param key The property name.
+     * @param defaultValue The value to use when the property is not set.
+     * @return The configured value, or defaultValue.
+     */
+    public static long getLongProperty(String key, long defaultValue) {
+        String value = properties.getProperty(key);
+        return value == null ? defaultValue : Long.parseLong(value.trim());
     }
 
     // Optional: A main method for quick testing of connection manager
@@ -58,6 +127,7 @@ public class DatabaseConnectionManager {
         System.out.println("Attempting to get a database connection...");
         try (Connection conn = DatabaseConnectionManager.getConnection()) {
             System.out.println("Connection successful! Database metadata: " + conn.getMetaData().getDatabaseProductName());
+            System.out.println("Pool state: " + getPool());
         } catch (SQLException e) {
             System.err.println("Connection failed: " + e.getMessage());
             e.printStackTrace();
@@ -0,0 +1,59 @@
+package com.faizan.portfolioadvisor.util;
+
+// src/main/java/com/faizan/portfolioadvisor/util/LatencyTracker.java
+
+import java.util.Arrays;
+
+/**
+ * Keeps the most recent latency samples in a ring buffer and maintains a percentile over them.
+ * The percentile is recomputed (copy + sort of the window) every recomputeEvery samples rather than on
+ * every call, so reading it is a volatile load.
+ */
+public class LatencyTracker {
+    private final long[] samples;
+    private final double percentile;
+    private final int recomputeEvery;
+    private int position;
+    private int count;
+    private int sinceRecompute;
+    private volatile long percentileNanos = -1;
+
+    /**
+     * @param windowSize The number of most recent samples kept.
+     * @param percentile The percentile to maintain, e.g. 0.95.
+     * @param recomputeEvery Recompute the percentile after this many new samples.
+     */
+    public LatencyTracker(int windowSize, double percentile, int recomputeEvery) {
+        if (windowSize < 1 || percentile <= 0 || percentile >= 1 || recomputeEvery < 1) {
+            throw new IllegalArgumentException("Invalid latency tracker settings.");
+        }
+        this.samples = new long[windowSize];
+        this.percentile = percentile;
+        this.recomputeEvery = recomputeEvery;
+    }
+
+    public synchronized void record(long nanos) {
+        samples[position] = nanos;
+        position = (position + 1) % samples.length;
+        if (count < samples.length) {
+            count++;
+        }
+        if (++sinceRecompute >= recomputeEvery) {
+            sinceRecompute = 0;
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            percentileNanos = sorted[(int) Math.min(count - 1, Math.ceil(percentile * count) - 1)];
+        }
+    }
+
+    /**
+     * @return The tracked percentile in nanoseconds, or -1 until the first recomputation.
+     */
+    public long getPercentileNanos() {
+        return percentileNanos;
+    }
+
+    public synchronized int getSampleCount() {
+        return count;
+    }
+}
@@ -0,0 +1,69 @@
+package com.faizan.portfolioadvisor.util;
+
+// src/main/java/com/faizan/portfolioadvisor/util/SingleFlight.java
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent asynchronous calls for the same key: while a call for a key is in flight,
+ * further callers for that key get its result instead of starting their own call.
+ * Nothing is remembered once the call completes, so a failure reaches every waiter of that call
+ * but the next caller starts a fresh one.
+ * @param <K> Key type; must have proper equals/hashCode.
+ * @param <V> Result type.
+ */
+public class SingleFlight<K, V> {
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder shared = new LongAdder();
+
+    /**
+     * Starts the call for the key, or joins the one already in flight.
+     * @param key The key identifying identical calls.
+     * @param call Starts the call; only invoked if no call for the key is in flight.
+     * @return A future for this caller. Cancelling or completing it does not affect the other waiters.
+     */
+    public CompletableFuture<V> execute(K key, Supplier<CompletableFuture<V>> call) {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            shared.increment();
+            return existing.copy();
+        }
+        calls.increment();
+        CompletableFuture<V> source;
+        try {
+            source = call.get();
+        } catch (RuntimeException e) {
+            source = CompletableFuture.failedFuture(e);
+        }
+        source.whenComplete((value, failure) -> {
+            // Unregister before completing, so a caller arriving after the result starts a new call.
+            inFlight.remove(key, created);
+            if (failure != null) {
+                created.completeExceptionally(failure);
+            } else {
+                created.complete(value);
+            }
+        });
+        return created.copy();
+    }
+
+    /** @return The number of calls actually started. */
+    public long getCallCount() {
+        return calls.sum();
+    }
+
+    /** @return The number of callers that joined a call already in flight instead of starting one. */
+    public long getSharedCount() {
+        return shared.sum();
+    }
+
+    /** @return The number of keys with a call currently in flight. */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+}
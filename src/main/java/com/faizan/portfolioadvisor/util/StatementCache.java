@@ -0,0 +1,220 @@
+package com.faizan.portfolioadvisor.util;
+
+// src/main/java/com/faizan/portfolioadvisor/util/StatementCache.java
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LRU cache of PreparedStatements for a single pooled connection.
+ * Statements are keyed by SQL text and generated-keys mode. A statement handed out by this cache
+ * is only "closed" logically: close() clears its parameters and makes it available for the next
+ * prepareStatement() call with the same key, so the driver (and, with useServerPrepStmts, the server)
+ * does not parse the same SQL again.
+ * Not thread-safe on its own; a pooled connection is only ever used by one borrower at a time.
+ */
+class StatementCache {
+    private final Connection physical;
+    private final int maxSize;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+    private final LinkedHashMap<Key, Entry> entries;
+
+    StatementCache(Connection physical, int maxSize, LongAdder hits, LongAdder misses, LongAdder evictions) {
+        this.physical = physical;
+        this.maxSize = maxSize;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        // Access-ordered, so iteration starts at the least recently used statement.
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Returns a cached statement for the given SQL and generated-keys mode, preparing one on a miss.
+     * @param sql The SQL text.
+     * @param autoGeneratedKeys Statement.RETURN_GENERATED_KEYS or Statement.NO_GENERATED_KEYS.
+     * @param owner The connection handle that should be reported by getConnection() on the statement.
+     * @return A PreparedStatement whose close() returns it to this cache.
+     * @throws SQLException If the statement could not be prepared.
+     */
+    PreparedStatement prepare(String sql, int autoGeneratedKeys, Connection owner) throws SQLException {
+        Key key = new Key(sql, autoGeneratedKeys);
+        Entry entry = entries.get(key);
+        if (entry != null && !entry.inUse) {
+            hits.increment();
+            entry.inUse = true;
+            return entry.handle(owner);
+        }
+        misses.increment();
+        PreparedStatement statement = physical.prepareStatement(sql, autoGeneratedKeys);
+        if (entry != null) {
+            // Same SQL is already open on this connection (e.g. nested use); give out a plain, uncached statement.
+            return statement;
+        }
+        entry = new Entry(key, statement);
+        entry.inUse = true;
+        entries.put(key, entry);
+        evictOverflow();
+        return entry.handle(owner);
+    }
+
+    private void evictOverflow() {
+        Iterator<Entry> it = entries.values().iterator();
+        while (entries.size() > maxSize && it.hasNext()) {
+            Entry eldest = it.next();
+            it.remove();
+            evictions.increment();
+            eldest.evicted = true;
+            if (!eldest.inUse) {
+                closeQuietly(eldest.statement);
+            }
+        }
+    }
+
+    /** Physically closes every cached statement. Called before the underlying connection is closed. */
+    void closeAll() {
+        List<Entry> all = new ArrayList<>(entries.values());
+        entries.clear();
+        for (Entry entry : all) {
+            closeQuietly(entry.statement);
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            System.err.println("Error closing cached statement: " + e.getMessage());
+        }
+    }
+
+    private static final class Key {
+        private final String sql;
+        private final int autoGeneratedKeys;
+
+        private Key(String sql, int autoGeneratedKeys) {
+            this.sql = sql;
+            this.autoGeneratedKeys = autoGeneratedKeys;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return autoGeneratedKeys == key.autoGeneratedKeys && sql.equals(key.sql);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(sql, autoGeneratedKeys);
+        }
+    }
+
+    private final class Entry {
+        private final Key key;
+        private final PreparedStatement statement;
+        private boolean inUse;
+        private boolean evicted;
+
+        private Entry(Key key, PreparedStatement statement) {
+            this.key = key;
+            this.statement = statement;
+        }
+
+        private PreparedStatement handle(Connection owner) {
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, new HandleInvocationHandler(this, owner));
+        }
+
+        // Called when the borrower closes its handle.
+        private void checkIn(boolean reusable) {
+            inUse = false;
+            if (evicted || !reusable) {
+                if (!evicted && entries.get(key) == this) {
+                    entries.remove(key);
+                }
+                closeQuietly(statement);
+            }
+        }
+    }
+
+    private static final class HandleInvocationHandler implements InvocationHandler {
+        private final Entry entry;
+        private final Connection owner;
+        private boolean closed;
+        // Set once the borrower changes statement-level settings; such a statement is not reused.
+        private boolean modified;
+
+        private HandleInvocationHandler(Entry entry, Connection owner) {
+            this.entry = entry;
+            this.owner = owner;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        entry.checkIn(!modified && resetForReuse());
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || entry.statement.isClosed();
+                case "getConnection":
+                    return owner;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachedStatement[" + entry.statement + "]";
+                default:
+                    if (closed) {
+                        throw new SQLException("Statement is closed.");
+                    }
+                    if (name.equals("setFetchSize") || name.equals("setMaxRows") || name.equals("setQueryTimeout")
+                            || name.equals("setFetchDirection") || name.equals("setMaxFieldSize")
+                            || name.equals("setPoolable") || name.equals("setEscapeProcessing")
+                            || name.equals("setLargeMaxRows") || name.equals("closeOnCompletion")) {
+                        modified = true;
+                    }
+            }
+            try {
+                return method.invoke(entry.statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private boolean resetForReuse() {
+            try {
+                entry.statement.clearParameters();
+                entry.statement.clearBatch();
+                entry.statement.clearWarnings();
+                return true;
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+    }
+}
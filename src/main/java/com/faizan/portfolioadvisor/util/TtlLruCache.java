@@ -0,0 +1,119 @@
+package com.faizan.portfolioadvisor.util;
+
+// src/main/java/com/faizan/portfolioadvisor/util/TtlLruCache.java
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiPredicate;
+
+/**
+ * A bounded in-memory cache with least-recently-used eviction and a fixed time-to-live per entry.
+ * All operations are synchronized on the cache; they are O(1) apart from removeIf.
+ * @param <K> Key type.
+ * @param <V> Value type. Null values are not stored.
+ */
+public class TtlLruCache<K, V> {
+    private final int maxSize;
+    private final long ttlNanos;
+    // Access-ordered: iteration starts with the least recently used entry.
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private long expirationCount;
+
+    /**
+     * @param maxSize The maximum number of entries; the least recently used entry is evicted beyond this.
+     * @param ttl How long an entry stays valid after it was put. Duration.ZERO means entries never expire.
+     */
+    public TtlLruCache(int maxSize, Duration ttl) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Cache size must be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(Math.min(maxSize, 1024), 0.75f, true);
+    }
+
+    /**
+     * @return The cached value, or null if it is absent or has expired.
+     */
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            missCount++;
+            return null;
+        }
+        if (isExpired(entry, System.nanoTime())) {
+            entries.remove(key);
+            expirationCount++;
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        return entry.value;
+    }
+
+    public synchronized void put(K key, V value) {
+        if (value == null) {
+            entries.remove(key);
+            return;
+        }
+        entries.put(key, new Entry<>(value, System.nanoTime()));
+        if (entries.size() > maxSize) {
+            Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+            it.next();
+            it.remove();
+            evictionCount++;
+        }
+    }
+
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Removes every entry matching the predicate, e.g. all entries that refer to a deleted row.
+     * @return The number of entries removed.
+     */
+    public synchronized int removeIf(BiPredicate<? super K, ? super V> predicate) {
+        int removed = 0;
+        Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<K, Entry<V>> e = it.next();
+            if (predicate.test(e.getKey(), e.getValue().value)) {
+                it.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized CacheStats stats() {
+        return new CacheStats(hitCount, missCount, evictionCount, expirationCount, entries.size());
+    }
+
+    private boolean isExpired(Entry<V> entry, long now) {
+        return ttlNanos > 0 && now - entry.createdAtNanos >= ttlNanos;
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long createdAtNanos;
+
+        private Entry(V value, long createdAtNanos) {
+            this.value = value;
+            this.createdAtNanos = createdAtNanos;
+        }
+    }
+}
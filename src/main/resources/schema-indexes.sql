@@ -0,0 +1,21 @@
+-- Secondary indexes for the portfolio_advisor_db schema.
+-- Run after schema.sql (e.g. in MySQL Workbench) on a fresh or existing database.
+
+-- FinancialProductDAO.searchFinancialProducts / FinancialProductService.getProductsByRiskLevel:
+-- equality on risk_level and type, range on expected_return_rate.
+CREATE INDEX idx_products_risk_type_return ON FinancialProducts (risk_level, type, expected_return_rate);
+
+-- Same search when filtering on what the user can afford (minimum_investment <= ?).
+CREATE INDEX idx_products_risk_min_investment ON FinancialProducts (risk_level, minimum_investment);
+
+-- UserRiskProfileDAO.getLatestUserRiskProfile / streamLatestUserRiskProfiles: latest profile per user.
+CREATE INDEX idx_risk_profiles_user_date ON UserRiskProfiles (user_id, prediction_date, risk_profile_id);
+
+-- PortfolioAllocationDAO.getPortfolioAllocationsByUserId, and ReallocationJob skipping users it already re-allocated.
+CREATE INDEX idx_allocations_user_date ON PortfolioAllocations (user_id, recommendation_date);
+
+-- UserService.registerUser skips the duplicate-email SELECT when its Bloom filter says an email is new, and that
+-- filter can lag behind registrations made by other instances or directly in SQL, so the database must reject
+-- duplicates; UserDAO.addUser reports the duplicate-key error as "User with this email already exists."
+-- Remove any existing duplicate emails first, or this statement fails.
+CREATE UNIQUE INDEX uq_users_email ON Users (email);
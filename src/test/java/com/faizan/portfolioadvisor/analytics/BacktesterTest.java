@@ -0,0 +1,155 @@
+package com.faizan.portfolioadvisor.analytics;
+
+// src/test/java/com/faizan/portfolioadvisor/analytics/BacktesterTest.java
+
+import com.faizan.portfolioadvisor.exception.InvalidInputException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BacktesterTest {
+    private static final LocalDate FIRST_MONTH = LocalDate.of(2020, 1, 1);
+    private static final BacktestPolicy GROWTH = new BacktestPolicy("Growth", 1, 0);
+    private static final BacktestPolicy BALANCED = new BacktestPolicy("Balanced", 1, 1);
+
+    // One row per month from January 2020, each asset earning its own constant monthly return.
+    private static ReturnPanel monthlyPanel(int months, double firstReturn, double secondReturn) {
+        int[] days = new int[months];
+        double[] returns = new double[months * 2];
+        for (int t = 0; t < months; t++) {
+            days[t] = (int) FIRST_MONTH.plusMonths(t).toEpochDay();
+            returns[2 * t] = firstReturn;
+            returns[2 * t + 1] = secondReturn;
+        }
+        return new ReturnPanel(new String[]{"Equity", "Debt"}, days, returns);
+    }
+
+    // 36 monthly rows, February 2020 to January 2023.
+    private static BacktestJob threeYears(BacktestPolicy policy) {
+        return new BacktestJob(policy, (int) FIRST_MONTH.plusMonths(1).toEpochDay(),
+                (int) FIRST_MONTH.plusMonths(37).minusDays(1).toEpochDay());
+    }
+
+    @Test
+    void rollingStartsRejectsNonPositiveHorizonAndStep() {
+        ReturnPanel panel = monthlyPanel(60, 0.01, 0.005);
+        List<BacktestPolicy> policies = List.of(GROWTH);
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            assertThrows(InvalidInputException.class, () -> BacktestJob.rollingStarts(policies, panel, 3, 0));
+            assertThrows(InvalidInputException.class, () -> BacktestJob.rollingStarts(policies, panel, 3, -1));
+            assertThrows(InvalidInputException.class, () -> BacktestJob.rollingStarts(policies, panel, 0, 12));
+            assertThrows(InvalidInputException.class, () -> BacktestJob.rollingStarts(policies, panel, -2, 12));
+        });
+    }
+
+    @Test
+    void rollingStartsOnlyCoversWholeHorizonsInsideThePanel() {
+        ReturnPanel panel = monthlyPanel(60, 0.01, 0.005); // January 2020 to December 2024.
+
+        List<BacktestJob> jobs = BacktestJob.rollingStarts(List.of(GROWTH, BALANCED), panel, 3, 12);
+
+        assertEquals(4, jobs.size()); // Starts in February 2020 and 2021; February 2022 would end in 2025.
+        assertEquals(LocalDate.of(2020, 2, 1), LocalDate.ofEpochDay(jobs.get(0).getStartDay()));
+        assertEquals(LocalDate.of(2023, 1, 31), LocalDate.ofEpochDay(jobs.get(0).getEndDay()));
+        assertSame(BALANCED, jobs.get(1).getPolicy());
+        assertEquals(LocalDate.of(2021, 2, 1), LocalDate.ofEpochDay(jobs.get(3).getStartDay()));
+    }
+
+    @Test
+    void constantReturnsMatchTheClosedForm() {
+        ReturnPanel panel = monthlyPanel(48, 0.01, 0.01);
+        BacktestSettings settings = new BacktestSettings(1000, 0, BacktestSettings.Rebalance.QUARTERLY, 0.0);
+
+        BacktestResult result = new Backtester().run(panel, settings, threeYears(BALANCED));
+
+        assertEquals(36, result.getRows());
+        assertEquals(1000 * Math.pow(1.01, 36), result.getFinalValue(), 1e-9);
+        assertEquals(Math.pow(1.01, panel.rowsPerYear()) - 1, result.getCagr(), 1e-12);
+        assertEquals(0.0, result.getVolatility(), 1e-12);
+        assertEquals(0.0, result.getMaxDrawdown(), 1e-12);
+        assertEquals(1000.0, result.getTotalContributed());
+    }
+
+    @Test
+    void withoutAnInitialAmountTheFirstContributionIsInvestedOnTheStartDate() {
+        ReturnPanel panel = monthlyPanel(48, 0.01, 0.01);
+        BacktestSettings settings = new BacktestSettings(0, 100, BacktestSettings.Rebalance.NEVER, 0.0);
+
+        BacktestResult result = new Backtester().run(panel, settings, threeYears(GROWTH));
+
+        assertEquals(3600.0, result.getTotalContributed(), 1e-9);
+        double expected = 0;
+        for (int k = 1; k <= 36; k++) {
+            expected += 100 * Math.pow(1.01, k); // Each contribution grows from its month on.
+        }
+        assertEquals(expected, result.getFinalValue(), 1e-9);
+        assertEquals(Math.pow(1.01, panel.rowsPerYear()) - 1, result.getCagr(), 1e-12);
+    }
+
+    @Test
+    void rebalancesOnTheCalendarSchedule() {
+        ReturnPanel panel = monthlyPanel(48, 0.02, 0.0);
+        Backtester backtester = new Backtester();
+        // Month starts from March 2020 to January 2023: 35 in all, 12 of them quarter starts, 3 of them Januaries.
+        int[] expected = {0, 35, 12, 3};
+        BacktestSettings.Rebalance[] schedules = BacktestSettings.Rebalance.values();
+        for (int s = 0; s < schedules.length; s++) {
+            BacktestSettings settings = new BacktestSettings(1000, 0, schedules[s], 0.0);
+            assertEquals(expected[s], backtester.run(panel, settings, threeYears(BALANCED)).getRebalances(), schedules[s].name());
+        }
+
+        // Monthly rebalancing keeps the 50/50 mix, so each month earns exactly 1%.
+        BacktestSettings monthly = new BacktestSettings(1000, 0, BacktestSettings.Rebalance.MONTHLY, 0.0);
+        assertEquals(1000 * Math.pow(1.01, 36), backtester.run(panel, monthly, threeYears(BALANCED)).getFinalValue(), 1e-9);
+    }
+
+    @Test
+    void parallelRunsMatchSingleRuns() {
+        ReturnPanel panel = monthlyPanel(120, 0.012, 0.004);
+        List<BacktestJob> jobs = BacktestJob.rollingStarts(List.of(GROWTH, BALANCED), panel, 5, 1);
+        BacktestSettings settings = new BacktestSettings(10_000, 250, BacktestSettings.Rebalance.ANNUALLY, 0.03);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Backtester backtester = new Backtester(pool);
+            Queue<BacktestResult> streamed = new ConcurrentLinkedQueue<>();
+            backtester.run(panel, settings, jobs, streamed::add);
+            List<BacktestResult> all = backtester.runAll(panel, settings, jobs);
+
+            assertEquals(jobs.size(), streamed.size());
+            assertEquals(jobs.size(), all.size());
+            for (int i = 0; i < jobs.size(); i++) {
+                assertSame(jobs.get(i), all.get(i).getJob());
+                assertEquals(backtester.run(panel, settings, jobs.get(i)).getFinalValue(), all.get(i).getFinalValue());
+            }
+            assertTrue(streamed.stream().allMatch(r -> jobs.contains(r.getJob())));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void rejectsJobsThatDoNotFitThePanel() {
+        ReturnPanel panel = monthlyPanel(48, 0.01, 0.01);
+        Backtester backtester = new Backtester();
+        BacktestSettings settings = new BacktestSettings();
+        BacktestJob threeAssets = threeYears(new BacktestPolicy("Three", 1, 1, 1));
+        BacktestJob afterThePanel = new BacktestJob(GROWTH, (int) LocalDate.of(2030, 1, 1).toEpochDay(),
+                (int) LocalDate.of(2031, 1, 1).toEpochDay());
+        BacktestSettings nothingInvested = new BacktestSettings(0, 0, BacktestSettings.Rebalance.NEVER, 0.0);
+
+        assertThrows(InvalidInputException.class, () -> backtester.run(panel, settings, threeAssets));
+        assertThrows(InvalidInputException.class, () -> backtester.run(panel, settings, afterThePanel));
+        assertThrows(InvalidInputException.class, () -> backtester.run(panel, nothingInvested, threeYears(GROWTH)));
+    }
+}
@@ -0,0 +1,222 @@
+package com.faizan.portfolioadvisor.analytics;
+
+// src/test/java/com/faizan/portfolioadvisor/analytics/CovarianceEngineTest.java
+
+import com.faizan.portfolioadvisor.exception.InvalidInputException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CovarianceEngineTest {
+    private static final double TOLERANCE = 1e-12;
+
+    private static int[] ids(int n) {
+        int[] ids = new int[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = 100 + i;
+        }
+        return ids;
+    }
+
+    // Returns with a common factor and a non-zero mean, so the running sums have something to drift on.
+    private static double[][] returns(int count, int n, long seed) {
+        Random random = new Random(seed);
+        double[][] rows = new double[count][n];
+        for (int t = 0; t < count; t++) {
+            double market = random.nextGaussian() * 0.01;
+            for (int i = 0; i < n; i++) {
+                rows[t][i] = 0.0005 + market * (0.5 + i % 3 * 0.25) + random.nextGaussian() * 0.005;
+            }
+        }
+        return rows;
+    }
+
+    // Unbiased sample covariance of rows [from, to), straight from the definition.
+    private static double[][] bruteForceCovariance(double[][] rows, int from, int to) {
+        int n = rows[0].length;
+        int t = to - from;
+        double[] mean = new double[n];
+        for (int r = from; r < to; r++) {
+            for (int i = 0; i < n; i++) {
+                mean[i] += rows[r][i] / t;
+            }
+        }
+        double[][] covariance = new double[n][n];
+        for (int r = from; r < to; r++) {
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    covariance[i][j] += (rows[r][i] - mean[i]) * (rows[r][j] - mean[j]) / (t - 1);
+                }
+            }
+        }
+        return covariance;
+    }
+
+    private static void assertMatches(double[][] expected, CovarianceMatrix actual, String message) {
+        for (int i = 0; i < expected.length; i++) {
+            for (int j = 0; j < expected.length; j++) {
+                assertEquals(expected[i][j], actual.get(i, j), TOLERANCE, message + " at (" + i + ", " + j + ")");
+            }
+        }
+    }
+
+    @Test
+    void rollingCovarianceMatchesBruteForceWhileFillingAndAfterEviction() {
+        int n = 5;
+        int window = 20;
+        double[][] rows = returns(73, n, 1L); // Past several evictions and the rebuilds at every 20 updates.
+        CovarianceEngine engine = new CovarianceEngine(ids(n), window);
+        for (int t = 0; t < rows.length; t++) {
+            engine.addReturns(rows[t]);
+            if (t >= 1) {
+                int from = Math.max(0, t + 1 - window);
+                CovarianceMatrix matrix = engine.getCovariance(window, CovarianceMatrix.Shrinkage.NONE);
+                assertEquals(t + 1 - from, matrix.getObservations());
+                assertMatches(bruteForceCovariance(rows, from, t + 1), matrix, "after observation " + t);
+            }
+        }
+    }
+
+    @Test
+    void blockedRebuildMatchesBruteForceForMoreProductsThanOneBlock() {
+        int n = 70; // More than one 64-product block in RollingWindow.rebuild().
+        int window = 8;
+        double[][] rows = returns(30, n, 2L);
+        CovarianceEngine engine = new CovarianceEngine(ids(n), window, 16);
+        for (int t = 0; t < rows.length; t++) {
+            engine.addReturns(rows[t]);
+            if (t >= 1) {
+                assertMatches(bruteForceCovariance(rows, Math.max(0, t + 1 - window), t + 1),
+                        engine.getCovariance(window, CovarianceMatrix.Shrinkage.NONE), "window 8 after observation " + t);
+                assertMatches(bruteForceCovariance(rows, Math.max(0, t + 1 - 16), t + 1),
+                        engine.getCovariance(16, CovarianceMatrix.Shrinkage.NONE), "window 16 after observation " + t);
+            }
+        }
+    }
+
+    @Test
+    void batchAddMatchesOneAtATime() {
+        int n = 4;
+        double[][] rows = returns(50, n, 3L);
+        double[] flat = new double[rows.length * n];
+        CovarianceEngine single = new CovarianceEngine(ids(n), 12);
+        for (int t = 0; t < rows.length; t++) {
+            single.addReturns(rows[t]);
+            System.arraycopy(rows[t], 0, flat, t * n, n);
+        }
+        CovarianceEngine batch = new CovarianceEngine(ids(n), 12);
+        batch.addReturns(flat, rows.length);
+
+        assertEquals(single.getObservationCount(), batch.getObservationCount());
+        CovarianceMatrix expected = single.getCovariance(12, CovarianceMatrix.Shrinkage.NONE);
+        CovarianceMatrix actual = batch.getCovariance(12, CovarianceMatrix.Shrinkage.NONE);
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                assertEquals(expected.get(i, j), actual.get(i, j), TOLERANCE);
+            }
+        }
+    }
+
+    @Test
+    void ledoitWolfIntensityMatchesTheEstimatorDefinition() {
+        int n = 12;
+        int window = 15; // Few observations for the number of products, so the shrinkage is substantial.
+        double[][] rows = returns(40, n, 4L);
+        CovarianceEngine engine = new CovarianceEngine(ids(n), window);
+        for (double[] row : rows) {
+            engine.addReturns(row);
+        }
+        int from = rows.length - window;
+
+        // Ledoit and Wolf (2004), with T matrix differences instead of the one-pass identity RollingWindow uses.
+        double[] mean = new double[n];
+        for (int r = from; r < rows.length; r++) {
+            for (int i = 0; i < n; i++) {
+                mean[i] += rows[r][i] / window;
+            }
+        }
+        double[][] s = new double[n][n];
+        for (int r = from; r < rows.length; r++) {
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    s[i][j] += (rows[r][i] - mean[i]) * (rows[r][j] - mean[j]) / window;
+                }
+            }
+        }
+        double mu = 0;
+        for (int i = 0; i < n; i++) {
+            mu += s[i][i] / n;
+        }
+        double d2 = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                double d = s[i][j] - (i == j ? mu : 0);
+                d2 += d * d;
+            }
+        }
+        double b2 = 0;
+        for (int r = from; r < rows.length; r++) {
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    double d = (rows[r][i] - mean[i]) * (rows[r][j] - mean[j]) - s[i][j];
+                    b2 += d * d;
+                }
+            }
+        }
+        b2 /= (double) window * window;
+        double expectedIntensity = Math.min(b2, d2) / d2;
+
+        CovarianceMatrix shrunk = engine.getCovariance(window, CovarianceMatrix.Shrinkage.LEDOIT_WOLF);
+        assertEquals(expectedIntensity, shrunk.getIntensity(), 1e-9);
+
+        // The shrunk matrix blends the sample covariance with its average variance on the diagonal.
+        double[][] sample = bruteForceCovariance(rows, from, rows.length);
+        double target = 0;
+        for (int i = 0; i < n; i++) {
+            target += sample[i][i] / n;
+        }
+        double intensity = shrunk.getIntensity();
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                double expected = (1 - intensity) * sample[i][j] + (i == j ? intensity * target : 0);
+                assertEquals(expected, shrunk.get(i, j), TOLERANCE);
+            }
+        }
+    }
+
+    @Test
+    void fixedShrinkageKeepsTheTraceAndScalesCovariances() {
+        int n = 3;
+        double[][] rows = returns(30, n, 5L);
+        CovarianceEngine engine = new CovarianceEngine(ids(n), 30);
+        for (double[] row : rows) {
+            engine.addReturns(row);
+        }
+        engine.setFixedShrinkageIntensity(0.25);
+        CovarianceMatrix sample = engine.getCovariance(30, CovarianceMatrix.Shrinkage.NONE);
+        CovarianceMatrix shrunk = engine.getCovariance(30, CovarianceMatrix.Shrinkage.FIXED);
+
+        double sampleTrace = 0;
+        double shrunkTrace = 0;
+        for (int i = 0; i < n; i++) {
+            sampleTrace += sample.get(i, i);
+            shrunkTrace += shrunk.get(i, i);
+        }
+        assertEquals(sampleTrace, shrunkTrace, TOLERANCE);
+        assertEquals(0.75 * sample.get(0, 1), shrunk.get(0, 1), TOLERANCE);
+    }
+
+    @Test
+    void rejectsTooFewObservationsAndBadValues() {
+        CovarianceEngine engine = new CovarianceEngine(ids(2), 10);
+        engine.addReturns(new double[]{0.01, 0.02});
+        assertThrows(InvalidInputException.class, () -> engine.getCovariance(10, CovarianceMatrix.Shrinkage.NONE));
+        assertThrows(InvalidInputException.class, () -> engine.addReturns(new double[]{0.01}));
+        assertThrows(InvalidInputException.class, () -> engine.addReturns(new double[]{0.01, Double.NaN}));
+        assertThrows(IllegalArgumentException.class, () -> engine.getCovariance(20, CovarianceMatrix.Shrinkage.NONE));
+        assertEquals(1, engine.getObservationCount());
+    }
+}
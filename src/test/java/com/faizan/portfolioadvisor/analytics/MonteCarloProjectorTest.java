@@ -0,0 +1,84 @@
+package com.faizan.portfolioadvisor.analytics;
+
+// src/test/java/com/faizan/portfolioadvisor/analytics/MonteCarloProjectorTest.java
+
+import com.faizan.portfolioadvisor.exception.InvalidInputException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MonteCarloProjectorTest {
+
+    private static ProjectionAssumptions smallChunks() {
+        ProjectionAssumptions assumptions = new ProjectionAssumptions();
+        assumptions.setChunkSize(500); // 20 chunks for 10,000 paths, so the pool really splits the work.
+        return assumptions;
+    }
+
+    private static ProjectionRequest seededRequest(long seed) {
+        ProjectionRequest request = new ProjectionRequest(new BigDecimal("100000"), new BigDecimal("5000"), 10, new BigDecimal("1500000"));
+        request.setPaths(10_000);
+        request.setSeed(seed);
+        return request;
+    }
+
+    @Test
+    void sameSeedGivesSameResultOnAnyPoolSize() {
+        ProjectionResult expected = null;
+        for (int parallelism : new int[]{1, 3, 8}) {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                ProjectionResult result = new MonteCarloProjector(smallChunks(), pool).project(0.6, 0.3, 0.1, seededRequest(42L));
+                if (expected == null) {
+                    expected = result;
+                    continue;
+                }
+                assertArrayEquals(expected.getPercentileValues(), result.getPercentileValues(), "pool of " + parallelism);
+                assertEquals(expected.getMeanFinalValue(), result.getMeanFinalValue(), "pool of " + parallelism);
+                assertEquals(expected.getGoalProbability(), result.getGoalProbability(), "pool of " + parallelism);
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    @Test
+    void differentSeedsGiveDifferentPaths() {
+        MonteCarloProjector projector = new MonteCarloProjector(smallChunks());
+        assertNotEquals(projector.project(0.6, 0.3, 0.1, seededRequest(1L)).getMeanFinalValue(),
+                projector.project(0.6, 0.3, 0.1, seededRequest(2L)).getMeanFinalValue());
+    }
+
+    @Test
+    void withoutVolatilityEveryPathGrowsAtTheExpectedReturn() {
+        ProjectionAssumptions assumptions = smallChunks();
+        assumptions.setEquityVolatility(0);
+        assumptions.setDebtVolatility(0);
+        assumptions.setAlternativeVolatility(0);
+        ProjectionRequest request = new ProjectionRequest(new BigDecimal("1000"), BigDecimal.ZERO, 5, null);
+        request.setPaths(1_000);
+        request.setSeed(7L);
+
+        ProjectionResult result = new MonteCarloProjector(assumptions).project(1.0, 0.0, 0.0, request);
+
+        double expected = 1000 * Math.pow(1 + assumptions.getEquityReturn(), 5);
+        assertEquals(expected, result.getPercentileValue(5), 1e-6);
+        assertEquals(expected, result.getPercentileValue(95), 1e-6);
+        assertEquals(1000.0, result.getTotalContributed(), 1e-9);
+    }
+
+    @Test
+    void rejectsInvalidRequests() {
+        MonteCarloProjector projector = new MonteCarloProjector(smallChunks());
+        ProjectionRequest noHorizon = new ProjectionRequest(new BigDecimal("1000"), BigDecimal.ZERO, 0, null);
+        assertThrows(InvalidInputException.class, () -> projector.project(0.5, 0.5, 0.0, noHorizon));
+        assertThrows(InvalidInputException.class, () -> projector.project(0.0, 0.0, 0.0, seededRequest(1L)));
+        assertThrows(InvalidInputException.class, () -> projector.project(-0.1, 1.1, 0.0, seededRequest(1L)));
+    }
+}
@@ -0,0 +1,135 @@
+package com.faizan.portfolioadvisor.analytics;
+
+// src/test/java/com/faizan/portfolioadvisor/analytics/PriceStoreTest.java
+
+import com.faizan.portfolioadvisor.exception.InvalidInputException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PriceStoreTest {
+    private static final int DAY0 = (int) LocalDate.of(2020, 1, 1).toEpochDay();
+
+    @TempDir
+    Path directory;
+
+    private static double priceOn(int day) {
+        return 100.0 + (day - DAY0) * 0.5;
+    }
+
+    private static void appendDays(PriceStore store, int productId, int from, int count) {
+        int[] days = new int[count];
+        double[] prices = new double[count];
+        for (int i = 0; i < count; i++) {
+            days[i] = DAY0 + from + i;
+            prices[i] = priceOn(days[i]);
+        }
+        store.append(productId, days, prices, count);
+    }
+
+    @Test
+    void reopensFromSegmentHeadersWhenTheIndexWasNotFlushed() throws IOException {
+        PriceStore crashed = PriceStore.open(directory);
+        appendDays(crashed, 7, 0, 10);
+        crashed.flush();
+        appendDays(crashed, 7, 10, 5); // Never flushed: the index still says 10 rows.
+        appendDays(crashed, 8, 0, 3);  // Not in the index at all.
+
+        PriceStore store = PriceStore.open(directory);
+        assertEquals(15, store.getRowCount(7));
+        assertEquals(DAY0, store.getFirstDay(7));
+        assertEquals(DAY0 + 14, store.getLastDay(7));
+        assertEquals(3, store.getRowCount(8));
+        assertArrayEquals(new int[]{7, 8}, store.getProductIds());
+        PriceSeries series = store.read(7);
+        assertEquals(15, series.size());
+        assertEquals(priceOn(DAY0 + 14), series.price(14));
+
+        // Re-importing an overlapping export skips what the segment already has instead of failing.
+        StringBuilder csv = new StringBuilder("product_id,date,price\n");
+        for (int i = 12; i < 20; i++) {
+            csv.append("7,").append(LocalDate.ofEpochDay(DAY0 + i)).append(',').append(priceOn(DAY0 + i)).append('\n');
+        }
+        PriceImportResult result = new PriceCsvImporter(store).importFrom(new StringReader(csv.toString()), "overlap.csv");
+        assertEquals(5, result.getRowsAppended());
+        assertEquals(3, result.getRowsSkipped());
+        assertEquals(20, store.getRowCount(7));
+        store.close();
+
+        PriceStore reopened = PriceStore.open(directory);
+        assertEquals(20, reopened.getRowCount(7));
+        assertEquals(DAY0 + 19, reopened.getLastDay(7));
+        reopened.close();
+    }
+
+    @Test
+    void keepsEveryRowAcrossCapacityGrowthAndReopen() {
+        PriceStore store = PriceStore.open(directory);
+        appendDays(store, 1, 0, 200);
+        PriceSeries before = store.read(1); // A view of the original 256-row mapping.
+        for (int from = 200; from < 1500; from += 130) {
+            appendDays(store, 1, from, 130); // Grows the segment to 512, 1024 and 2048 rows.
+        }
+        assertEquals(200, before.size());
+        assertEquals(priceOn(DAY0 + 199), before.price(199));
+        store.close();
+
+        PriceStore reopened = PriceStore.open(directory);
+        PriceSeries all = reopened.read(1);
+        assertEquals(1500, all.size());
+        for (int i = 0; i < all.size(); i++) {
+            assertEquals(DAY0 + i, all.day(i));
+            assertEquals(priceOn(DAY0 + i), all.price(i));
+        }
+        PriceSeries range = reopened.read(1, DAY0 + 300, DAY0 + 309);
+        assertEquals(10, range.size());
+        assertEquals(DAY0 + 300, range.day(0));
+        reopened.close();
+    }
+
+    @Test
+    void rejectsOutOfOrderDatesAndBadPricesWithoutAppending() {
+        PriceStore store = PriceStore.open(directory);
+        appendDays(store, 3, 0, 5);
+
+        assertThrows(InvalidInputException.class, () -> store.append(3, new int[]{DAY0 + 5, DAY0 + 4}, new double[]{1, 1}, 2));
+        assertThrows(InvalidInputException.class, () -> store.append(3, new int[]{DAY0 + 4}, new double[]{1}, 1));
+        assertThrows(InvalidInputException.class, () -> store.append(3, new int[]{DAY0 + 9}, new double[]{0}, 1));
+        assertThrows(InvalidInputException.class, () -> store.append(4, new int[]{DAY0}, new double[]{Double.NaN}, 1));
+
+        assertEquals(5, store.getRowCount(3));
+        assertEquals(0, store.getRowCount(4));
+        assertEquals(Integer.MIN_VALUE, store.getLastDay(4));
+        store.close();
+    }
+
+    @Test
+    void repeatedDateKeepsTheLastPriceOnlyWithinOneBuffer() throws IOException {
+        String csv = "1,2020-01-01,1.0\n"
+                + "1,2020-01-02,2.0\n"
+                + "1,2020-01-02,2.1\n" // Same buffer as the first 2020-01-02: the later price wins.
+                + "1,2020-01-03,3.0\n"
+                + "1,2020-01-04,2.5\n"
+                + "1,2020-01-05,5.0\n"
+                + "1,2020-01-04,2.6\n"; // The buffer holding 2.5 was written out already: skipped.
+        PriceStore store = PriceStore.open(directory);
+
+        PriceImportResult result = new PriceCsvImporter(store, 3).importFrom(new StringReader(csv), "repeats.csv");
+
+        PriceSeries series = store.read(1);
+        assertEquals(5, series.size());
+        assertEquals(2.1, series.price(1));
+        assertEquals(2.5, series.price(3));
+        assertEquals(5, result.getRowsAppended());
+        assertEquals(2, result.getRowsSkipped());
+        store.close();
+    }
+}
@@ -0,0 +1,130 @@
+package com.faizan.portfolioadvisor.service;
+
+// src/test/java/com/faizan/portfolioadvisor/service/MeanVarianceSolverTest.java
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MeanVarianceSolverTest {
+    private static final double TOLERANCE = 1e-6;
+    private static final int ITERATIONS = 100;
+    private static final double[] BUDGETS = {0.6, 0.3, 0.1};
+
+    private final int n = 90;
+    private final double[] mu = new double[n];
+    private final double[] variance = new double[n];
+    private final int[] assetClass = new int[n];
+    private final boolean[] highRisk = new boolean[n];
+
+    // 30 products per class; every third product is high risk, so each class has plenty of normal products too.
+    MeanVarianceSolverTest() {
+        Random random = new Random(11L);
+        for (int i = 0; i < n; i++) {
+            assetClass[i] = i % MeanVarianceSolver.CLASS_COUNT;
+            highRisk[i] = i / MeanVarianceSolver.CLASS_COUNT % 3 == 0;
+            mu[i] = 0.04 + random.nextDouble() * 0.12 + (highRisk[i] ? 0.04 : 0.0);
+            double volatility = 0.03 + random.nextDouble() * 0.25;
+            variance[i] = volatility * volatility;
+        }
+    }
+
+    private double[] solve(double maxProductWeight, double maxHighRiskWeight, double[] minWeight) {
+        double[] weights = new double[n];
+        new MeanVarianceSolver(mu, variance, assetClass, highRisk)
+                .solve(3.0, BUDGETS, maxProductWeight, maxHighRiskWeight, minWeight, ITERATIONS, 10, weights);
+        return weights;
+    }
+
+    @Test
+    void meetsClassBudgetsWithinProductAndHighRiskCaps() {
+        double[] weights = solve(0.08, 0.15, new double[n]);
+
+        double[] classSums = new double[MeanVarianceSolver.CLASS_COUNT];
+        double highRiskSum = 0;
+        for (int i = 0; i < n; i++) {
+            assertTrue(weights[i] >= 0 && weights[i] <= 0.08 + TOLERANCE, "weight " + i + " = " + weights[i]);
+            classSums[assetClass[i]] += weights[i];
+            if (highRisk[i]) {
+                highRiskSum += weights[i];
+            }
+        }
+        for (int c = 0; c < MeanVarianceSolver.CLASS_COUNT; c++) {
+            assertEquals(BUDGETS[c], classSums[c], TOLERANCE, "class " + c);
+        }
+        assertTrue(highRiskSum <= 0.15 + TOLERANCE, "high-risk total " + highRiskSum);
+        // The high-risk products have the better returns, so the cap is binding rather than met by accident.
+        assertTrue(highRiskSum >= 0.15 - 1e-3, "high-risk total " + highRiskSum);
+    }
+
+    @Test
+    void everyHeldProductMeetsItsMinimum() {
+        double[] minWeight = new double[n];
+        Arrays.fill(minWeight, 0.04);
+        double[] weights = solve(0.2, 1.0, minWeight);
+
+        double total = 0;
+        for (int i = 0; i < n; i++) {
+            assertTrue(weights[i] == 0.0 || weights[i] >= 0.04 - TOLERANCE, "weight " + i + " = " + weights[i]);
+            total += weights[i];
+        }
+        assertTrue(total <= 1.0 + TOLERANCE);
+    }
+
+    @Test
+    void minimumAboveOneExcludesTheProduct() {
+        double[] unconstrained = solve(0.2, 1.0, new double[n]);
+        int best = 0;
+        for (int i = 1; i < n; i++) {
+            if (unconstrained[i] > unconstrained[best]) {
+                best = i;
+            }
+        }
+        double[] minWeight = new double[n];
+        minWeight[best] = 1.5;
+
+        double[] weights = solve(0.2, 1.0, minWeight);
+
+        assertEquals(0.0, weights[best]);
+        assertEquals(BUDGETS[assetClass[best]], classSum(weights, assetClass[best]), TOLERANCE);
+    }
+
+    @Test
+    void matchesTheClosedFormWhenNoCapBinds() {
+        // One class, two products: w = (mu - nu) / (lambda * variance) with w1 + w2 = 1.
+        MeanVarianceSolver solver = new MeanVarianceSolver(new double[]{0.10, 0.08}, new double[]{0.04, 0.04},
+                new int[]{MeanVarianceSolver.EQUITY, MeanVarianceSolver.EQUITY}, new boolean[2]);
+        double[] weights = new double[2];
+        solver.solve(2.0, new double[]{1.0, 0.0, 0.0}, 1.0, 1.0, new double[2], ITERATIONS, 0, weights);
+
+        assertEquals(0.625, weights[0], TOLERANCE);
+        assertEquals(0.375, weights[1], TOLERANCE);
+        assertEquals(0.0925, solver.expectedReturn(weights), TOLERANCE);
+    }
+
+    @Test
+    void rejectsInvalidArguments() {
+        MeanVarianceSolver solver = new MeanVarianceSolver(mu, variance, assetClass, highRisk);
+        assertThrows(IllegalArgumentException.class,
+                () -> solver.solve(0.0, BUDGETS, 0.1, 1.0, new double[n], ITERATIONS, 0, new double[n]));
+        assertThrows(IllegalArgumentException.class,
+                () -> solver.solve(3.0, BUDGETS, 0.1, 1.0, new double[n - 1], ITERATIONS, 0, new double[n]));
+        assertThrows(IllegalArgumentException.class,
+                () -> new MeanVarianceSolver(mu, new double[n - 1], assetClass, highRisk));
+    }
+
+    private double classSum(double[] weights, int c) {
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            if (assetClass[i] == c) {
+                sum += weights[i];
+            }
+        }
+        return sum;
+    }
+}